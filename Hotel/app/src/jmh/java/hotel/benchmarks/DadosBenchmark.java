@@ -0,0 +1,72 @@
+package hotel.benchmarks;
+
+import java.time.LocalDate;
+import java.util.Random;
+import hotel.model.Hospede;
+import hotel.model.Quarto;
+import hotel.model.Reserva;
+
+/**
+ * Dados sintéticos para os benchmarks, sempre iguais para a mesma semente
+ * (as medições de execuções diferentes têm de ser comparáveis com a baseline).
+ * As reservas de cada quarto são seguidas e nunca se sobrepõem, como num hotel real.
+ */
+final class DadosBenchmark {
+
+    static final long SEMENTE = 42L;
+    static final LocalDate INICIO = LocalDate.now().minusDays(180);
+
+    private DadosBenchmark() {}
+
+    static Quarto[] quartos(int total) {
+        Quarto[] quartos = new Quarto[total];
+        for (int i = 0; i < total; i++) {
+            quartos[i] = new Quarto(i + 1, 100 + i, 1 + i % 5, false);
+        }
+        return quartos;
+    }
+
+    static Hospede[] hospedes(int total) {
+        Hospede[] hospedes = new Hospede[total];
+        for (int i = 0; i < total; i++) {
+            hospedes[i] = new Hospede(i + 1, "Hóspede " + (i + 1), String.format("%09d", i + 1));
+        }
+        return hospedes;
+    }
+
+    /**
+     * Reservas distribuídas pelos quartos em sequência (com folgas de 0 a 3 dias entre estadias).
+     */
+    static Reserva[] reservas(int total, Quarto[] quartos, int totalHospedes) {
+        Random random = new Random(SEMENTE);
+        long[] proximoLivre = new long[quartos.length];
+        for (int q = 0; q < quartos.length; q++) proximoLivre[q] = INICIO.toEpochDay();
+
+        Reserva[] reservas = new Reserva[total];
+        for (int i = 0; i < total; i++) {
+            int q = i % quartos.length;
+            long inicio = proximoLivre[q] + random.nextInt(4);
+            long fim = inicio + 1 + random.nextInt(7);
+            proximoLivre[q] = fim + 1;
+
+            reservas[i] = new Reserva(i + 1, quartos[q].getId(), 1 + random.nextInt(totalHospedes),
+                    1 + random.nextInt(quartos[q].getCapacidade()),
+                    LocalDate.ofEpochDay(inicio).toString(), LocalDate.ofEpochDay(fim).toString(),
+                    random.nextInt(10) != 0); // ~10% canceladas
+        }
+        return reservas;
+    }
+
+    /**
+     * Pedidos de datas (início, fim) espalhados pelo período ocupado, para as pesquisas.
+     */
+    static String[][] pedidos(int total) {
+        Random random = new Random(SEMENTE + 1);
+        String[][] pedidos = new String[total][];
+        for (int i = 0; i < total; i++) {
+            LocalDate inicio = INICIO.plusDays(random.nextInt(365));
+            pedidos[i] = new String[]{inicio.toString(), inicio.plusDays(1 + random.nextInt(7)).toString()};
+        }
+        return pedidos;
+    }
+}
@@ -0,0 +1,53 @@
+package hotel.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import hotel.gestao.GestaoHospedes;
+import hotel.model.Hospede;
+
+/**
+ * Pesquisa de hóspedes pelo documento (usada em cada nova reserva e em cada registo de hóspede).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HospedesBenchmark {
+
+    @Param({"1000", "100000"})
+    public int hospedes;
+
+    private GestaoHospedes gestaoHospedes;
+    private String[] documentos;
+    private int proximo;
+
+    @Setup
+    public void preparar() {
+        Hospede[] lista = DadosBenchmark.hospedes(hospedes);
+        gestaoHospedes = new GestaoHospedes();
+        gestaoHospedes.carregarHospedes(lista, lista.length);
+
+        // Documentos espalhados por toda a tabela, mais alguns que não existem
+        documentos = new String[256];
+        for (int i = 0; i < documentos.length; i++) {
+            documentos[i] = i % 8 == 0 ? "INEXISTENTE" + i : lista[(int) ((long) i * 7919 % lista.length)].getDocumento();
+        }
+    }
+
+    @Benchmark
+    public Hospede buscarPorDocumento() {
+        return gestaoHospedes.buscarPorDocumento(documentos[proximo++ & (documentos.length - 1)]);
+    }
+}
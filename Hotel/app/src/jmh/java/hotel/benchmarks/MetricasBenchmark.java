@@ -0,0 +1,50 @@
+package hotel.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import hotel.metricas.Contador;
+import hotel.metricas.Histograma;
+import hotel.metricas.Metricas;
+
+/**
+ * Custo da instrumentação por operação (deve ficar nas dezenas de nanossegundos, mesmo com
+ * várias threads a registar no mesmo histograma). Para ver o efeito nos outros benchmarks,
+ * comparar uma execução normal com outra feita com -PsemMetricas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricasBenchmark {
+
+    private final Histograma histograma = Metricas.histograma("benchmark.histograma");
+    private final Contador contador = Metricas.contador("benchmark.contador");
+
+    @Benchmark
+    public void registarLatencia() {
+        histograma.registarDesde(System.nanoTime());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void registarLatenciaConcorrente() {
+        histograma.registarDesde(System.nanoTime());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void incrementarContadorConcorrente() {
+        contador.incrementar();
+    }
+}
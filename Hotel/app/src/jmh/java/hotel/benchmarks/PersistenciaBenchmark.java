@@ -0,0 +1,77 @@
+package hotel.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import hotel.io.CSVReader;
+import hotel.io.CSVWriter;
+import hotel.model.Quarto;
+import hotel.model.Reserva;
+
+/**
+ * Leitura e gravação do ficheiro de reservas (arranque e fecho da aplicação).
+ * Usa uma pasta temporária própria, por isso nunca toca na pasta 'data'.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersistenciaBenchmark {
+
+    private static final String FICHEIRO_LEITURA = "reservas.csv";
+    private static final String FICHEIRO_ESCRITA = "reservas-escrita.csv";
+
+    @Param({"10", "200"})
+    public int quartos;
+
+    @Param({"1000", "100000"})
+    public int reservas;
+
+    @Param({"1000"})
+    public int hospedes;
+
+    private File pasta;
+    private Reserva[] dados;
+
+    @Setup
+    public void preparar() throws IOException {
+        pasta = Files.createTempDirectory("hotel-jmh").toFile();
+        Quarto[] listaQuartos = DadosBenchmark.quartos(quartos);
+        dados = DadosBenchmark.reservas(reservas, listaQuartos, hospedes);
+        CSVWriter.guardarReservas(pasta.getPath(), FICHEIRO_LEITURA, dados);
+    }
+
+    @TearDown
+    public void limpar() {
+        File[] ficheiros = pasta.listFiles();
+        if (ficheiros != null) {
+            for (File f : ficheiros) f.delete();
+        }
+        pasta.delete();
+    }
+
+    @Benchmark
+    public Reserva[] lerReservas() {
+        return CSVReader.lerReservas(pasta.getPath(), FICHEIRO_LEITURA);
+    }
+
+    @Benchmark
+    public boolean guardarReservas() {
+        return CSVWriter.guardarReservas(pasta.getPath(), FICHEIRO_ESCRITA, dados);
+    }
+}
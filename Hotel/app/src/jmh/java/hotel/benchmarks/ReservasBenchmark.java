@@ -0,0 +1,92 @@
+package hotel.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import hotel.gestao.GestaoQuartos;
+import hotel.gestao.GestaoReservas;
+import hotel.model.Quarto;
+import hotel.model.Reserva;
+
+/**
+ * Caminhos quentes da marcação: escolha de quarto, deteção de conflitos e sincronização da ocupação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReservasBenchmark {
+
+    private static final int PEDIDOS = 1024; // Potência de 2: o índice roda com uma máscara
+
+    @Param({"10", "200"})
+    public int quartos;
+
+    @Param({"100", "1000"})
+    public int reservas;
+
+    @Param({"1000"})
+    public int hospedes;
+
+    private GestaoQuartos gestaoQuartos;
+    private GestaoReservas gestaoReservas;
+    private Quarto[] listaQuartos;
+    private Reserva[] todasReservas;
+    private String[][] pedidos;
+    private int proximo;
+
+    @Setup
+    public void preparar() {
+        listaQuartos = DadosBenchmark.quartos(quartos);
+        todasReservas = DadosBenchmark.reservas(reservas, listaQuartos, hospedes);
+        pedidos = DadosBenchmark.pedidos(PEDIDOS);
+
+        gestaoQuartos = new GestaoQuartos();
+        gestaoQuartos.carregarQuartos(listaQuartos, listaQuartos.length);
+        gestaoReservas = new GestaoReservas();
+        gestaoReservas.carregarReservas(todasReservas, todasReservas.length);
+    }
+
+    private String[] proximoPedido() {
+        return pedidos[proximo++ & (PEDIDOS - 1)];
+    }
+
+    @Benchmark
+    public Quarto encontrarQuartoAdequado() {
+        String[] p = proximoPedido();
+        return gestaoQuartos.encontrarQuartoAdequado(2, todasReservas, todasReservas.length, p[0], p[1]);
+    }
+
+    /**
+     * A mesma escolha pelo índice por quarto (o caminho do modo lote e do teste de carga).
+     */
+    @Benchmark
+    public Quarto encontrarQuartoLivre() {
+        String[] p = proximoPedido();
+        return gestaoReservas.encontrarQuartoLivre(listaQuartos, 2, p[0], p[1]);
+    }
+
+    @Benchmark
+    public boolean existeSobreposicao() {
+        String[] p = proximoPedido();
+        return gestaoReservas.existeSobreposicao(1 + (proximo % quartos), p[0], p[1], -1);
+    }
+
+    @Benchmark
+    public void atualizarOcupacao(Blackhole bh) {
+        gestaoQuartos.atualizarOcupacao(todasReservas, todasReservas.length);
+        bh.consume(gestaoQuartos);
+    }
+}
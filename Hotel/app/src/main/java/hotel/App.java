@@ -1,9 +1,34 @@
 package hotel;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
+import hotel.admissao.ControloAdmissao;
+import hotel.carga.AlvoLocal;
+import hotel.carga.MisturaOperacoes;
+import hotel.carga.ResultadoCarga;
+import hotel.carga.TesteCarga;
+import hotel.carga.VerificadorInvariantes;
 import hotel.gestao.*;
-import hotel.io.*;
+import hotel.io.GeradorDados;
+import hotel.lote.ProcessadorLote;
+import hotel.metricas.Histograma;
+import hotel.metricas.Metricas;
+import hotel.metricas.TemposArranque;
 import hotel.menu.MenuPrincipal;
+import hotel.menu.MenuReplica;
+import hotel.model.Hospede;
+import hotel.propriedades.Propriedade;
+import hotel.propriedades.RegistoPropriedades;
+import hotel.replicacao.SeguidorReplicacao;
+import hotel.replicacao.ServidorReplicacao;
 
 public class App {
     // Configurações de Cores ANSI para o Layout
@@ -14,21 +39,76 @@ public class App {
     public static final String YELLOW = "\u001B[33m";
     public static final String RED = "\u001B[31m";
 
-    private static final String FICHEIRO_QUARTOS = "quartos.csv";
-    private static final String FICHEIRO_HOSPEDES = "hospedes.csv";
-    private static final String FICHEIRO_RESERVAS = "reservas.csv";
+    private static final String PASTA_DADOS = "data";
+    private static final String PROPRIEDADE_PRINCIPAL = "principal";
 
-    private static GestaoQuartos gestaoQuartos = new GestaoQuartos();
-    private static GestaoHospedes gestaoHospedes = new GestaoHospedes();
-    private static GestaoReservas gestaoReservas = new GestaoReservas();
+    // Cada hotel do grupo é um shard independente; o principal usa a pasta 'data' como até aqui
+    private static final RegistoPropriedades registo = new RegistoPropriedades();
+    private static Propriedade propriedade;
 
+    private static final Histograma T_GUARDAR = Metricas.histograma("app.guardarDados");
+
+    /**
+     * Argumentos opcionais:
+     *   --primario <porta>        envia o journal de mutações às réplicas que se liguem a esta porta
+     *   --seguidor <host:porta>   arranca como réplica só de leitura do primário indicado
+     *   --lote <ficheiro|->       executa as operações do ficheiro (ou stdin) sem menus e termina
+     *   --admissao <pedidos/s>    (com --lote ou --carga) limita cada cliente a esta taxa e o motor a pedidos em curso
+     *   --gerar <pasta>           escreve dados sintéticos na pasta e termina; tamanhos com
+     *                             --quartos, --hospedes, --reservas e --semente
+     *   --so-arranque             carrega tudo, mostra os tempos do arranque e sai sem gravar
+     *                             (execução de treino do arquivo AppCDS, ver gerarArquivoCds)
+     *   --carga                   teste de carga sobre dados gerados numa pasta temporária; opções
+     *                             --clientes, --taxa (ops/s por cliente), --duracao (s), --mistura
+     *                             e os tamanhos do --gerar
+     */
     public static void main(String[] args) {
+        TemposArranque tempos = new TemposArranque();
+
+        String pastaGerada = lerArgumento(args, "--gerar");
+        if (pastaGerada != null) {
+            System.exit(gerarDados(pastaGerada, args));
+        }
+
+        if (temArgumento(args, "--carga")) {
+            System.exit(executarCarga(args));
+        }
+
+        // O servidor de MBeans demora a criar: é preparado em paralelo com a leitura dos dados
+        Thread.ofPlatform().daemon().name("metricas-jmx").start(Metricas::publicarJmx);
+
+        String lote = lerArgumento(args, "--lote");
+        if (lote != null) {
+            System.exit(executarLote(lote, lerArgumento(args, "--admissao")));
+        }
+
         imprimirBanner();
 
         try (Scanner scanner = new Scanner(System.in)) {
-            inicializarSistema();
+            String seguidor = lerArgumento(args, "--seguidor");
+            inicializarSistema(tempos, seguidor != null);
+
+            if (seguidor != null) {
+                executarReplica(scanner, seguidor);
+                return;
+            }
 
-            MenuPrincipal menu = new MenuPrincipal(scanner, gestaoQuartos, gestaoHospedes, gestaoReservas);
+            String portaPrimario = lerArgumento(args, "--primario");
+            if (portaPrimario != null) {
+                ServidorReplicacao servidor = new ServidorReplicacao(Integer.parseInt(portaPrimario),
+                        propriedade.getGestaoHospedes(), propriedade.getGestaoReservas());
+                servidor.iniciar();
+                System.out.println(GREEN + "📡 Replicação ativa na porta " + portaPrimario + RESET);
+            }
+
+            MenuPrincipal menu = new MenuPrincipal(scanner, propriedade, registo);
+            tempos.marcar("menu");
+            System.out.println(CYAN + "⏱️ Arranque: " + tempos.resumo() + RESET);
+
+            if (temArgumento(args, "--so-arranque")) {
+                menu.prepararSubmenus();
+                return;
+            }
 
             // Hook para salvar se a consola for fechada subitamente
             Runtime.getRuntime().addShutdownHook(new Thread(App::guardarDados));
@@ -41,32 +121,190 @@ public class App {
         }
     }
 
-    private static void inicializarSistema() {
+    /**
+     * Modo réplica: o estado de hóspedes e reservas vem do primário e nada é gravado localmente.
+     */
+    private static void executarReplica(Scanner scanner, String enderecoPrimario) {
+        String[] partes = enderecoPrimario.split(":");
+        SeguidorReplicacao seguidor = new SeguidorReplicacao(partes[0], Integer.parseInt(partes[1]),
+                propriedade.getGestaoHospedes(), propriedade.getGestaoReservas());
+        seguidor.iniciar();
+        System.out.println(GREEN + "📡 Réplica só de leitura ligada a " + enderecoPrimario + RESET);
+
+        new MenuReplica(scanner, propriedade.getGestaoQuartos(), propriedade.getGestaoHospedes(),
+                propriedade.getGestaoReservas(), seguidor).executar();
+        seguidor.parar();
+        System.out.println(CYAN + "\n👋 Réplica terminada." + RESET);
+    }
+
+    /**
+     * Modo lote: sem banner nem cores, só resultados legíveis por máquina no stdout.
+     * Os dados são gravados no fim, tal como numa sessão interativa.
+     * @return código de saída (0 = todas as operações OK, 1 = houve erros, 2 = falha de I/O).
+     */
+    private static int executarLote(String origem, String taxaAdmissao) {
+        carregarDados(new TemposArranque());
+
+        ControloAdmissao admissao = criarAdmissao(taxaAdmissao);
+        ProcessadorLote processador = new ProcessadorLote(propriedade.getGestaoQuartos(),
+                propriedade.getGestaoHospedes(), propriedade.getGestaoReservas(), System.out, admissao);
+
+        try (BufferedReader entrada = origem.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : new BufferedReader(new FileReader(origem, StandardCharsets.UTF_8))) {
+            int erros = processador.executar(entrada);
+            if (!registo.guardarTodas()) return 2;
+            return erros == 0 ? 0 : 1;
+        } catch (IOException e) {
+            System.err.println("Erro ao ler lote: " + e.getMessage());
+            return 2;
+        }
+    }
+
+    /**
+     * Rajada de 2 segundos de tráfego por cliente; 64 pedidos em curso, 16 deles só para leituras.
+     * @return null (sem limites) se não foi pedida uma taxa.
+     */
+    private static ControloAdmissao criarAdmissao(String taxaAdmissao) {
+        if (taxaAdmissao == null) return null;
+        double taxa = Double.parseDouble(taxaAdmissao);
+        return new ControloAdmissao(taxa, Math.max(1, taxa * 2), 64, 16);
+    }
+
+    /**
+     * Modo gerador: cria um conjunto de dados sintético (determinista pela semente) para testes de escala.
+     * @return código de saída (0 = OK, 2 = argumentos inválidos ou falha de I/O).
+     */
+    private static int gerarDados(String pasta, String[] args) {
+        try {
+            int quartos = Integer.parseInt(valorOu(lerArgumento(args, "--quartos"), "50"));
+            int hospedes = Integer.parseInt(valorOu(lerArgumento(args, "--hospedes"), "1000"));
+            long reservas = Long.parseLong(valorOu(lerArgumento(args, "--reservas"), "5000"));
+            long semente = Long.parseLong(valorOu(lerArgumento(args, "--semente"), "42"));
+
+            long inicio = System.nanoTime();
+            new GeradorDados(semente, quartos, hospedes, reservas).gerar(pasta);
+            System.out.printf("Gerados %d quartos, %d hóspedes e %d reservas em %s (%d ms)%n",
+                    quartos, hospedes, reservas, pasta, (System.nanoTime() - inicio) / 1_000_000);
+            return 0;
+        } catch (IllegalArgumentException | IOException e) {
+            System.err.println("Erro ao gerar dados: " + e.getMessage());
+            return 2;
+        }
+    }
+
+    /**
+     * Modo teste de carga: gera dados numa pasta temporária, carrega-os numa propriedade à parte e
+     * corre o TesteCarga sobre ela, verificando as invariantes no fim. Os dados reais não são tocados.
+     * É o teste a correr antes de qualquer alteração à concorrência da GestaoReservas ou da GestaoQuartos.
+     * @return código de saída (0 = sem erros nem violações, 1 = houve, 2 = argumentos inválidos ou falha de I/O).
+     */
+    private static int executarCarga(String[] args) {
+        File pasta = null;
+        try {
+            int clientes = Integer.parseInt(valorOu(lerArgumento(args, "--clientes"), "100"));
+            double taxa = Double.parseDouble(valorOu(lerArgumento(args, "--taxa"), "20"));
+            long duracao = Long.parseLong(valorOu(lerArgumento(args, "--duracao"), "10"));
+            MisturaOperacoes mistura = new MisturaOperacoes(valorOu(lerArgumento(args, "--mistura"), MisturaOperacoes.PADRAO));
+            int quartos = Integer.parseInt(valorOu(lerArgumento(args, "--quartos"), "50"));
+            int hospedes = Integer.parseInt(valorOu(lerArgumento(args, "--hospedes"), "1000"));
+            long reservas = Long.parseLong(valorOu(lerArgumento(args, "--reservas"), "5000"));
+            long semente = Long.parseLong(valorOu(lerArgumento(args, "--semente"), "42"));
+
+            // Reservas geradas a partir de um mês atrás, para cobrirem o período que os clientes pedem
+            pasta = Files.createTempDirectory("hotel-carga").toFile();
+            GeradorDados gerador = new GeradorDados(semente, quartos, hospedes, reservas);
+            gerador.setDataInicial(Relogio.SISTEMA.hoje().minusDays(30));
+            gerador.gerar(pasta.getPath());
+
+            Propriedade alvo = new Propriedade("carga", pasta.getPath());
+            GestaoQuartos gestaoQuartos = alvo.getGestaoQuartos();
+            GestaoHospedes gestaoHospedes = alvo.getGestaoHospedes();
+            GestaoReservas gestaoReservas = alvo.getGestaoReservas();
+            String[] documentos = Arrays.stream(gestaoHospedes.listarTodos()).map(Hospede::getDocumento).toArray(String[]::new);
+
+            System.out.printf("#CARGA,clientes=%d,taxa_cliente=%.1f,duracao_s=%d,mistura=%s,quartos=%d,hospedes=%d,reservas=%d%n",
+                    clientes, taxa, duracao, mistura, quartos, hospedes, reservas);
+            ControloAdmissao admissao = criarAdmissao(lerArgumento(args, "--admissao"));
+            ResultadoCarga resultado = new TesteCarga(new AlvoLocal(gestaoQuartos, gestaoHospedes, gestaoReservas, admissao),
+                    mistura, documentos, gestaoReservas.getTotalReservas(), clientes, taxa, duracao, semente).executar();
+            resultado.imprimir(System.out);
+            if (admissao != null) {
+                System.out.println("#ADMISSAO," + admissao.estatisticas());
+            }
+
+            List<String> violacoes = VerificadorInvariantes.verificar(
+                    gestaoQuartos.listarTodos(), gestaoHospedes.listarTodos(), gestaoReservas.listarTodas());
+            System.out.println(violacoes.isEmpty() ? "#INVARIANTES,ok" : "#INVARIANTES,violacoes=" + violacoes.size());
+            for (String v : violacoes) {
+                System.out.println("#VIOLACAO," + v);
+            }
+
+            alvo.getAuditoria().fechar();
+            return violacoes.isEmpty() && resultado.getErros() == 0 ? 0 : 1;
+        } catch (IllegalArgumentException | IOException e) {
+            System.err.println("Erro no teste de carga: " + e.getMessage());
+            return 2;
+        } finally {
+            if (pasta != null) apagar(pasta);
+        }
+    }
+
+    private static void apagar(File ficheiro) {
+        File[] filhos = ficheiro.listFiles();
+        if (filhos != null) {
+            for (File f : filhos) apagar(f);
+        }
+        ficheiro.delete();
+    }
+
+    private static String valorOu(String valor, String predefinido) {
+        return valor != null ? valor : predefinido;
+    }
+
+    private static boolean temArgumento(String[] args, String nome) {
+        for (String arg : args) {
+            if (arg.equals(nome)) return true;
+        }
+        return false;
+    }
+
+    private static String lerArgumento(String[] args, String nome) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(nome)) return args[i + 1];
+        }
+        return null;
+    }
+
+    private static void inicializarSistema(TemposArranque tempos, boolean replica) {
         System.out.println(YELLOW + "🔄 A carregar base de dados..." + RESET);
-        carregarDados();
+        carregarDados(tempos, replica);
 
-        // Sincroniza ocupação dos quartos com base nas reservas
-        var reservas = gestaoReservas.getReservasParaSalvar();
-        gestaoQuartos.atualizarOcupacao(reservas, reservas.length);
+        GestaoQuartos gestaoQuartos = propriedade.getGestaoQuartos();
+        GestaoHospedes gestaoHospedes = propriedade.getGestaoHospedes();
+        GestaoReservas gestaoReservas = propriedade.getGestaoReservas();
 
         System.out.println(GREEN + "✅ Check-in do sistema concluído!" + RESET);
-        System.out.printf("📊 [%d Quartos] | [%d Hóspedes] | [%d Reservas]%n%n",
+        System.out.printf("📊 [%d Quartos] | [%d Hóspedes] | [%d Reservas]%n",
                 gestaoQuartos.getTotalQuartos(), gestaoHospedes.getTotalHospedes(), gestaoReservas.getTotalReservas());
+        System.out.printf("🏨 [%d Propriedade(s) no grupo]%n%n", registo.getTotalPropriedades());
     }
 
-    private static void carregarDados() {
-        try {
-            // 1. Carregar Quartos
-            hotel.model.Quarto[] quartosLidos = CSVReader.lerQuartos(FICHEIRO_QUARTOS);
-            gestaoQuartos.carregarQuartos(quartosLidos, quartosLidos.length); // <--- MUDANÇA AQUI (usar length)
-
-            // 2. Carregar Hóspedes
-            hotel.model.Hospede[] hospedesLidos = CSVReader.lerHospedes(FICHEIRO_HOSPEDES);
-            gestaoHospedes.carregarHospedes(hospedesLidos, hospedesLidos.length); // <--- MUDANÇA AQUI
+    private static void carregarDados(TemposArranque tempos) {
+        carregarDados(tempos, false);
+    }
 
-            // 3. Carregar Reservas
-            hotel.model.Reserva[] reservasLidas = CSVReader.lerReservas(FICHEIRO_RESERVAS);
-            gestaoReservas.carregarReservas(reservasLidas, reservasLidas.length); // <--- MUDANÇA AQUI
+    /**
+     * @param replica réplica só de leitura: o hotel é carregado sem nada que escreva na pasta de dados.
+     */
+    private static void carregarDados(TemposArranque tempos, boolean replica) {
+        try {
+            // O hotel principal é carregado já; os restantes (data/propriedades/<id>) só no primeiro acesso
+            propriedade = registo.registar(PROPRIEDADE_PRINCIPAL, PASTA_DADOS);
+            propriedade.setReplica(replica);
+            registo.descobrir(new File(PASTA_DADOS, "propriedades"));
+            tempos.marcar("propriedades");
+            propriedade.garantirCarregada(tempos);
 
         } catch (Exception e) {
             System.out.println(RED + "⚠️ Erro ao processar dados: " + e.getMessage() + RESET);
@@ -75,10 +313,12 @@ public class App {
 
     private static void guardarDados() {
         System.out.println("\n" + YELLOW + "💾 A salvaguardar dados..." + RESET);
-        boolean hOk = CSVWriter.guardarHospedes(FICHEIRO_HOSPEDES, gestaoHospedes.getHospedesParaSalvar());
-        boolean rOk = CSVWriter.guardarReservas(FICHEIRO_RESERVAS, gestaoReservas.getReservasParaSalvar());
 
-        if (hOk && rOk) {
+        long inicio = System.nanoTime();
+        boolean ok = registo.guardarTodas();
+        T_GUARDAR.registarDesde(inicio);
+
+        if (ok) {
             System.out.println(GREEN + "✨ Tudo guardado com sucesso!" + RESET);
         } else {
             System.out.println(RED + "❌ Falha ao guardar alguns dados." + RESET);
@@ -0,0 +1,120 @@
+package hotel.admissao;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Camada de admissão à frente das operações de reserva.
+ * 1. Limite de taxa por cliente (token bucket): um channel manager não consegue monopolizar o motor.
+ * 2. Número máximo de pedidos em curso: acima disso rejeita logo, em vez de deixar a fila crescer.
+ * 3. Prioridade às leituras: uma parte dos lugares em curso fica reservada para leituras,
+ *    por isso uma avalanche de reservas nunca bloqueia as consultas de disponibilidade.
+ * Os contadores estão expostos para afinar os limites contra a capacidade medida do motor.
+ * Os baldes de clientes parados há tempo suficiente para voltarem a estar cheios são descartados
+ * (um balde novo começa cheio, por isso é equivalente), para o mapa não crescer com clientes antigos.
+ */
+public class ControloAdmissao {
+
+    private static final long RETRY_SATURADO_MS = 50; // Sugestão de espera quando o motor está cheio
+    private static final long INTERVALO_LIMPEZA_NS = 10_000_000_000L; // Limpeza de baldes parados, no máximo a cada 10 s
+    private static final int MAX_CLIENTES = 10_000;   // Acima disto limpa logo, sem esperar pelo intervalo
+
+    private final double taxaPorCliente;       // Pedidos por segundo por cliente
+    private final double rajadaPorCliente;     // Fichas máximas acumuladas por cliente
+    private final int maxEmCurso;              // Total de pedidos em execução ao mesmo tempo
+    private final int maxEscritasEmCurso;      // Escritas só podem ocupar esta parte
+
+    private final Map<String, TokenBucket> baldes = new ConcurrentHashMap<>();
+    private final AtomicInteger emCurso = new AtomicInteger();
+    private final AtomicLong proximaLimpeza = new AtomicLong(System.nanoTime() + INTERVALO_LIMPEZA_NS);
+
+    private final LongAdder admitidosLeitura = new LongAdder();
+    private final LongAdder admitidosEscrita = new LongAdder();
+    private final LongAdder rejeitadosTaxa = new LongAdder();
+    private final LongAdder rejeitadosSaturacao = new LongAdder();
+
+    /**
+     * @param reservaLeituras lugares em curso que só as leituras podem usar (deve ser menor que maxEmCurso).
+     */
+    public ControloAdmissao(double taxaPorCliente, double rajadaPorCliente, int maxEmCurso, int reservaLeituras) {
+        this.taxaPorCliente = taxaPorCliente;
+        this.rajadaPorCliente = rajadaPorCliente;
+        this.maxEmCurso = maxEmCurso;
+        this.maxEscritasEmCurso = Math.max(1, maxEmCurso - reservaLeituras);
+    }
+
+    /**
+     * Executa a operação se for admitida; caso contrário lança PedidoRejeitadoException de imediato.
+     * O lugar no motor é ocupado antes de gastar a ficha: um pedido recusado por saturação não consome
+     * a taxa do cliente.
+     */
+    public <T> T executar(String cliente, TipoPedido tipo, Supplier<T> operacao) {
+        int limite = tipo == TipoPedido.LEITURA ? maxEmCurso : maxEscritasEmCurso;
+        if (!entrar(limite)) {
+            rejeitadosSaturacao.increment();
+            throw new PedidoRejeitadoException("motor_saturado", RETRY_SATURADO_MS);
+        }
+
+        try {
+            long agora = System.nanoTime();
+            limparBaldesParados(agora);
+            long espera = baldes
+                    .computeIfAbsent(cliente, c -> new TokenBucket(taxaPorCliente, rajadaPorCliente, agora))
+                    .tentarConsumir(agora);
+            if (espera > 0) {
+                rejeitadosTaxa.increment();
+                throw new PedidoRejeitadoException("limite_cliente", Math.max(1, espera / 1_000_000));
+            }
+
+            (tipo == TipoPedido.LEITURA ? admitidosLeitura : admitidosEscrita).increment();
+            return operacao.get();
+        } finally {
+            emCurso.decrementAndGet();
+        }
+    }
+
+    /**
+     * Ocupa um lugar se o total em curso ainda estiver abaixo do limite da classe do pedido.
+     */
+    private boolean entrar(int limite) {
+        while (true) {
+            int atual = emCurso.get();
+            if (atual >= limite) return false;
+            if (emCurso.compareAndSet(atual, atual + 1)) return true;
+        }
+    }
+
+    /**
+     * Remove os baldes que já voltaram a encher. Só uma thread limpa de cada vez, e só quando passou
+     * o intervalo ou há clientes a mais. Um pedido que ainda use um balde acabado de remover gasta
+     * uma ficha de um balde cheio, tal como gastaria de um novo.
+     */
+    private void limparBaldesParados(long agora) {
+        long prevista = proximaLimpeza.get();
+        if (agora - prevista < 0 && baldes.size() <= MAX_CLIENTES) return;
+        if (!proximaLimpeza.compareAndSet(prevista, agora + INTERVALO_LIMPEZA_NS)) return;
+        baldes.values().removeIf(balde -> balde.isCheio(agora));
+    }
+
+    // --- CONTADORES ---
+
+    public int getEmCurso() { return emCurso.get(); }
+    public long getAdmitidosLeitura() { return admitidosLeitura.sum(); }
+    public long getAdmitidosEscrita() { return admitidosEscrita.sum(); }
+    public long getRejeitadosTaxa() { return rejeitadosTaxa.sum(); }
+    public long getRejeitadosSaturacao() { return rejeitadosSaturacao.sum(); }
+    public int getTotalClientes() { return baldes.size(); }
+
+    /**
+     * Resumo numa linha, no mesmo formato chave=valor do modo lote.
+     */
+    public String estatisticas() {
+        return String.format("em_curso=%d,admitidos_leitura=%d,admitidos_escrita=%d,rejeitados_taxa=%d,rejeitados_saturacao=%d,clientes=%d",
+                getEmCurso(), getAdmitidosLeitura(), getAdmitidosEscrita(),
+                getRejeitadosTaxa(), getRejeitadosSaturacao(), getTotalClientes());
+    }
+}
@@ -0,0 +1,21 @@
+package hotel.admissao;
+
+/**
+ * Lançada quando um pedido não é admitido (limite do cliente, motor saturado ou auditoria sem espaço).
+ * Indica ao cliente quanto tempo deve esperar antes de tentar de novo.
+ */
+public class PedidoRejeitadoException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterMillis;
+
+    public PedidoRejeitadoException(String motivo, long retryAfterMillis) {
+        super(motivo);
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
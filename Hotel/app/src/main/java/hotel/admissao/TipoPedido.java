@@ -0,0 +1,10 @@
+package hotel.admissao;
+
+/**
+ * Classe de custo de um pedido.
+ * Leituras (disponibilidade, consultas) são baratas e têm prioridade sobre escritas (reservas, edições).
+ */
+public enum TipoPedido {
+    LEITURA,
+    ESCRITA
+}
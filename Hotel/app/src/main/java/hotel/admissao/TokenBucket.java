@@ -0,0 +1,45 @@
+package hotel.admissao;
+
+/**
+ * Balde de fichas de um cliente: enche a 'taxa' fichas por segundo até 'capacidade' (a rajada permitida).
+ * Cada pedido gasta uma ficha; sem fichas, o pedido é recusado e sabemos quando haverá a próxima.
+ */
+class TokenBucket {
+
+    private final double capacidade;
+    private final double fichasPorNano;
+    private double fichas;
+    private long ultimaRecarga;
+
+    TokenBucket(double taxaPorSegundo, double capacidade, long agoraNanos) {
+        this.capacidade = capacidade;
+        this.fichasPorNano = taxaPorSegundo / 1e9;
+        this.fichas = capacidade;
+        this.ultimaRecarga = agoraNanos;
+    }
+
+    /**
+     * Tenta gastar uma ficha.
+     * @return 0 se o pedido pode seguir, ou os nanossegundos até haver uma ficha disponível.
+     */
+    synchronized long tentarConsumir(long agoraNanos) {
+        // Pedidos concorrentes podem chegar com um 'agora' ligeiramente anterior ao da última recarga
+        if (agoraNanos > ultimaRecarga) {
+            fichas = Math.min(capacidade, fichas + (agoraNanos - ultimaRecarga) * fichasPorNano);
+            ultimaRecarga = agoraNanos;
+        }
+
+        if (fichas >= 1.0) {
+            fichas -= 1.0;
+            return 0;
+        }
+        return (long) Math.ceil((1.0 - fichas) / fichasPorNano);
+    }
+
+    /**
+     * @return true se, recarregando até 'agoraNanos', o balde já estaria cheio (cliente parado).
+     */
+    synchronized boolean isCheio(long agoraNanos) {
+        return fichas + (agoraNanos - ultimaRecarga) * fichasPorNano >= capacidade;
+    }
+}
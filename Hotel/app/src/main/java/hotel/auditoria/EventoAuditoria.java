@@ -0,0 +1,23 @@
+package hotel.auditoria;
+
+/**
+ * Posição do buffer circular. Os objetos são criados uma vez, no arranque, e reutilizados:
+ * registar um evento só copia campos, sem alocar. As strings (datas, nome, documento) são
+ * referências às dos próprios registos, que são imutáveis depois de publicados.
+ */
+final class EventoAuditoria {
+
+    // Sequência do evento que está nesta posição; escrita por último, publica os restantes campos
+    volatile long sequencia = -1;
+
+    long instante;
+    TipoEvento tipo;
+    int idReserva;
+    int idHospede;
+    int idQuarto;
+    int numHospedes;
+    String dataInicio;
+    String dataFim;
+    String nome;
+    String documento;
+}
@@ -0,0 +1,74 @@
+package hotel.auditoria;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Ficheiro de auditoria com tamanho limitado: ao passar o limite, auditoria.log passa a
+ * auditoria.1.log, o .1 passa a .2, e assim por diante; o mais antigo é apagado.
+ * Usado só pela thread de escrita.
+ */
+final class FicheiroRotativo {
+
+    static final String NOME = "auditoria";
+    static final String EXTENSAO = ".log";
+
+    private final File pasta;
+    private final long tamanhoMaximo;
+    private final int ficheirosRetidos;   // Ficheiros antigos guardados além do atual
+    private OutputStream saida;
+    private long tamanhoAtual;
+
+    FicheiroRotativo(File pasta, long tamanhoMaximo, int ficheirosRetidos) {
+        this.pasta = pasta;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.ficheirosRetidos = ficheirosRetidos;
+    }
+
+    static File ficheiro(File pasta, int indice) {
+        return new File(pasta, indice == 0 ? NOME + EXTENSAO : NOME + "." + indice + EXTENSAO);
+    }
+
+    void escrever(CharSequence linha) throws IOException {
+        byte[] bytes = linha.toString().getBytes(StandardCharsets.UTF_8);
+        if (saida != null && tamanhoAtual + bytes.length > tamanhoMaximo) {
+            rodar();
+        }
+        if (saida == null) abrir();
+        saida.write(bytes);
+        tamanhoAtual += bytes.length;
+    }
+
+    void descarregar() throws IOException {
+        if (saida != null) saida.flush();
+    }
+
+    void fechar() throws IOException {
+        if (saida != null) {
+            saida.close();
+            saida = null;
+        }
+    }
+
+    private void abrir() throws IOException {
+        pasta.mkdirs();
+        File atual = ficheiro(pasta, 0);
+        tamanhoAtual = atual.length();
+        saida = new BufferedOutputStream(new FileOutputStream(atual, true), 64 * 1024);
+    }
+
+    private void rodar() throws IOException {
+        fechar();
+        ficheiro(pasta, ficheirosRetidos).delete();
+        for (int i = ficheirosRetidos - 1; i >= 0; i--) {
+            File origem = ficheiro(pasta, i);
+            if (origem.exists() && !origem.renameTo(ficheiro(pasta, i + 1))) {
+                throw new IOException("Não foi possível rodar " + origem);
+            }
+        }
+    }
+}
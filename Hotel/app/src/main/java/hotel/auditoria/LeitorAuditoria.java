@@ -0,0 +1,97 @@
+package hotel.auditoria;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import hotel.io.CamposEscapados;
+
+/**
+ * Leitura dos ficheiros da auditoria, do mais antigo (auditoria.N.log) para o atual (auditoria.log).
+ * Só as colunas de identificação (reserva e hóspede) são separadas para filtrar;
+ * o resto da linha só é interpretado quando é mostrado.
+ */
+public final class LeitorAuditoria {
+
+    public static final int QUALQUER = -1;
+
+    private static final DateTimeFormatter FORMATO_INSTANTE =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    private LeitorAuditoria() {}
+
+    /**
+     * Linhas da auditoria de uma reserva e/ou de um hóspede (QUALQUER para não filtrar por esse campo).
+     * Filtrar por hóspede devolve as alterações ao próprio hóspede e todas as suas reservas.
+     */
+    public static List<String> procurar(File pasta, int idReserva, int idHospede) throws IOException {
+        int ultimo = 0;
+        while (FicheiroRotativo.ficheiro(pasta, ultimo + 1).exists()) ultimo++;
+
+        List<String> resultado = new ArrayList<>();
+        for (int i = ultimo; i >= 0; i--) {
+            File f = FicheiroRotativo.ficheiro(pasta, i);
+            if (!f.exists()) continue;
+
+            try (BufferedReader br = new BufferedReader(new FileReader(f, StandardCharsets.UTF_8))) {
+                String linha;
+                while ((linha = br.readLine()) != null) {
+                    if (corresponde(linha, idReserva, idHospede)) resultado.add(linha);
+                }
+            }
+        }
+        return resultado;
+    }
+
+    private static boolean corresponde(String linha, int idReserva, int idHospede) {
+        // instante,tipo,idReserva,idHospede,...
+        int c1 = linha.indexOf(',');
+        int c2 = linha.indexOf(',', c1 + 1);
+        int c3 = linha.indexOf(',', c2 + 1);
+        int c4 = linha.indexOf(',', c3 + 1);
+        if (c1 < 0 || c2 < 0 || c3 < 0 || c4 < 0) return false; // Linha cortada (ex: escrita interrompida)
+
+        try {
+            if (idReserva != QUALQUER && Integer.parseInt(linha, c2 + 1, c3, 10) != idReserva) return false;
+            if (idHospede != QUALQUER && Integer.parseInt(linha, c3 + 1, c4, 10) != idHospede) return false;
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Versão legível de uma linha, para os menus.
+     */
+    public static String descrever(String linha) {
+        String[] c = CamposEscapados.separar(linha).toArray(new String[0]);
+        TipoEvento tipo = c.length > 1 ? TipoEvento.deCodigo(c[1]) : null;
+        if (tipo == null || c.length < (tipo.isReserva() ? 8 : 5)) return linha;
+
+        String quando = FORMATO_INSTANTE.format(Instant.ofEpochMilli(Long.parseLong(c[0])));
+        return switch (tipo) {
+            case RESERVA_CRIADA, RESERVA_EDITADA, RESERVA_CANCELADA -> String.format(
+                    "%s | %-17s | Reserva %s | Hóspede %s | Quarto ID %s | %s pax | %s a %s",
+                    quando, nomeTipo(tipo), c[2], c[3], c[4], c[5], c[6], c[7]);
+            case HOSPEDE_CRIADO, HOSPEDE_EDITADO -> String.format(
+                    "%s | %-17s | Hóspede %s | %s | %s",
+                    quando, nomeTipo(tipo), c[3], c[4], c.length > 5 ? c[5] : "");
+        };
+    }
+
+    private static String nomeTipo(TipoEvento tipo) {
+        return switch (tipo) {
+            case RESERVA_CRIADA -> "Reserva criada";
+            case RESERVA_EDITADA -> "Reserva editada";
+            case RESERVA_CANCELADA -> "Reserva cancelada";
+            case HOSPEDE_CRIADO -> "Hóspede criado";
+            case HOSPEDE_EDITADO -> "Hóspede editado";
+        };
+    }
+}
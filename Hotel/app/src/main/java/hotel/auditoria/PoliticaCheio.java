@@ -0,0 +1,15 @@
+package hotel.auditoria;
+
+/**
+ * O que fazer quando o buffer da auditoria está cheio (o disco não acompanha as escritas).
+ */
+public enum PoliticaCheio {
+    /**
+     * Nenhum evento se perde: a operação espera que a thread de escrita liberte espaço. Como a espera
+     * é feita com o lock das gestões, tem um limite; esgotado, a operação é recusada antes de mudar
+     * alguma coisa (PedidoRejeitadoException "auditoria_cheia").
+     */
+    BLOQUEAR,
+    /** O evento é descartado (e contado): as operações nunca esperam pela auditoria. */
+    DESCARTAR
+}
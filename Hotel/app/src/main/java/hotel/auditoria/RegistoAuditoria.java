@@ -0,0 +1,298 @@
+package hotel.auditoria;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import hotel.admissao.PedidoRejeitadoException;
+import hotel.gestao.OuvinteHospedes;
+import hotel.gestao.OuvinteReservas;
+import hotel.io.CamposEscapados;
+import hotel.metricas.Contador;
+import hotel.metricas.Metricas;
+import hotel.model.Hospede;
+import hotel.model.Reserva;
+
+/**
+ * Auditoria assíncrona de todas as operações de negócio (quem reservou, editou ou cancelou o quê, e quando).
+ *
+ * As gestões chamam os ouvintes dentro das escritas, por isso gravar em disco ali atrasaria cada operação.
+ * Em vez disso:
+ * 1. Cada evento é copiado para uma posição de um buffer circular criado no arranque (sem alocar nada).
+ *    Vários produtores reservam posições com um CAS; a posição só é lida depois de publicada.
+ * 2. Uma thread de fundo percorre o buffer, formata cada evento numa linha e grava-a em ficheiros
+ *    rotativos (auditoria.log, auditoria.1.log, ...) com tamanho limitado.
+ * 3. Se o disco não acompanhar e o buffer encher, a PoliticaCheio decide: esperar ou descartar.
+ *    Com BLOQUEAR nenhum evento se perde: antes de mudar alguma coisa, cada escrita das gestões
+ *    espera (no máximo ESPERA_MAXIMA_CHEIO_NANOS) que haja pelo menos meio buffer livre e,
+ *    se o disco não recuperar a tempo, a operação é recusada com PedidoRejeitadoException.
+ * 4. Depois de fechar() não entram mais eventos; os que chegarem são contados como perdidos.
+ *
+ * Formato (uma linha por evento, campos separados por vírgula; instante em milissegundos desde 1970):
+ *   instante,RC|RE|RX,idReserva,idHospede,idQuarto,numHospedes,dataInicio,dataFim
+ *   instante,HC|HE,0,idHospede,nome,documento   (nome e documento escapados, ver CamposEscapados)
+ */
+public class RegistoAuditoria implements OuvinteReservas, OuvinteHospedes {
+
+    private static final int CAPACIDADE_PADRAO = 8192;
+    private static final long TAMANHO_MAXIMO_PADRAO = 10L * 1024 * 1024; // 10 MB por ficheiro
+    private static final int FICHEIROS_PADRAO = 5;
+    private static final long ESPERA_CHEIO_NANOS = 100_000;             // Produtor à espera de espaço
+    private static final long ESPERA_OCIOSA_NANOS = 1_000_000;          // Escritor sem eventos
+    private static final long ESPERA_MAXIMA_CHEIO_NANOS = 50_000_000;   // BLOQUEAR: espera antes de recusar a operação
+    private static final long FECHADO = 1L << 62;                        // Marca em 'reservado' depois de fechar()
+    private static final long LIMITE_DESCARREGAR_MS = 5_000;
+
+    private static final Contador N_ESCRITOS = Metricas.contador("auditoria.escritos");
+    private static final Contador N_DESCARTADOS = Metricas.contador("auditoria.descartados");
+    private static final Contador N_APOS_FECHO = Metricas.contador("auditoria.aposFecho");
+    private static final Contador N_RECUSADAS = Metricas.contador("auditoria.operacoesRecusadas");
+
+    private final File pasta;
+    private final EventoAuditoria[] buffer;
+    private final int mascara;
+    private final PoliticaCheio politica;
+    private final FicheiroRotativo ficheiro;
+    // Sequências começam em 1, para 'reservado' ser sempre positivo e o bit FECHADO não se confundir com -1
+    private final AtomicLong reservado = new AtomicLong(0);  // Última sequência entregue a um produtor (| FECHADO)
+    private volatile long consumido = 0;                     // Última sequência já copiada pelo escritor
+    private volatile long gravado = 0;                       // Última sequência já enviada para o disco
+    private final Thread escritor;
+
+    /**
+     * @param capacidade eventos no buffer (arredondado para a potência de 2 seguinte).
+     * @param tamanhoMaximo bytes por ficheiro antes de rodar.
+     * @param ficheirosRetidos ficheiros antigos guardados além do atual.
+     */
+    public RegistoAuditoria(File pasta, int capacidade, long tamanhoMaximo, int ficheirosRetidos, PoliticaCheio politica) {
+        int tamanho = Integer.highestOneBit(Math.max(2, capacidade - 1)) << 1;
+        this.pasta = pasta;
+        this.buffer = new EventoAuditoria[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            buffer[i] = new EventoAuditoria();
+        }
+        this.mascara = tamanho - 1;
+        this.politica = politica;
+        this.ficheiro = new FicheiroRotativo(pasta, tamanhoMaximo, ficheirosRetidos);
+        this.escritor = Thread.ofPlatform().daemon().name("auditoria-" + pasta.getPath()).start(this::drenar);
+    }
+
+    /**
+     * Auditoria com a configuração por omissão, que pode ser alterada com propriedades do sistema:
+     *   -Dhotel.auditoria.politica=bloquear|descartar
+     *   -Dhotel.auditoria.capacidade=<eventos>
+     *   -Dhotel.auditoria.tamanhoMaximo=<bytes por ficheiro>
+     *   -Dhotel.auditoria.ficheiros=<ficheiros antigos retidos>
+     */
+    public static RegistoAuditoria criar(File pasta) {
+        PoliticaCheio politica = "descartar".equalsIgnoreCase(System.getProperty("hotel.auditoria.politica"))
+                ? PoliticaCheio.DESCARTAR : PoliticaCheio.BLOQUEAR;
+        return new RegistoAuditoria(pasta,
+                Integer.getInteger("hotel.auditoria.capacidade", CAPACIDADE_PADRAO),
+                Long.getLong("hotel.auditoria.tamanhoMaximo", TAMANHO_MAXIMO_PADRAO),
+                Integer.getInteger("hotel.auditoria.ficheiros", FICHEIROS_PADRAO),
+                politica);
+    }
+
+    @Override
+    public void reservaAlterada(Reserva anterior, Reserva atual) {
+        TipoEvento tipo;
+        if (anterior == null) tipo = TipoEvento.RESERVA_CRIADA;
+        else if (anterior.isAtiva() && !atual.isAtiva()) tipo = TipoEvento.RESERVA_CANCELADA;
+        else tipo = TipoEvento.RESERVA_EDITADA;
+
+        long sequencia = reservar();
+        if (sequencia < 0) return;
+        EventoAuditoria e = buffer[(int) (sequencia & mascara)];
+        e.instante = System.currentTimeMillis();
+        e.tipo = tipo;
+        e.idReserva = atual.getId();
+        e.idHospede = atual.getIdHospede();
+        e.idQuarto = atual.getIdQuarto();
+        e.numHospedes = atual.getNumeroHospedes();
+        e.dataInicio = atual.getDataInicio();
+        e.dataFim = atual.getDataFim();
+        e.sequencia = sequencia; // Publica
+    }
+
+    @Override
+    public void hospedeAlterado(Hospede anterior, Hospede atual) {
+        long sequencia = reservar();
+        if (sequencia < 0) return;
+        EventoAuditoria e = buffer[(int) (sequencia & mascara)];
+        e.instante = System.currentTimeMillis();
+        e.tipo = anterior == null ? TipoEvento.HOSPEDE_CRIADO : TipoEvento.HOSPEDE_EDITADO;
+        e.idReserva = 0;
+        e.idHospede = atual.getId();
+        e.nome = atual.getNome();
+        e.documento = atual.getDocumento();
+        e.sequencia = sequencia; // Publica
+    }
+
+    @Override
+    public void antesDeAlterarReserva() {
+        garantirEspaco();
+    }
+
+    @Override
+    public void antesDeAlterarHospede() {
+        garantirEspaco();
+    }
+
+    /**
+     * BLOQUEAR: a operação só avança com pelo menos meio buffer livre, para os poucos eventos que vai gerar
+     * caberem sem esperar dentro da escrita. Se o escritor não libertar esse espaço a tempo, a operação
+     * é recusada antes de alterar alguma coisa (o chamador vê a falha; nenhum evento fica por registar).
+     */
+    private void garantirEspaco() {
+        if (politica != PoliticaCheio.BLOQUEAR) return;
+        long limiteEspera = 0;
+        while (ocupados() > buffer.length / 2) {
+            LockSupport.unpark(escritor);
+            long agora = System.nanoTime();
+            if (limiteEspera == 0) {
+                limiteEspera = agora + ESPERA_MAXIMA_CHEIO_NANOS;
+            } else if (agora - limiteEspera > 0) {
+                N_RECUSADAS.incrementar();
+                throw new PedidoRejeitadoException("auditoria_cheia", ESPERA_MAXIMA_CHEIO_NANOS / 1_000_000);
+            }
+            LockSupport.parkNanos(ESPERA_CHEIO_NANOS);
+        }
+    }
+
+    /**
+     * Eventos no buffer ainda não copiados pelo escritor.
+     */
+    private long ocupados() {
+        return (reservado.get() & ~FECHADO) - consumido;
+    }
+
+    /**
+     * Reserva a próxima posição do buffer. Uma posição só volta a ser dada depois de o escritor
+     * ter copiado o evento que lá estava, uma volta antes.
+     * @return a sequência reservada, ou -1 se o evento foi descartado.
+     */
+    private long reservar() {
+        while (true) {
+            long atual = reservado.get();
+            if ((atual & FECHADO) != 0) {
+                N_APOS_FECHO.incrementar();
+                return -1;
+            }
+            long sequencia = atual + 1;
+            if (sequencia - buffer.length > consumido) {
+                // Buffer cheio: acorda o escritor, que pode estar a dormir entre duas verificações
+                LockSupport.unpark(escritor);
+                if (politica == PoliticaCheio.DESCARTAR) {
+                    N_DESCARTADOS.incrementar();
+                    return -1;
+                }
+                // BLOQUEAR: garantirEspaco() deixou meio buffer livre antes da operação, por isso só se chega
+                // aqui com muitas escritas em simultâneo, e o escritor já está a esvaziar o buffer
+                LockSupport.parkNanos(ESPERA_CHEIO_NANOS);
+                continue;
+            }
+            if (reservado.compareAndSet(atual, sequencia)) return sequencia;
+        }
+    }
+
+    /**
+     * Ciclo da thread de escrita: copia os eventos publicados por ordem, liberta as posições e
+     * grava as linhas; quando não há nada pendente, descarrega o ficheiro e dorme um pouco.
+     */
+    private void drenar() {
+        StringBuilder linha = new StringBuilder(128);
+        boolean erroReportado = false;
+
+        while (true) {
+            long seguinte = consumido + 1;
+            EventoAuditoria e = buffer[(int) (seguinte & mascara)];
+            if (e.sequencia == seguinte) {
+                linha.setLength(0);
+                formatar(e, linha);
+                consumido = seguinte; // A posição pode voltar a ser usada
+                try {
+                    ficheiro.escrever(linha);
+                    N_ESCRITOS.incrementar();
+                } catch (IOException ex) {
+                    if (!erroReportado) System.err.println("❌ Erro ao escrever auditoria: " + ex.getMessage());
+                    erroReportado = true;
+                }
+                continue;
+            }
+
+            try {
+                ficheiro.descarregar();
+            } catch (IOException ex) {
+                if (!erroReportado) System.err.println("❌ Erro ao escrever auditoria: " + ex.getMessage());
+                erroReportado = true;
+            }
+            gravado = consumido;
+
+            long ultima = reservado.get();
+            if ((ultima & FECHADO) != 0 && (ultima & ~FECHADO) == consumido) break;
+            LockSupport.parkNanos(ESPERA_OCIOSA_NANOS);
+        }
+
+        try {
+            ficheiro.fechar();
+        } catch (IOException ex) {
+            System.err.println("❌ Erro ao fechar auditoria: " + ex.getMessage());
+        }
+    }
+
+    private static void formatar(EventoAuditoria e, StringBuilder sb) {
+        sb.append(e.instante).append(',').append(e.tipo.getCodigo()).append(',')
+                .append(e.idReserva).append(',').append(e.idHospede).append(',');
+        if (e.tipo.isReserva()) {
+            sb.append(e.idQuarto).append(',').append(e.numHospedes).append(',')
+                    .append(e.dataInicio).append(',').append(e.dataFim);
+        } else {
+            // Texto livre: escapado, para uma vírgula no nome não mudar as colunas
+            CamposEscapados.escapar(e.nome, sb);
+            sb.append(',');
+            CamposEscapados.escapar(e.documento, sb);
+        }
+        sb.append('\n');
+    }
+
+    /**
+     * Espera até que todos os eventos registados até agora estejam no disco (ex: antes de gravar
+     * os dados ou de ler a auditoria). Desiste ao fim de alguns segundos para não prender a saída.
+     */
+    public boolean descarregar() {
+        long alvo = reservado.get() & ~FECHADO;
+        long limite = System.currentTimeMillis() + LIMITE_DESCARREGAR_MS;
+        while (gravado < alvo) {
+            if (System.currentTimeMillis() > limite || !escritor.isAlive()) return false;
+            LockSupport.parkNanos(ESPERA_OCIOSA_NANOS);
+        }
+        return true;
+    }
+
+    /**
+     * Grava o que ainda está no buffer e termina a thread de escrita.
+     * Eventos posteriores são descartados e contados em auditoria.aposFecho.
+     */
+    public void fechar() {
+        reservado.getAndUpdate(r -> r | FECHADO);
+        LockSupport.unpark(escritor);
+        try {
+            escritor.join(LIMITE_DESCARREGAR_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Eventos de uma reserva ou de um hóspede (ver LeitorAuditoria), incluindo os ainda no buffer.
+     */
+    public List<String> procurar(int idReserva, int idHospede) throws IOException {
+        descarregar();
+        return LeitorAuditoria.procurar(pasta, idReserva, idHospede);
+    }
+
+    public File getPasta() { return pasta; }
+    public PoliticaCheio getPolitica() { return politica; }
+}
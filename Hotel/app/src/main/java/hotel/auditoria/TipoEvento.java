@@ -0,0 +1,31 @@
+package hotel.auditoria;
+
+/**
+ * Tipos de evento registados na auditoria, com o código de duas letras usado nos ficheiros.
+ */
+public enum TipoEvento {
+    RESERVA_CRIADA("RC"),
+    RESERVA_EDITADA("RE"),
+    RESERVA_CANCELADA("RX"),
+    HOSPEDE_CRIADO("HC"),
+    HOSPEDE_EDITADO("HE");
+
+    private final String codigo;
+
+    TipoEvento(String codigo) {
+        this.codigo = codigo;
+    }
+
+    public String getCodigo() { return codigo; }
+
+    public boolean isReserva() {
+        return codigo.charAt(0) == 'R';
+    }
+
+    public static TipoEvento deCodigo(String codigo) {
+        for (TipoEvento t : values()) {
+            if (t.codigo.equals(codigo)) return t;
+        }
+        return null;
+    }
+}
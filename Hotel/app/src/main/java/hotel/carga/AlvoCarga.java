@@ -0,0 +1,36 @@
+package hotel.carga;
+
+/**
+ * Sistema sob teste. Hoje só existe a implementação em processo (AlvoLocal), que chama as gestões
+ * diretamente; um cliente da futura API só tem de implementar estas operações para ser testado da mesma forma.
+ */
+public interface AlvoCarga {
+
+    /**
+     * @return true se há um quarto para 'numHospedes' nessas datas.
+     */
+    boolean procurar(int numHospedes, String dataInicio, String dataFim);
+
+    /**
+     * Procura um quarto e reserva-o.
+     * @return o ID da nova reserva, ou -1 se não havia (ou deixou de haver) quarto livre.
+     */
+    int reservar(String documento, int numHospedes, String dataInicio, String dataFim);
+
+    boolean editar(int idReserva, int numHospedes, String dataInicio, String dataFim);
+
+    boolean cancelar(int idReserva);
+
+    /**
+     * @return true se o hóspede com este documento existe.
+     */
+    boolean consultar(String documento);
+
+    /**
+     * Vista do alvo para um cliente do teste, para que a admissão possa limitar cada um à sua taxa.
+     * Por omissão todos os clientes partilham o mesmo alvo.
+     */
+    default AlvoCarga paraCliente(String cliente) {
+        return this;
+    }
+}
@@ -0,0 +1,106 @@
+package hotel.carga;
+
+import java.util.function.Supplier;
+import hotel.admissao.ControloAdmissao;
+import hotel.admissao.TipoPedido;
+import hotel.gestao.GestaoHospedes;
+import hotel.gestao.GestaoQuartos;
+import hotel.gestao.GestaoReservas;
+import hotel.model.Hospede;
+import hotel.model.Quarto;
+import hotel.model.Reserva;
+
+/**
+ * Alvo em processo: os mesmos passos que os menus e o modo lote fazem sobre as gestões.
+ * Com um ControloAdmissao, cada operação passa pela admissão tal como no modo lote; os pedidos
+ * recusados saem como PedidoRejeitadoException.
+ */
+public class AlvoLocal implements AlvoCarga {
+
+    private final GestaoQuartos gestaoQuartos;
+    private final GestaoHospedes gestaoHospedes;
+    private final GestaoReservas gestaoReservas;
+    private final ControloAdmissao admissao;   // Pode ser null (sem limites)
+    private final String cliente;
+
+    public AlvoLocal(GestaoQuartos gestaoQuartos, GestaoHospedes gestaoHospedes, GestaoReservas gestaoReservas) {
+        this(gestaoQuartos, gestaoHospedes, gestaoReservas, null);
+    }
+
+    public AlvoLocal(GestaoQuartos gestaoQuartos, GestaoHospedes gestaoHospedes, GestaoReservas gestaoReservas,
+                     ControloAdmissao admissao) {
+        this(gestaoQuartos, gestaoHospedes, gestaoReservas, admissao, "carga");
+    }
+
+    private AlvoLocal(GestaoQuartos gestaoQuartos, GestaoHospedes gestaoHospedes, GestaoReservas gestaoReservas,
+                      ControloAdmissao admissao, String cliente) {
+        this.gestaoQuartos = gestaoQuartos;
+        this.gestaoHospedes = gestaoHospedes;
+        this.gestaoReservas = gestaoReservas;
+        this.admissao = admissao;
+        this.cliente = cliente;
+    }
+
+    @Override
+    public AlvoCarga paraCliente(String cliente) {
+        return admissao == null ? this : new AlvoLocal(gestaoQuartos, gestaoHospedes, gestaoReservas, admissao, cliente);
+    }
+
+    @Override
+    public boolean procurar(int numHospedes, String dataInicio, String dataFim) {
+        return admitir(TipoPedido.LEITURA, () -> encontrarQuarto(numHospedes, dataInicio, dataFim) != null);
+    }
+
+    @Override
+    public int reservar(String documento, int numHospedes, String dataInicio, String dataFim) {
+        return admitir(TipoPedido.ESCRITA, () -> executarReserva(documento, numHospedes, dataInicio, dataFim));
+    }
+
+    @Override
+    public boolean editar(int idReserva, int numHospedes, String dataInicio, String dataFim) {
+        return admitir(TipoPedido.ESCRITA, () -> executarEdicao(idReserva, numHospedes, dataInicio, dataFim));
+    }
+
+    @Override
+    public boolean cancelar(int idReserva) {
+        return admitir(TipoPedido.ESCRITA, () -> gestaoReservas.cancelarReserva(idReserva));
+    }
+
+    @Override
+    public boolean consultar(String documento) {
+        return admitir(TipoPedido.LEITURA, () -> executarConsulta(documento));
+    }
+
+    private <T> T admitir(TipoPedido tipo, Supplier<T> operacao) {
+        return admissao == null ? operacao.get() : admissao.executar(cliente, tipo, operacao);
+    }
+
+    private int executarReserva(String documento, int numHospedes, String dataInicio, String dataFim) {
+        Hospede hospede = gestaoHospedes.buscarPorDocumento(documento);
+        if (hospede == null) return -1;
+
+        Quarto quarto = encontrarQuarto(numHospedes, dataInicio, dataFim);
+        if (quarto == null) return -1;
+
+        Reserva r = gestaoReservas.criarReservaSeLivre(quarto.getId(), hospede.getId(), numHospedes, dataInicio, dataFim);
+        return r != null ? r.getId() : -1;
+    }
+
+    private boolean executarEdicao(int idReserva, int numHospedes, String dataInicio, String dataFim) {
+        Reserva r = gestaoReservas.buscarPorId(idReserva);
+        if (r == null || !r.isAtiva()) return false;
+        Quarto q = gestaoQuartos.buscarPorId(r.getIdQuarto());
+        return gestaoReservas.editarReserva(idReserva, numHospedes, dataInicio, dataFim, q);
+    }
+
+    private boolean executarConsulta(String documento) {
+        Hospede h = gestaoHospedes.buscarPorDocumento(documento);
+        if (h == null) return false;
+        gestaoReservas.listarPorHospede(h.getId());
+        return true;
+    }
+
+    private Quarto encontrarQuarto(int numHospedes, String dataInicio, String dataFim) {
+        return gestaoReservas.encontrarQuartoLivre(gestaoQuartos.listarTodos(), numHospedes, dataInicio, dataFim);
+    }
+}
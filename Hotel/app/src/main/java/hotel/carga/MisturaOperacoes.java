@@ -0,0 +1,59 @@
+package hotel.carga;
+
+import java.util.SplittableRandom;
+
+/**
+ * Proporção de cada operação no teste de carga. Os pesos são relativos (não precisam de somar 100).
+ */
+public class MisturaOperacoes {
+
+    public static final String PADRAO = "procurar=40,reservar=25,editar=10,cancelar=10,consultar=15";
+
+    private final int[] acumulados = new int[OperacaoCarga.values().length];
+    private final int total;
+
+    /**
+     * Lê uma mistura no formato "operacao=peso,operacao=peso,..."; operações omitidas ficam com peso 0.
+     */
+    public MisturaOperacoes(String especificacao) {
+        int[] pesos = new int[acumulados.length];
+        for (String parte : especificacao.split(",")) {
+            String[] c = parte.split("=");
+            if (c.length != 2) throw new IllegalArgumentException("Mistura inválida: " + parte);
+            int peso = Integer.parseInt(c[1].trim());
+            if (peso < 0) throw new IllegalArgumentException("Peso negativo: " + parte);
+            pesos[OperacaoCarga.deNome(c[0].trim()).ordinal()] = peso;
+        }
+
+        int soma = 0;
+        for (int i = 0; i < pesos.length; i++) {
+            soma += pesos[i];
+            acumulados[i] = soma;
+        }
+        if (soma == 0) throw new IllegalArgumentException("A mistura não tem nenhuma operação");
+        this.total = soma;
+    }
+
+    public OperacaoCarga sortear(SplittableRandom random) {
+        int valor = random.nextInt(total);
+        OperacaoCarga[] operacoes = OperacaoCarga.values();
+        for (int i = 0; i < acumulados.length; i++) {
+            if (valor < acumulados[i]) return operacoes[i];
+        }
+        return operacoes[operacoes.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        int anterior = 0;
+        for (OperacaoCarga o : OperacaoCarga.values()) {
+            int peso = acumulados[o.ordinal()] - anterior;
+            anterior = acumulados[o.ordinal()];
+            if (peso == 0) continue;
+            if (sb.length() > 0) sb.append(',');
+            sb.append(o.getNome()).append('=').append(peso);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,28 @@
+package hotel.carga;
+
+/**
+ * Operações que os clientes do teste de carga executam, com o nome usado na mistura
+ * (ex: --mistura procurar=40,reservar=25,editar=10,cancelar=10,consultar=15).
+ */
+public enum OperacaoCarga {
+    PROCURAR("procurar"),
+    RESERVAR("reservar"),
+    EDITAR("editar"),
+    CANCELAR("cancelar"),
+    CONSULTAR("consultar");
+
+    private final String nome;
+
+    OperacaoCarga(String nome) {
+        this.nome = nome;
+    }
+
+    public String getNome() { return nome; }
+
+    public static OperacaoCarga deNome(String nome) {
+        for (OperacaoCarga o : values()) {
+            if (o.nome.equalsIgnoreCase(nome)) return o;
+        }
+        throw new IllegalArgumentException("Operação desconhecida na mistura: " + nome);
+    }
+}
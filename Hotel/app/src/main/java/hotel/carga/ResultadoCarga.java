@@ -0,0 +1,104 @@
+package hotel.carga;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.LongAdder;
+import hotel.metricas.Histograma;
+
+/**
+ * Contagens e latências de um teste de carga, partilhadas por todos os clientes (sem locks).
+ *
+ * Cada operação tem duas latências:
+ * - corrigida: desde o instante em que a operação DEVIA ter começado, segundo o ritmo do cliente.
+ *   Se o sistema parar, as operações que ficaram à espera contam o tempo de espera (correção da
+ *   "omissão coordenada"); é esta que deve ser comparada entre versões.
+ * - serviço: desde o instante em que começou de facto (o que um cronómetro à volta da chamada mede).
+ */
+public class ResultadoCarga {
+
+    private static final OperacaoCarga[] OPERACOES = OperacaoCarga.values();
+
+    private final Histograma corrigidaTotal = Histograma.solto("todas");
+    private final Histograma servicoTotal = Histograma.solto("todas");
+    private final Histograma[] corrigida = new Histograma[OPERACOES.length];
+    private final Histograma[] servico = new Histograma[OPERACOES.length];
+    private final LongAdder[] aceites = new LongAdder[OPERACOES.length];
+    private final LongAdder[] recusadas = new LongAdder[OPERACOES.length];
+    private final LongAdder erros = new LongAdder();
+    private final LongAdder rejeitadas = new LongAdder(); // Recusadas pela admissão, antes de chegarem ao motor
+    private volatile long duracaoNanos;
+
+    public ResultadoCarga() {
+        for (OperacaoCarga o : OPERACOES) {
+            corrigida[o.ordinal()] = Histograma.solto(o.getNome());
+            servico[o.ordinal()] = Histograma.solto(o.getNome());
+            aceites[o.ordinal()] = new LongAdder();
+            recusadas[o.ordinal()] = new LongAdder();
+        }
+    }
+
+    /**
+     * @param aceite false quando o sistema respondeu "não" (sem vaga, conflito), o que não é um erro.
+     */
+    void registar(OperacaoCarga operacao, boolean aceite, long latenciaCorrigida, long latenciaServico) {
+        int i = operacao.ordinal();
+        corrigida[i].registar(latenciaCorrigida);
+        servico[i].registar(latenciaServico);
+        corrigidaTotal.registar(latenciaCorrigida);
+        servicoTotal.registar(latenciaServico);
+        (aceite ? aceites[i] : recusadas[i]).increment();
+    }
+
+    void registarErro() {
+        erros.increment();
+    }
+
+    void registarRejeitada() {
+        rejeitadas.increment();
+    }
+
+    void setDuracaoNanos(long duracaoNanos) {
+        this.duracaoNanos = duracaoNanos;
+    }
+
+    public long getOperacoes() { return corrigidaTotal.getContagem(); }
+    public long getErros() { return erros.sum(); }
+    public long getRejeitadas() { return rejeitadas.sum(); }
+
+    public double getOperacoesPorSegundo() {
+        return duracaoNanos > 0 ? getOperacoes() / (duracaoNanos / 1e9) : 0;
+    }
+
+    /**
+     * Percentil da latência corrigida de todas as operações, em nanossegundos.
+     */
+    public long percentil(double fracao) {
+        return corrigidaTotal.percentil(fracao);
+    }
+
+    /**
+     * Linhas de resultado no mesmo estilo do modo lote (#CHAVE,campo=valor,...), tempos em microssegundos.
+     */
+    public void imprimir(PrintStream saida) {
+        saida.printf("#DEBITO,operacoes=%d,erros=%d,rejeitadas=%d,duracao_ms=%d,ops_s=%.1f%n",
+                getOperacoes(), getErros(), getRejeitadas(), duracaoNanos / 1_000_000, getOperacoesPorSegundo());
+        imprimirLatencias(saida, "#LATENCIA", corrigidaTotal, corrigida);
+        imprimirLatencias(saida, "#SERVICO", servicoTotal, servico);
+    }
+
+    private void imprimirLatencias(PrintStream saida, String prefixo, Histograma total, Histograma[] porOperacao) {
+        imprimirLinha(saida, prefixo, total, -1, -1);
+        for (OperacaoCarga o : OPERACOES) {
+            Histograma h = porOperacao[o.ordinal()];
+            if (h.getContagem() == 0) continue;
+            imprimirLinha(saida, prefixo, h, aceites[o.ordinal()].sum(), recusadas[o.ordinal()].sum());
+        }
+    }
+
+    private static void imprimirLinha(PrintStream saida, String prefixo, Histograma h, long aceites, long recusadas) {
+        saida.printf("%s,operacao=%s,n=%d,%sp50_us=%d,p99_us=%d,p999_us=%d,max_us=%d%n",
+                prefixo, h.getNome(), h.getContagem(),
+                aceites < 0 ? "" : "aceites=" + aceites + ",recusadas=" + recusadas + ",",
+                h.percentil(0.50) / 1000, h.percentil(0.99) / 1000, h.percentil(0.999) / 1000,
+                (long) h.getMaximoMicros());
+    }
+}
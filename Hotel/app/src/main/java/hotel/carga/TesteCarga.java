@@ -0,0 +1,147 @@
+package hotel.carga;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+import hotel.admissao.PedidoRejeitadoException;
+import hotel.gestao.Relogio;
+
+/**
+ * Gerador de carga: muitos clientes em simultâneo, cada um numa virtual thread, a executar uma mistura
+ * de operações contra um AlvoCarga a um ritmo fixo.
+ *
+ * Cada cliente tem um horário: a operação k devia começar em inicio + k * intervalo. Se o sistema
+ * atrasar, o cliente não "perdoa" o atraso (não dorme e não salta operações), e a latência é medida
+ * desde o instante previsto. Assim uma pausa do motor aparece nos percentis em vez de desaparecer
+ * (ver ResultadoCarga). As escritas das gestões são synchronized, por isso enquanto uma virtual thread
+ * as executa fica presa à thread de suporte; com o ritmo limitado por cliente isso não distorce a medida.
+ */
+public class TesteCarga {
+
+    private static final int JANELA_DIAS = 365;  // Datas pedidas: a partir de amanhã, durante um ano
+    private static final int MAX_NOITES = 7;
+    private static final int MAX_HOSPEDES = 4;
+
+    private final AlvoCarga alvo;
+    private final MisturaOperacoes mistura;
+    private final String[] documentos;     // Hóspedes que os clientes usam para reservar e consultar
+    private final int maxIdReserva;        // Reservas já existentes que podem ser editadas ou canceladas
+    private final int clientes;
+    private final double taxaPorCliente;   // Operações por segundo de cada cliente
+    private final long duracaoNanos;
+    private final long semente;
+    private final long primeiroDia;
+
+    public TesteCarga(AlvoCarga alvo, MisturaOperacoes mistura, String[] documentos, int maxIdReserva,
+                      int clientes, double taxaPorCliente, long duracaoSegundos, long semente) {
+        if (clientes <= 0 || taxaPorCliente <= 0 || duracaoSegundos <= 0) {
+            throw new IllegalArgumentException("Clientes, taxa e duração têm de ser positivos");
+        }
+        if (documentos.length == 0) throw new IllegalArgumentException("O teste precisa de pelo menos um hóspede");
+        this.alvo = alvo;
+        this.mistura = mistura;
+        this.documentos = documentos;
+        this.maxIdReserva = Math.max(1, maxIdReserva);
+        this.clientes = clientes;
+        this.taxaPorCliente = taxaPorCliente;
+        this.duracaoNanos = duracaoSegundos * 1_000_000_000L;
+        this.semente = semente;
+        this.primeiroDia = Relogio.SISTEMA.hoje().plusDays(1).toEpochDay();
+    }
+
+    /**
+     * Arranca todos os clientes, espera que terminem e devolve as medições.
+     */
+    public ResultadoCarga executar() {
+        ResultadoCarga resultado = new ResultadoCarga();
+        long inicio = System.nanoTime();
+        long fim = inicio + duracaoNanos;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clientes; i++) {
+                int indice = i;
+                executor.submit(() -> cliente(indice, inicio, fim, resultado));
+            }
+        } // close() espera por todos os clientes
+
+        resultado.setDuracaoNanos(System.nanoTime() - inicio);
+        return resultado;
+    }
+
+    private void cliente(int indice, long inicio, long fim, ResultadoCarga resultado) {
+        SplittableRandom random = new SplittableRandom(semente * 1_000_003L + indice);
+        AlvoCarga alvo = this.alvo.paraCliente("cliente-" + indice);
+        long intervalo = (long) (1_000_000_000L / taxaPorCliente);
+        int[] minhas = new int[16];  // Reservas criadas por este cliente (as preferidas para editar e cancelar)
+        int totalMinhas = 0;
+
+        // Desfasa os clientes dentro do primeiro intervalo, para não chegarem todos ao mesmo tempo
+        long previsto = inicio + random.nextLong(intervalo);
+        while (previsto < fim) {
+            long agora = System.nanoTime();
+            if (agora < previsto) LockSupport.parkNanos(previsto - agora);
+
+            OperacaoCarga operacao = mistura.sortear(random);
+            long t0 = System.nanoTime();
+            try {
+                boolean aceite;
+                switch (operacao) {
+                    case PROCURAR -> {
+                        long dia = dia(random);
+                        aceite = alvo.procurar(pessoas(random), data(dia), data(dia + noites(random)));
+                    }
+                    case RESERVAR -> {
+                        long dia = dia(random);
+                        int id = alvo.reservar(documento(random), pessoas(random), data(dia), data(dia + noites(random)));
+                        aceite = id > 0;
+                        if (aceite) {
+                            if (totalMinhas == minhas.length) minhas = Arrays.copyOf(minhas, totalMinhas * 2);
+                            minhas[totalMinhas++] = id;
+                        }
+                    }
+                    case EDITAR -> {
+                        int id = totalMinhas > 0 ? minhas[random.nextInt(totalMinhas)] : 1 + random.nextInt(maxIdReserva);
+                        long dia = dia(random);
+                        aceite = alvo.editar(id, pessoas(random), data(dia), data(dia + noites(random)));
+                    }
+                    case CANCELAR -> {
+                        int id = totalMinhas > 0 ? minhas[--totalMinhas] : 1 + random.nextInt(maxIdReserva);
+                        aceite = alvo.cancelar(id);
+                    }
+                    default -> aceite = alvo.consultar(documento(random));
+                }
+                long t1 = System.nanoTime();
+                resultado.registar(operacao, aceite, t1 - previsto, t1 - t0);
+            } catch (PedidoRejeitadoException e) {
+                // Recusa da admissão: resposta prevista sob carga, não um erro do motor
+                resultado.registarRejeitada();
+            } catch (RuntimeException e) {
+                resultado.registarErro();
+            }
+            previsto += intervalo;
+        }
+    }
+
+    private long dia(SplittableRandom random) {
+        return primeiroDia + random.nextInt(JANELA_DIAS);
+    }
+
+    private static int noites(SplittableRandom random) {
+        return 1 + random.nextInt(MAX_NOITES);
+    }
+
+    private static int pessoas(SplittableRandom random) {
+        return 1 + random.nextInt(MAX_HOSPEDES);
+    }
+
+    private String documento(SplittableRandom random) {
+        return documentos[random.nextInt(documentos.length)];
+    }
+
+    private static String data(long epochDay) {
+        return LocalDate.ofEpochDay(epochDay).toString();
+    }
+}
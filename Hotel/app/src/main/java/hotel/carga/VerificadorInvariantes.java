@@ -0,0 +1,76 @@
+package hotel.carga;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import hotel.model.Hospede;
+import hotel.model.Quarto;
+import hotel.model.Reserva;
+
+/**
+ * Verificações de consistência feitas depois de um teste de carga (ou sobre quaisquer dados carregados):
+ * 1. Nenhum quarto tem duas reservas ativas que se sobreponham (datas inclusivas, como no motor).
+ * 2. IDs de reservas e de hóspedes são únicos, e os documentos também.
+ * 3. Cada reserva aponta para um quarto e um hóspede que existem.
+ */
+public final class VerificadorInvariantes {
+
+    private static final int MAX_DETALHES = 20; // Violações descritas; as restantes só são contadas
+
+    private VerificadorInvariantes() {}
+
+    /**
+     * @return a descrição de cada violação encontrada (lista vazia se estiver tudo consistente).
+     */
+    public static List<String> verificar(Quarto[] quartos, Hospede[] hospedes, Reserva[] reservas) {
+        List<String> violacoes = new ArrayList<>();
+        int[] total = new int[1];
+
+        Set<Integer> idsQuartos = new HashSet<>();
+        for (Quarto q : quartos) idsQuartos.add(q.getId());
+
+        Set<Integer> idsHospedes = new HashSet<>();
+        Set<String> documentos = new HashSet<>();
+        for (Hospede h : hospedes) {
+            if (!idsHospedes.add(h.getId())) reportar(violacoes, total, "hospede_id_repetido," + h.getId());
+            if (!documentos.add(h.getDocumento())) reportar(violacoes, total, "documento_repetido," + h.getDocumento());
+        }
+
+        Set<Integer> idsReservas = new HashSet<>();
+        Map<Integer, List<Reserva>> ativasPorQuarto = new HashMap<>();
+        for (Reserva r : reservas) {
+            if (!idsReservas.add(r.getId())) reportar(violacoes, total, "reserva_id_repetido," + r.getId());
+            if (!idsQuartos.contains(r.getIdQuarto())) reportar(violacoes, total, "quarto_inexistente," + r.getId());
+            if (!idsHospedes.contains(r.getIdHospede())) reportar(violacoes, total, "hospede_inexistente," + r.getId());
+            if (r.isAtiva()) ativasPorQuarto.computeIfAbsent(r.getIdQuarto(), k -> new ArrayList<>()).add(r);
+        }
+
+        // Ordenadas por início, basta comparar cada reserva com a que acaba mais tarde até ali
+        for (List<Reserva> doQuarto : ativasPorQuarto.values()) {
+            Reserva[] ordenadas = doQuarto.toArray(new Reserva[0]);
+            Arrays.sort(ordenadas, Comparator.comparing(Reserva::getDataInicio));
+            Reserva maisLonga = null;
+            for (Reserva r : ordenadas) {
+                if (maisLonga != null && r.getDataInicio().compareTo(maisLonga.getDataFim()) <= 0) {
+                    reportar(violacoes, total, "sobreposicao,quarto=" + r.getIdQuarto()
+                            + ",reservas=" + maisLonga.getId() + "+" + r.getId());
+                }
+                if (maisLonga == null || r.getDataFim().compareTo(maisLonga.getDataFim()) > 0) maisLonga = r;
+            }
+        }
+
+        if (total[0] > violacoes.size()) {
+            violacoes.add("... e mais " + (total[0] - violacoes.size()) + " violações");
+        }
+        return violacoes;
+    }
+
+    private static void reportar(List<String> violacoes, int[] total, String descricao) {
+        if (total[0]++ < MAX_DETALHES) violacoes.add(descricao);
+    }
+}
@@ -0,0 +1,214 @@
+package hotel.gestao;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import hotel.model.Datas;
+import hotel.model.Reserva;
+
+/**
+ * Consulta de reservas montada por partes: quarto, hóspede, datas que se sobrepõem a um intervalo,
+ * estado, número de hóspedes, ordem e limite. Os filtros não indicados não restringem nada.
+ *
+ * Ao executar, o planeador escolhe a origem com menos candidatos entre os índices disponíveis
+ * (reservas ativas do quarto, posições por quarto, posições por hóspede) ou, se nenhum servir,
+ * percorre o snapshot inteiro. Todos os filtros são depois aplicados a cada candidato, por isso
+ * a escolha só muda o custo, nunca o resultado. Sem ordem pedida, os resultados vêm pela ordem da origem.
+ *
+ * Exemplo: gestaoReservas.consultar().doHospede(7).ativas().ordenarPor(Ordem.DATA_INICIO, false).limite(10).listar()
+ */
+public final class ConsultaReservas {
+
+    public static final int QUALQUER = -1;
+
+    /**
+     * Critérios de ordenação. Em caso de empate desempata pelo ID.
+     */
+    public enum Ordem {
+        ID(Comparator.comparingInt(Reserva::getId)),
+        DATA_INICIO(Comparator.comparingInt(Reserva::getDiaInicio)),
+        DATA_FIM(Comparator.comparingInt(Reserva::getDiaFim)),
+        QUARTO(Comparator.comparingInt(Reserva::getIdQuarto).thenComparingInt(Reserva::getDiaInicio)),
+        NUMERO_HOSPEDES(Comparator.comparingInt(Reserva::getNumeroHospedes));
+
+        private final Comparator<Reserva> comparador;
+
+        Ordem(Comparator<Reserva> comparador) {
+            this.comparador = comparador.thenComparingInt(Reserva::getId);
+        }
+    }
+
+    private final GestaoReservas gestao;
+    private int idQuarto = QUALQUER;
+    private int idHospede = QUALQUER;
+    private boolean comDatas;
+    private int diaInicio;
+    private int diaFim;
+    private Boolean ativa;                   // null = ativas e canceladas
+    private int minHospedes = 0;
+    private int maxHospedes = Integer.MAX_VALUE;
+    private Comparator<Reserva> ordem;       // null = ordem da origem
+    private long limite = Long.MAX_VALUE;
+    private volatile String plano = "por executar";
+
+    ConsultaReservas(GestaoReservas gestao) {
+        this.gestao = gestao;
+    }
+
+    public ConsultaReservas doQuarto(int idQuarto) {
+        this.idQuarto = idQuarto;
+        return this;
+    }
+
+    public ConsultaReservas doHospede(int idHospede) {
+        this.idHospede = idHospede;
+        return this;
+    }
+
+    /**
+     * Reservas cuja estadia toca [inicio, fim] (extremos inclusive, como na deteção de conflitos).
+     * Lança DateTimeException se alguma das datas for inválida.
+     */
+    public ConsultaReservas entre(String inicio, String fim) {
+        this.diaInicio = Datas.dia(inicio);
+        this.diaFim = Datas.dia(fim);
+        this.comDatas = true;
+        return this;
+    }
+
+    public ConsultaReservas ativas() {
+        this.ativa = Boolean.TRUE;
+        return this;
+    }
+
+    public ConsultaReservas canceladas() {
+        this.ativa = Boolean.FALSE;
+        return this;
+    }
+
+    public ConsultaReservas comHospedesEntre(int minimo, int maximo) {
+        this.minHospedes = minimo;
+        this.maxHospedes = maximo;
+        return this;
+    }
+
+    public ConsultaReservas ordenarPor(Ordem ordem, boolean descendente) {
+        this.ordem = descendente ? ordem.comparador.reversed() : ordem.comparador;
+        return this;
+    }
+
+    public ConsultaReservas limite(int maximo) {
+        this.limite = Math.max(0, maximo);
+        return this;
+    }
+
+    /**
+     * Executa a consulta. Os resultados são produzidos à medida que são pedidos (com limite e sem
+     * ordem, a leitura pára assim que houver resultados suficientes). O stream segura um snapshot:
+     * fechar depois de usar (try-with-resources).
+     */
+    public Stream<Reserva> stream() {
+        return gestao.executar(this);
+    }
+
+    /**
+     * Executa e junta todos os resultados numa lista.
+     */
+    public List<Reserva> listar() {
+        try (Stream<Reserva> resultados = stream()) {
+            return resultados.collect(Collectors.toList());
+        }
+    }
+
+    public long contar() {
+        try (Stream<Reserva> resultados = stream()) {
+            return resultados.count();
+        }
+    }
+
+    /**
+     * Origem escolhida na última execução e número de candidatos (ex: "índice por hóspede (12 de 50000)").
+     */
+    public String getPlano() {
+        return plano;
+    }
+
+    /**
+     * Escolhe a origem e monta o stream. Chamado pela GestaoReservas dentro da secção sincronizada,
+     * no mesmo instante em que o snapshot foi tirado: o que vem dos índices é copiado aqui, e o resto
+     * é lido mais tarde do snapshot, que não muda.
+     */
+    Stream<Reserva> planear(Snapshot<Reserva> s, IndiceQuartos ativasPorQuarto,
+                            IndicePosicoes porQuarto, IndicePosicoes porHospede) {
+        int total = s.getTotal();
+        long melhor = total;
+        String escolha = "varrimento completo";
+        int[] posicoes = null;
+        NavigableSet<Reserva> ativasDoQuarto = null;
+
+        if (idHospede != QUALQUER && porHospede.contar(idHospede) < melhor) {
+            melhor = porHospede.contar(idHospede);
+            escolha = "índice por hóspede";
+            posicoes = porHospede.posicoes(idHospede);
+        }
+        if (idQuarto != QUALQUER && porQuarto.contar(idQuarto) < melhor) {
+            melhor = porQuarto.contar(idQuarto);
+            escolha = "índice por quarto";
+            posicoes = porQuarto.posicoes(idQuarto);
+        }
+        // Só ativas: o índice do quarto já as tem por ordem de data e corta logo pelo intervalo pedido
+        if (idQuarto != QUALQUER && Boolean.TRUE.equals(ativa)
+                && ativasPorQuarto.doQuarto(idQuarto).size() <= melhor) {
+            ativasDoQuarto = ativasPorQuarto.doQuarto(idQuarto);
+            melhor = ativasDoQuarto.size();
+            escolha = "índice de ativas do quarto";
+            posicoes = null;
+        }
+
+        Stream<Reserva> origem;
+        if (ativasDoQuarto != null) {
+            List<Reserva> copia = comDatas ? ativasQueTocam(ativasPorQuarto) : new ArrayList<>(ativasDoQuarto);
+            melhor = copia.size();
+            origem = copia.stream();
+        } else if (posicoes != null) {
+            origem = Arrays.stream(posicoes).mapToObj(s::get);
+        } else {
+            origem = IntStream.range(0, total).mapToObj(s::get);
+        }
+        plano = escolha + " (" + melhor + " de " + total + ")";
+
+        Stream<Reserva> resultados = origem.filter(this::aceita);
+        if (ordem != null) resultados = resultados.sorted(ordem);
+        if (limite != Long.MAX_VALUE) resultados = resultados.limit(limite);
+        return resultados.onClose(s::close);
+    }
+
+    /**
+     * Reservas ativas do quarto que tocam o intervalo, por ordem cronológica. Anda para trás a partir
+     * da última que começa até ao fim pedido e pára na primeira que acaba antes do início
+     * (no mesmo quarto as ativas não se sobrepõem, tal como em IndiceQuartos.temConflito).
+     */
+    private List<Reserva> ativasQueTocam(IndiceQuartos ativasPorQuarto) {
+        List<Reserva> lista = new ArrayList<>();
+        for (Reserva r : ativasPorQuarto.iniciadasAte(idQuarto, Datas.texto(diaFim))) {
+            if (r.getDiaFim() < diaInicio) break;
+            lista.add(r);
+        }
+        Collections.reverse(lista);
+        return lista;
+    }
+
+    private boolean aceita(Reserva r) {
+        if (idQuarto != QUALQUER && r.getIdQuarto() != idQuarto) return false;
+        if (idHospede != QUALQUER && r.getIdHospede() != idHospede) return false;
+        if (ativa != null && r.isAtiva() != ativa) return false;
+        if (r.getNumeroHospedes() < minHospedes || r.getNumeroHospedes() > maxHospedes) return false;
+        return !comDatas || (r.getDiaInicio() <= diaFim && diaInicio <= r.getDiaFim());
+    }
+}
@@ -1,33 +1,47 @@
 package hotel.gestao;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 import hotel.model.Hospede;
 
 /**
  * Classe responsável pelo armazenamento e manipulação dos dados dos hóspedes em memória.
- * Utiliza um array de tamanho fixo para simular uma base de dados.
+ * Utiliza um array (que cresce quando enche) para simular uma base de dados.
+ * Tal como na GestaoReservas, as leituras são feitas sobre snapshots copy-on-write.
+ * Mantém também um índice de nomes para a pesquisa por parte do nome.
  */
 public class GestaoHospedes {
 
-    private static final int MAX_HOSPEDES = 1000; // Limite máximo de registos permitido
-    private final Hospede[] hospedes;             // "Tabela" de hóspedes
+    private static final int CAPACIDADE_INICIAL = 1000; // Tamanho inicial do array (duplica quando enche)
+    private Hospede[] hospedes;                   // "Tabela" de hóspedes
     private int totalHospedes;                    // Contador real de hóspedes inseridos
     private int proximoId;                        // Gerador de ID automático para novos hóspedes
+    private AtomicInteger leitoresVersao;         // Snapshots abertos sobre o array atual
+    private final List<OuvinteHospedes> ouvintes = new CopyOnWriteArrayList<>();
+    private final IndiceNomes indiceNomes = new IndiceNomes();
 
     public GestaoHospedes() {
-        this.hospedes = new Hospede[MAX_HOSPEDES];
+        this.hospedes = new Hospede[CAPACIDADE_INICIAL];
         this.totalHospedes = 0;
         this.proximoId = 1;
+        this.leitoresVersao = new AtomicInteger();
     }
 
     /**
      * Transfere os dados lidos do CSV para o array da gestão.
      * Também recalcula o próximo ID disponível para não sobrescrever IDs existentes.
      */
-    public void carregarHospedes(Hospede[] hospedesCarregados, int quantidade) {
-        for (int i = 0; i < quantidade && i < MAX_HOSPEDES; i++) {
+    public synchronized void carregarHospedes(Hospede[] hospedesCarregados, int quantidade) {
+        prepararEscrita();
+        garantirCapacidade(quantidade);
+        indiceNomes.limpar();
+        for (int i = 0; i < quantidade; i++) {
             this.hospedes[i] = hospedesCarregados[i];
+            indiceNomes.adicionar(hospedesCarregados[i]);
         }
-        this.totalHospedes = Math.min(quantidade, MAX_HOSPEDES);
+        this.totalHospedes = quantidade;
 
         // Lógica para garantir que o próximo ID seja maior que o maior ID já carregado
         this.proximoId = 1;
@@ -36,26 +50,95 @@ public class GestaoHospedes {
                 proximoId = hospedes[i].getId() + 1;
             }
         }
+
+        for (OuvinteHospedes ouvinte : ouvintes) {
+            ouvinte.hospedesCarregados(hospedes, totalHospedes);
+        }
+    }
+
+    /**
+     * Regista um ouvinte que passa a ser notificado de todas as alterações.
+     */
+    public void adicionarOuvinte(OuvinteHospedes ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+
+    /**
+     * Dá aos ouvintes a hipótese de recusar a escrita (ex: auditoria sem espaço) antes de mudar alguma coisa.
+     */
+    private void antesDeAlterar() {
+        for (OuvinteHospedes ouvinte : ouvintes) {
+            ouvinte.antesDeAlterarHospede();
+        }
+    }
+
+    private void notificar(Hospede anterior, Hospede atual) {
+        for (OuvinteHospedes ouvinte : ouvintes) {
+            ouvinte.hospedeAlterado(anterior, atual);
+        }
+    }
+
+    /**
+     * Tira um snapshot consistente dos hóspedes em O(1). Fechar depois de usar.
+     */
+    public synchronized Snapshot<Hospede> snapshot() {
+        return new Snapshot<>(hospedes, totalHospedes, leitoresVersao);
+    }
+
+    /**
+     * Copy-on-write: só copia o array se algum snapshot ainda o estiver a ler.
+     */
+    private void prepararEscrita() {
+        if (leitoresVersao.get() > 0) {
+            hospedes = hospedes.clone();
+            leitoresVersao = new AtomicInteger();
+        }
+    }
+
+    /**
+     * Aumenta o array quando está cheio. O array antigo fica intacto para os snapshots que o leem.
+     */
+    private void garantirCapacidade(int necessaria) {
+        if (necessaria > hospedes.length) {
+            hospedes = Arrays.copyOf(hospedes, Math.max(necessaria, hospedes.length * 2));
+            leitoresVersao = new AtomicInteger();
+        }
     }
 
     /**
      * Retorna uma cópia do array contendo apenas os hóspedes válidos (sem espaços vazios).
      */
     public Hospede[] listarTodos() {
-        Hospede[] resultado = new Hospede[totalHospedes];
-        for (int i = 0; i < totalHospedes; i++) {
-            resultado[i] = hospedes[i];
+        try (Snapshot<Hospede> s = snapshot()) {
+            return s.listar();
+        }
+    }
+
+    /**
+     * Devolve só uma página de hóspedes (não copia a tabela inteira).
+     */
+    public Pagina<Hospede> obterPagina(int cursor, int tamanho) {
+        try (Snapshot<Hospede> s = snapshot()) {
+            return s.pagina(cursor, tamanho);
         }
-        return resultado;
     }
 
     /**
      * Procura um hóspede pelo seu identificador único.
      */
     public Hospede buscarPorId(int id) {
-        for (int i = 0; i < totalHospedes; i++) {
-            if (hospedes[i].getId() == id) {
-                return hospedes[i];
+        try (Snapshot<Hospede> s = snapshot()) {
+            return buscarPorId(s, id);
+        }
+    }
+
+    /**
+     * Versão sobre um snapshot já aberto (usada nos cruzamentos com reservas).
+     */
+    public static Hospede buscarPorId(Snapshot<Hospede> s, int id) {
+        for (int i = 0; i < s.getTotal(); i++) {
+            if (s.get(i).getId() == id) {
+                return s.get(i);
             }
         }
         return null; // Retorna null se o ID não existir
@@ -65,12 +148,22 @@ public class GestaoHospedes {
      * Procura um hóspede pelo número do documento (NIF, CC, Passaporte).
      */
     public Hospede buscarPorDocumento(String documento) {
-        for (int i = 0; i < totalHospedes; i++) {
-            if (hospedes[i].getDocumento().equals(documento)) {
-                return hospedes[i];
+        try (Snapshot<Hospede> s = snapshot()) {
+            for (int i = 0; i < s.getTotal(); i++) {
+                if (s.get(i).getDocumento().equals(documento)) {
+                    return s.get(i);
+                }
             }
+            return null;
         }
-        return null;
+    }
+
+    /**
+     * Pesquisa por nome: aceita só uma parte do nome, ignora acentos e tolera pequenos erros.
+     * Devolve no máximo 'limite' hóspedes, os mais relevantes primeiro.
+     */
+    public synchronized List<Hospede> pesquisarPorNome(String texto, int limite) {
+        return indiceNomes.pesquisar(texto, limite);
     }
 
     /**
@@ -82,54 +175,96 @@ public class GestaoHospedes {
 
     /**
      * Cria e adiciona um novo hóspede ao sistema.
-     * Valida se há espaço e se o documento já não está em uso.
+     * Valida se o documento já não está em uso. Não há limite de registos: o array cresce quando enche.
+     * @return o novo hóspede, ou null se o documento já estiver registado.
      */
-    public Hospede criarHospede(String nome, String documento) {
-        // Validação de limite de memória
-        if (totalHospedes >= MAX_HOSPEDES) {
-            return null;
-        }
-
+    public synchronized Hospede criarHospede(String nome, String documento) {
         // Regra de negócio: Não permitir dois hóspedes com o mesmo documento
         if (documentoExiste(documento)) {
             return null;
         }
 
         // Instancia o novo hóspede usando o ID autoincrementado
+        antesDeAlterar();
         Hospede novo = new Hospede(proximoId++, nome, documento);
+        garantirCapacidade(totalHospedes + 1);
         hospedes[totalHospedes++] = novo; // Adiciona e incrementa o total
+        indiceNomes.adicionar(novo);
+        notificar(null, novo);
         return novo;
     }
 
     /**
      * Atualiza os dados de um hóspede existente.
      * Impede que o documento seja alterado para um que já pertença a outra pessoa.
+     * O registo é substituído por uma nova versão (os snapshots abertos continuam a ver a antiga).
      */
-    public boolean editarHospede(int id, String nome, String documento) {
-        Hospede hospede = buscarPorId(id);
-        if (hospede == null) {
+    public synchronized boolean editarHospede(int id, String nome, String documento) {
+        int indice = indicePorId(id);
+        if (indice < 0) {
             return false;
         }
+        Hospede hospede = hospedes[indice];
 
         // Se o novo documento já existe em OUTRO hóspede, cancela a edição
         if (documentoExiste(documento) && !hospede.getDocumento().equals(documento)) {
             return false;
         }
 
-        hospede.setNome(nome);
-        hospede.setDocumento(documento);
+        antesDeAlterar();
+        Hospede novaVersao = new Hospede(hospede.getId(), nome, documento);
+        prepararEscrita();
+        hospedes[indice] = novaVersao;
+        indiceNomes.remover(hospede);
+        indiceNomes.adicionar(novaVersao);
+        notificar(hospede, novaVersao);
+        return true;
+    }
+
+    /**
+     * Aplica uma versão completa de um hóspede vinda de fora (ex: journal do primário numa réplica).
+     * Substitui o registo com o mesmo ID ou acrescenta-o; reaplicar é inofensivo.
+     */
+    public synchronized boolean aplicarHospede(Hospede versao) {
+        antesDeAlterar();
+        int indice = indicePorId(versao.getId());
+        Hospede copia = new Hospede(versao.getId(), versao.getNome(), versao.getDocumento());
+
+        if (indice >= 0) {
+            Hospede anterior = hospedes[indice];
+            prepararEscrita();
+            hospedes[indice] = copia;
+            indiceNomes.remover(anterior);
+            indiceNomes.adicionar(copia);
+            notificar(anterior, copia);
+            return true;
+        }
+
+        garantirCapacidade(totalHospedes + 1);
+        hospedes[totalHospedes++] = copia;
+        indiceNomes.adicionar(copia);
+        if (copia.getId() >= proximoId) proximoId = copia.getId() + 1;
+        notificar(null, copia);
         return true;
     }
 
+    /**
+     * Posição do hóspede no array interno. Só deve ser usado dentro dos métodos sincronizados.
+     */
+    private int indicePorId(int id) {
+        for (int i = 0; i < totalHospedes; i++) {
+            if (hospedes[i].getId() == id) return i;
+        }
+        return -1;
+    }
+
     /**
      * Retorna os dados atuais para serem gravados no ficheiro CSV.
      */
     public Hospede[] getHospedesParaSalvar() {
-        Hospede[] resultado = new Hospede[totalHospedes];
-        for (int i = 0; i < totalHospedes; i++) {
-            resultado[i] = hospedes[i];
+        try (Snapshot<Hospede> s = snapshot()) {
+            return s.listar();
         }
-        return resultado;
     }
 
     public int getTotalHospedes() {
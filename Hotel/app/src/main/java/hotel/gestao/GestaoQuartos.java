@@ -1,6 +1,12 @@
 package hotel.gestao;
 
 import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import hotel.metricas.Histograma;
+import hotel.metricas.Metricas;
 import hotel.model.Quarto;
 import hotel.model.Reserva;
 
@@ -10,25 +16,51 @@ import hotel.model.Reserva;
  */
 public class GestaoQuartos {
 
-    private static final int MAX_QUARTOS = 200; // Limite físico de memória para quartos
+    private static final int CAPACIDADE_INICIAL = 200; // Tamanho inicial (cresce ao carregar mais quartos)
     private Quarto[] quartos;
     private int totalQuartos;
+    private volatile Relogio relogio = Relogio.SISTEMA; // Define o "hoje" da ocupação
+    private final List<OuvinteQuartos> ouvintes = new CopyOnWriteArrayList<>();
+
+    private static final Histograma T_OCUPACAO = Metricas.histograma("quartos.atualizarOcupacao");
+    private static final Histograma T_ADEQUADO = Metricas.histograma("quartos.encontrarQuartoAdequado");
 
     public GestaoQuartos() {
-        this.quartos = new Quarto[MAX_QUARTOS];
+        this.quartos = new Quarto[CAPACIDADE_INICIAL];
         this.totalQuartos = 0;
     }
 
+    /**
+     * Troca a fonte da data atual usada por atualizarOcupacao.
+     */
+    public void setRelogio(Relogio relogio) {
+        this.relogio = relogio;
+    }
+
+    /**
+     * Regista quem guarda referências a quartos (ex: vista de reservas) para ser avisado quando são trocados.
+     */
+    public void adicionarOuvinte(OuvinteQuartos ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+
     /**
      * Transfere os dados lidos do CSV para o array interno.
      */
     public void carregarQuartos(Quarto[] quartosCarregados, int quantidade) {
         if (quartosCarregados == null) return;
 
-        for (int i = 0; i < quantidade && i < MAX_QUARTOS; i++) {
+        if (quantidade > quartos.length) {
+            this.quartos = new Quarto[quantidade];
+        }
+        for (int i = 0; i < quantidade; i++) {
             this.quartos[i] = quartosCarregados[i];
         }
-        this.totalQuartos = Math.min(quantidade, MAX_QUARTOS);
+        this.totalQuartos = quantidade;
+
+        for (OuvinteQuartos o : ouvintes) {
+            o.quartosCarregados(quartosCarregados, quantidade);
+        }
     }
 
     /**
@@ -78,30 +110,28 @@ public class GestaoQuartos {
     }
 
     /**
-     * Atualiza o estado visual do quarto (bolinha verde/vermelha) com base no dia de HOJE.
-     * Varre todas as reservas e verifica se a data atual está entre o início e o fim de alguma.
+     * Atualiza o estado visual do quarto (bolinha verde/vermelha) com base no dia de HOJE (do relógio).
+     * Uma só passagem pelas reservas: cada reserva ativa que cobre hoje marca o seu quarto como ocupado.
      */
     public void atualizarOcupacao(Reserva[] reservas, int totalReservas) {
-        String hoje = LocalDate.now().toString(); // Formato YYYY-MM-DD
+        long t0 = System.nanoTime();
+        int hoje = (int) relogio.hoje().toEpochDay();
 
+        Map<Integer, Quarto> porId = new HashMap<>();
         for (int i = 0; i < totalQuartos; i++) {
             quartos[i].setOcupado(false); // Reset padrão: assume-se livre
+            porId.put(quartos[i].getId(), quartos[i]);
+        }
 
-            for (int j = 0; j < totalReservas; j++) {
-                Reserva reserva = reservas[j];
-                // Só conta se a reserva estiver ativa e pertencer a este quarto
-                if (reserva.isAtiva() && reserva.getIdQuarto() == quartos[i].getId()) {
-                    String inicio = reserva.getDataInicio();
-                    String fim = reserva.getDataFim();
-
-                    // Lógica: se hoje >= inicio E hoje <= fim, o quarto está ocupado AGORA
-                    if (inicio.compareTo(hoje) <= 0 && hoje.compareTo(fim) <= 0) {
-                        quartos[i].setOcupado(true);
-                        break; // Já sabemos que está ocupado, não precisamos ver mais reservas deste quarto
-                    }
-                }
+        for (int j = 0; j < totalReservas; j++) {
+            Reserva reserva = reservas[j];
+            // Lógica: se hoje >= inicio E hoje <= fim, o quarto está ocupado AGORA
+            if (reserva.isAtiva() && reserva.getDiaInicio() <= hoje && hoje <= reserva.getDiaFim()) {
+                Quarto quarto = porId.get(reserva.getIdQuarto());
+                if (quarto != null) quarto.setOcupado(true);
             }
         }
+        T_OCUPACAO.registarDesde(t0);
     }
 
     /**
@@ -112,6 +142,7 @@ public class GestaoQuartos {
      */
     public Quarto encontrarQuartoAdequado(int numHospedes, Reserva[] reservas, int totalReservas,
                                           String dataInicio, String dataFim) {
+        long t0 = System.nanoTime();
         Quarto melhor = null;
         int menorDiferenca = Integer.MAX_VALUE;
 
@@ -142,6 +173,7 @@ public class GestaoQuartos {
                 }
             }
         }
+        T_ADEQUADO.registarDesde(t0);
         return melhor;
     }
 
@@ -153,6 +185,13 @@ public class GestaoQuartos {
         return inicio1.compareTo(fim2) <= 0 && inicio2.compareTo(fim1) <= 0;
     }
 
+    /**
+     * Grelha de disponibilidade de todos os quartos para 'dias' dias a partir de 'inicio'.
+     */
+    public MatrizDisponibilidade matrizDisponibilidade(GestaoReservas gestaoReservas, LocalDate inicio, int dias) {
+        return gestaoReservas.matrizDisponibilidade(listarTodos(), inicio, dias);
+    }
+
     public int getTotalQuartos() {
         return totalQuartos;
     }
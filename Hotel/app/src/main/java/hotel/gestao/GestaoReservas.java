@@ -1,166 +1,459 @@
 package hotel.gestao;
 
+import java.time.DateTimeException;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import hotel.metricas.Contador;
+import hotel.metricas.Histograma;
+import hotel.metricas.Metricas;
+import hotel.model.Datas;
 import hotel.model.Reserva;
 import hotel.model.Quarto;
 
 /**
  * Motor de lógica do hotel. Gere o armazenamento, criação e validação de reservas.
  * Esta classe controla quem fica onde e garante que não existem conflitos de datas.
+ * As escritas são sincronizadas; as leituras usam snapshots (copy-on-write) e não bloqueiam.
  */
 public class GestaoReservas {
 
-    private static final int MAX_RESERVAS = 1000; // Limite físico do array
+    private static final int CAPACIDADE_INICIAL = 1000; // Tamanho inicial do array (duplica quando enche)
     private Reserva[] reservas;                   // Base de dados em memória
     private int totalReservas;                    // Contador de registos ocupados
     private int proximoId;                        // Auto-incremento para IDs únicos
+    private AtomicInteger leitoresVersao;         // Snapshots abertos sobre o array atual
+    private final List<OuvinteReservas> ouvintes = new CopyOnWriteArrayList<>();
+    private final IndiceQuartos indiceQuartos = new IndiceQuartos(); // Reservas ativas por quarto, ordenadas
+    private final IndiceDatas indiceDatas = new IndiceDatas();       // Chegadas e partidas por data
+    private final IndicePosicoes posicoesPorQuarto = new IndicePosicoes();  // Todas as reservas, por quarto
+    private final IndicePosicoes posicoesPorHospede = new IndicePosicoes(); // Todas as reservas, por hóspede
+    private volatile ListaEspera listaEspera;                        // Opcional: promove pedidos em espera
+    private volatile Relogio relogio = Relogio.SISTEMA;              // Define o "hoje" das consultas
+
+    // Latências das operações do motor (ver hotel.metricas)
+    private static final Histograma T_CARREGAR = Metricas.histograma("reservas.carregar");
+    private static final Histograma T_CRIAR = Metricas.histograma("reservas.criar");
+    private static final Histograma T_EDITAR = Metricas.histograma("reservas.editar");
+    private static final Histograma T_CANCELAR = Metricas.histograma("reservas.cancelar");
+    private static final Histograma T_SOBREPOSICAO = Metricas.histograma("reservas.existeSobreposicao");
+    private static final Contador N_CONFLITOS = Metricas.contador("reservas.conflitos");
+    private static final Contador N_PROMOVIDAS = Metricas.contador("reservas.promovidasDaEspera");
 
     public GestaoReservas() {
-        this.reservas = new Reserva[MAX_RESERVAS];
+        this.reservas = new Reserva[CAPACIDADE_INICIAL];
         this.totalReservas = 0;
         this.proximoId = 1;
+        this.leitoresVersao = new AtomicInteger();
     }
 
     /**
      * Preenche o sistema com os dados lidos do CSV.
      * Recalcula o proximoId para garantir que novas reservas não repetem IDs antigos.
      */
-    public void carregarReservas(Reserva[] reservasCarregadas, int quantidade) {
-        for (int i = 0; i < quantidade && i < MAX_RESERVAS; i++) {
+    public synchronized void carregarReservas(Reserva[] reservasCarregadas, int quantidade) {
+        long inicio = System.nanoTime();
+        prepararEscrita();
+        garantirCapacidade(quantidade);
+        for (int i = 0; i < quantidade; i++) {
             this.reservas[i] = reservasCarregadas[i];
         }
-        this.totalReservas = Math.min(quantidade, MAX_RESERVAS);
+        this.totalReservas = quantidade;
 
         // Sincronização do ID: Procura o maior ID existente e soma 1
         this.proximoId = 1;
+        indiceQuartos.limpar();
+        indiceDatas.limpar();
+        posicoesPorQuarto.limpar();
+        posicoesPorHospede.limpar();
         for (int i = 0; i < totalReservas; i++) {
             if (reservas[i].getId() >= proximoId) {
                 proximoId = reservas[i].getId() + 1;
             }
+            indexar(reservas[i]);
+            posicionar(i, null, reservas[i]);
+        }
+
+        for (OuvinteReservas ouvinte : ouvintes) {
+            ouvinte.reservasCarregadas(reservas, totalReservas);
         }
+        T_CARREGAR.registarDesde(inicio);
     }
 
     /**
-     * Filtra reservas por hóspede. Utilizado no menu de consulta de clientes.
+     * Entrega a tabela atual a um ouvinte como se tivesse acabado de ser carregada, sem a alterar
+     * (ex: receita depois de mudarem as tarifas). Corre com o lock, por isso nenhuma alteração
+     * fica entre a cópia e as notificações seguintes.
      */
-    public Reserva[] listarPorHospede(int idHospede) {
-        int count = 0;
-        for (int i = 0; i < totalReservas; i++) {
-            if (reservas[i].getIdHospede() == idHospede) count++;
+    public synchronized void reenviarReservas(OuvinteReservas ouvinte) {
+        ouvinte.reservasCarregadas(reservas, totalReservas);
+    }
+
+    /**
+     * Regista um ouvinte que passa a ser notificado de todas as alterações (journal, índices, etc).
+     */
+    public void adicionarOuvinte(OuvinteReservas ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+
+    /**
+     * Liga a lista de espera: a partir daqui, cancelamentos e reduções de estadia promovem
+     * automaticamente os pedidos em espera que passem a caber.
+     */
+    public void setListaEspera(ListaEspera listaEspera) {
+        this.listaEspera = listaEspera;
+    }
+
+    public ListaEspera getListaEspera() {
+        return listaEspera;
+    }
+
+    /**
+     * Troca a fonte da data atual (ex: relógio fixo para uma auditoria noturna de outro dia).
+     */
+    public void setRelogio(Relogio relogio) {
+        this.relogio = relogio;
+    }
+
+    public Relogio getRelogio() {
+        return relogio;
+    }
+
+    /**
+     * Mantém os índices internos (por quarto e por data) em dia com uma nova versão de uma reserva.
+     */
+    private void indexar(Reserva r) {
+        indiceQuartos.adicionar(r);
+        indiceDatas.adicionar(r);
+    }
+
+    private void desindexar(Reserva r) {
+        indiceQuartos.remover(r);
+        indiceDatas.remover(r);
+    }
+
+    /**
+     * Mantém os índices de posições (usados pelas consultas) quando a reserva na posição 'posicao'
+     * passa de 'anterior' (null se é nova) para 'nova'. Só mexe nas chaves que mudaram.
+     */
+    private void posicionar(int posicao, Reserva anterior, Reserva nova) {
+        if (anterior == null || anterior.getIdQuarto() != nova.getIdQuarto()) {
+            if (anterior != null) posicoesPorQuarto.remover(anterior.getIdQuarto(), posicao);
+            posicoesPorQuarto.adicionar(nova.getIdQuarto(), posicao);
+        }
+        if (anterior == null || anterior.getIdHospede() != nova.getIdHospede()) {
+            if (anterior != null) posicoesPorHospede.remover(anterior.getIdHospede(), posicao);
+            posicoesPorHospede.adicionar(nova.getIdHospede(), posicao);
         }
+    }
 
-        Reserva[] resultado = new Reserva[count];
-        int index = 0;
-        for (int i = 0; i < totalReservas; i++) {
-            if (reservas[i].getIdHospede() == idHospede) {
-                resultado[index++] = reservas[i];
-            }
+    /**
+     * Dá aos ouvintes a hipótese de recusar a escrita (ex: auditoria sem espaço) antes de mudar alguma coisa.
+     */
+    private void antesDeAlterar() {
+        for (OuvinteReservas ouvinte : ouvintes) {
+            ouvinte.antesDeAlterarReserva();
+        }
+    }
+
+    private void notificar(Reserva anterior, Reserva atual) {
+        for (OuvinteReservas ouvinte : ouvintes) {
+            ouvinte.reservaAlterada(anterior, atual);
         }
-        return resultado;
     }
 
     /**
-     * Identifica a reserva que está a decorrer "neste preciso momento" num quarto.
-     * Crucial para o Menu de Quartos mostrar quem é o ocupante atual.
+     * Tira um snapshot consistente das reservas em O(1).
+     * Deve ser fechado (try-with-resources) para que a versão antiga possa ser libertada.
      */
-    public Reserva getReservaAtualDoQuarto(int idQuarto) {
-        String hoje = LocalDate.now().toString(); // Formato YYYY-MM-DD
-        for (int i = 0; i < totalReservas; i++) {
-            Reserva r = reservas[i];
-            // Verifica se hoje está entre a data de início e a de fim (inclusive)
-            if (r.getIdQuarto() == idQuarto && r.isAtiva() &&
-                    r.getDataInicio().compareTo(hoje) <= 0 &&
-                    hoje.compareTo(r.getDataFim()) <= 0) {
-                return r;
-            }
+    public synchronized Snapshot<Reserva> snapshot() {
+        return new Snapshot<>(reservas, totalReservas, leitoresVersao);
+    }
+
+    /**
+     * Copy-on-write: se algum leitor ainda segura a versão atual, as escritas passam para uma cópia.
+     * Acrescentar no fim não precisa de cópia (os snapshots só veem até ao seu total).
+     */
+    private void prepararEscrita() {
+        if (leitoresVersao.get() > 0) {
+            reservas = reservas.clone();
+            leitoresVersao = new AtomicInteger();
         }
-        return null;
+    }
+
+    /**
+     * Aumenta o array quando está cheio. O array antigo fica intacto para os snapshots que o leem.
+     */
+    private void garantirCapacidade(int necessaria) {
+        if (necessaria > reservas.length) {
+            reservas = Arrays.copyOf(reservas, Math.max(necessaria, reservas.length * 2));
+            leitoresVersao = new AtomicInteger();
+        }
+    }
+
+    /**
+     * Começa uma consulta composta sobre as reservas (ver ConsultaReservas).
+     */
+    public ConsultaReservas consultar() {
+        return new ConsultaReservas(this);
+    }
+
+    /**
+     * O planeamento e o snapshot ficam no mesmo instante; a leitura dos resultados é feita fora do lock.
+     */
+    synchronized Stream<Reserva> executar(ConsultaReservas consulta) {
+        return consulta.planear(snapshot(), indiceQuartos, posicoesPorQuarto, posicoesPorHospede);
+    }
+
+    /**
+     * Filtra reservas por hóspede. Utilizado no menu de consulta de clientes.
+     */
+    public Reserva[] listarPorHospede(int idHospede) {
+        return consultar().doHospede(idHospede).listar().toArray(new Reserva[0]);
+    }
+
+    /**
+     * Identifica a reserva que está a decorrer "neste preciso momento" num quarto (segundo o relógio).
+     * Crucial para o Menu de Quartos mostrar quem é o ocupante atual. O(log n), via índice por quarto.
+     */
+    public synchronized Reserva getReservaAtualDoQuarto(int idQuarto) {
+        return indiceQuartos.ocupanteEm(idQuarto, relogio.hoje().toString());
+    }
+
+    /**
+     * Quem está em que quarto numa data: idQuarto -> reserva ativa que cobre essa data (extremos inclusive).
+     * Os quartos livres não aparecem. Uma só passagem pelo índice, todos os quartos vistos no mesmo instante.
+     */
+    public synchronized Map<Integer, Reserva> ocupantesEm(LocalDate data) {
+        return indiceQuartos.ocupantesEm(data.toString());
+    }
+
+    /**
+     * Ocupantes no dia de hoje do relógio.
+     */
+    public Map<Integer, Reserva> ocupantesHoje() {
+        return ocupantesEm(relogio.hoje());
+    }
+
+    /**
+     * Reservas ativas com check-in na data indicada (YYYY-MM-DD). O(k), via índice por data.
+     */
+    public synchronized Reserva[] listarChegadas(String data) {
+        return indiceDatas.chegadasEm(data);
+    }
+
+    /**
+     * Reservas ativas com check-out na data indicada (YYYY-MM-DD). O(k), via índice por data.
+     */
+    public synchronized Reserva[] listarPartidas(String data) {
+        return indiceDatas.partidasEm(data);
     }
 
     /**
      * Retorna o histórico completo (passado, presente e futuro) de um quarto.
      */
     public Reserva[] listarTodasPorQuarto(int idQuarto) {
-        int count = 0;
-        for (int i = 0; i < totalReservas; i++) {
-            if (reservas[i].getIdQuarto() == idQuarto) count++;
-        }
-        Reserva[] resultado = new Reserva[count];
-        int index = 0;
-        for (int i = 0; i < totalReservas; i++) {
-            if (reservas[i].getIdQuarto() == idQuarto) {
-                resultado[index++] = reservas[i];
-            }
-        }
-        return resultado;
+        return consultar().doQuarto(idQuarto).listar().toArray(new Reserva[0]);
     }
+
     /**
-     * Retorna as reservas (ativas e futuras) de um quarto específico.
+     * Retorna as reservas (ativas e futuras) de um quarto específico, por ordem cronológica.
      */
     public Reserva[] listarPorQuarto(int idQuarto) {
-        String hoje = LocalDate.now().toString();
+        return consultar().doQuarto(idQuarto).ativas().ordenarPor(ConsultaReservas.Ordem.DATA_INICIO, false).listar().toArray(new Reserva[0]);
+    }
 
-        // 1. Contar quantas reservas ativas existem para este quarto
-        int count = 0;
-        for (int i = 0; i < totalReservas; i++) {
-            Reserva r = reservas[i];
-            if (r.getIdQuarto() == idQuarto && r.isAtiva()) {
-                count++;
-            }
+    /**
+     * Algoritmo de deteção de colisões (Double Booking).
+     * Verifica se o intervalo de datas pedido choca com alguma reserva ATIVA já existente.
+     * Usa o índice por quarto: só olha para as reservas vizinhas das datas pedidas, não para todas.
+     */
+    public synchronized boolean existeSobreposicao(int idQuarto, String dataInicio, String dataFim, int ignorarId) {
+        // Lógica Matemática: dois intervalos chocam se (Início1 <= Fim2) E (Início2 <= Fim1)
+        long inicio = System.nanoTime();
+        boolean conflito = indiceQuartos.temConflito(idQuarto, dataInicio, dataFim, ignorarId);
+        T_SOBREPOSICAO.registarDesde(inicio);
+        if (conflito) N_CONFLITOS.incrementar();
+        return conflito;
+    }
+
+    /**
+     * Quarto livre com menor sobra de capacidade para numHospedes nessas datas (a regra de
+     * GestaoQuartos.encontrarQuartoAdequado), verificado no índice por quarto em vez de varrer todas
+     * as reservas: O(quartos × log reservas), sem copiar a tabela. Um quarto só é consultado no índice
+     * se melhorar o melhor encontrado até ali; em empate fica o primeiro da lista, como no varrimento.
+     */
+    public synchronized Quarto encontrarQuartoLivre(Quarto[] quartos, int numHospedes, String dataInicio, String dataFim) {
+        Quarto melhor = null;
+        int menorSobra = Integer.MAX_VALUE;
+        for (Quarto quarto : quartos) {
+            int sobra = quarto.getCapacidade() - numHospedes;
+            if (sobra < 0 || sobra >= menorSobra) continue;
+            if (existeSobreposicao(quarto.getId(), dataInicio, dataFim, -1)) continue;
+            melhor = quarto;
+            menorSobra = sobra;
+            if (sobra == 0) break;
         }
+        return melhor;
+    }
 
-        // 2. Criar o array de retorno
-        Reserva[] resultado = new Reserva[count];
-        int index = 0;
-        for (int i = 0; i < totalReservas; i++) {
-            Reserva r = reservas[i];
-            if (r.getIdQuarto() == idQuarto && r.isAtiva()) {
-                resultado[index++] = r;
+    /**
+     * Grelha de disponibilidade (quartos × dias) a partir de 'inicio'.
+     * Cada quarto é preenchido numa só passagem pelas suas reservas ordenadas,
+     * começando pela última que arrancou antes da janela, em vez de testar dia a dia.
+     */
+    public synchronized MatrizDisponibilidade matrizDisponibilidade(Quarto[] quartos, LocalDate inicio, int dias) {
+        MatrizDisponibilidade matriz = new MatrizDisponibilidade(quartos, inicio, dias);
+        String primeiroDia = inicio.toString();
+        String ultimoDia = inicio.plusDays(dias - 1).toString();
+        long base = inicio.toEpochDay();
+
+        for (int q = 0; q < quartos.length; q++) {
+            NavigableSet<Reserva> doQuarto = indiceQuartos.doQuarto(quartos[q].getId());
+            Reserva anterior = doQuarto.lower(new Reserva(Integer.MIN_VALUE, 0, 0, 0, primeiroDia, primeiroDia, true));
+            NavigableSet<Reserva> candidatas = anterior == null ? doQuarto : doQuarto.tailSet(anterior, true);
+
+            for (Reserva r : candidatas) {
+                if (r.getDataInicio().compareTo(ultimoDia) > 0) break; // Já passou da janela
+                if (r.getDataFim().compareTo(primeiroDia) < 0) continue;
+
+                try {
+                    long de = LocalDate.parse(r.getDataInicio()).toEpochDay() - base;
+                    long ate = LocalDate.parse(r.getDataFim()).toEpochDay() - base;
+                    matriz.marcar(q, (int) Math.max(0, de), (int) Math.min(dias - 1, ate));
+                } catch (DateTimeParseException e) {
+                    // Datas que passam no formato mas não existem (ex: 2026-02-30) ficam fora da grelha
+                }
             }
         }
-        return resultado;
+        return matriz;
     }
 
     /**
-     * Algoritmo de deteção de colisões (Double Booking).
-     * Verifica se o intervalo de datas pedido choca com alguma reserva ATIVA já existente.
+     * Procura a data mais cedo (a partir de 'aPartirDe') em que algum quarto com capacidade para
+     * 'numHospedes' fica livre durante 'noites' noites seguidas, e as datas alternativas seguintes.
+     * Para cada quarto percorre as reservas ordenadas e salta de "buraco" em "buraco" entre elas,
+     * por isso o custo depende do número de reservas na janela, não do número de dias pesquisados.
+     *
+     * @param janelaDias  até quantos dias depois de 'aPartirDe' a estadia pode começar
+     * @param maxResultados número máximo de datas distintas devolvidas (a primeira é a mais cedo)
+     * @return vagas por ordem de data; em cada data, o quarto com menos capacidade sobrante (Best Fit).
      */
-    public boolean existeSobreposicao(int idQuarto, String dataInicio, String dataFim, int ignorarId) {
-        for (int i = 0; i < totalReservas; i++) {
-            Reserva r = reservas[i];
+    public synchronized List<Vaga> procurarVagas(Quarto[] quartos, int numHospedes, LocalDate aPartirDe,
+                                                 int noites, int janelaDias, int maxResultados) {
+        LocalDate limite = aPartirDe.plusDays(janelaDias);
+        List<Vaga> candidatas = new ArrayList<>();
+
+        for (Quarto quarto : quartos) {
+            if (quarto.getCapacidade() < numHospedes) continue;
+
+            NavigableSet<Reserva> doQuarto = indiceQuartos.doQuarto(quarto.getId());
+            String inicioJanela = aPartirDe.toString();
+            Reserva anterior = doQuarto.lower(new Reserva(Integer.MIN_VALUE, 0, 0, 0, inicioJanela, inicioJanela, true));
+            NavigableSet<Reserva> seguintes = anterior == null ? doQuarto : doQuarto.tailSet(anterior, true);
 
-            // Ignora a própria reserva se estivermos em modo de edição
-            if (r.getId() != ignorarId && r.getIdQuarto() == idQuarto && r.isAtiva()) {
-                String rInicio = r.getDataInicio();
-                String rFim = r.getDataFim();
+            LocalDate cursor = aPartirDe;
+            for (Reserva r : seguintes) {
+                if (cursor.isAfter(limite)) break;
+                LocalDate rInicio, rFim;
+                try {
+                    rInicio = LocalDate.parse(r.getDataInicio());
+                    rFim = LocalDate.parse(r.getDataFim());
+                } catch (DateTimeParseException e) {
+                    continue;
+                }
+                if (rFim.isBefore(cursor)) continue; // Já terminou antes do cursor
 
-                // Lógica Matemática: dois intervalos chocam se (Início1 <= Fim2) E (Início2 <= Fim1)
-                if (dataInicio.compareTo(rFim) <= 0 && rInicio.compareTo(dataFim) <= 0) {
-                    return true;
+                // A estadia [cursor, cursor + noites] cabe antes desta reserva? (extremos inclusive)
+                if (cursor.plusDays(noites).isBefore(rInicio)) {
+                    candidatas.add(new Vaga(quarto, cursor, cursor.plusDays(noites)));
                 }
+                // O próximo buraco começa no dia seguinte ao fim desta reserva
+                cursor = rFim.plusDays(1);
+            }
+
+            // Depois da última reserva o quarto está sempre livre
+            if (!cursor.isAfter(limite)) {
+                candidatas.add(new Vaga(quarto, cursor, cursor.plusDays(noites)));
             }
         }
-        return false;
+
+        // Ordena por data e, na mesma data, pelo quarto que desperdiça menos capacidade; uma vaga por data
+        candidatas.sort(Comparator.comparing(Vaga::getDataInicio)
+                .thenComparingInt(v -> v.getQuarto().getCapacidade()));
+        List<Vaga> resultado = new ArrayList<>();
+        for (Vaga v : candidatas) {
+            if (resultado.size() >= maxResultados) break;
+            if (!resultado.isEmpty() && resultado.get(resultado.size() - 1).getDataInicio().equals(v.getDataInicio())) continue;
+            resultado.add(v);
+        }
+        return resultado;
     }
 
     /**
      * Instancia e adiciona uma nova reserva ao array.
      */
-    public Reserva criarReserva(int idQuarto, int idHospede, int numHospedes, String dataInicio, String dataFim) {
-        if (totalReservas >= MAX_RESERVAS) return null;
+    public synchronized Reserva criarReserva(int idQuarto, int idHospede, int numHospedes, String dataInicio, String dataFim) {
+        antesDeAlterar();
+        return criar(idQuarto, idHospede, numHospedes, dataInicio, dataFim);
+    }
+
+    /**
+     * Criação sem a verificação dos ouvintes: usada pelas promoções da lista de espera, que acontecem
+     * dentro de uma escrita já feita (recusá-las ali deixaria a operação a meio).
+     */
+    private Reserva criar(int idQuarto, int idHospede, int numHospedes, String dataInicio, String dataFim) {
+        long inicio = System.nanoTime();
         Reserva nova = new Reserva(proximoId++, idQuarto, idHospede, numHospedes, dataInicio, dataFim, true);
+        garantirCapacidade(totalReservas + 1);
+        posicionar(totalReservas, null, nova);
         reservas[totalReservas++] = nova;
+        indexar(nova);
+        notificar(null, nova);
+        T_CRIAR.registarDesde(inicio);
         return nova;
     }
+
+    /**
+     * Cria a reserva só se o quarto ainda estiver livre nessas datas: a verificação e a inserção são feitas
+     * na mesma secção sincronizada. Entre encontrarQuartoAdequado e criarReserva outro cliente pode ter
+     * ficado com o quarto; com vários clientes em simultâneo é este o método a usar.
+     * @return a nova reserva, ou null se o quarto já estiver ocupado em alguma dessas datas.
+     */
+    public synchronized Reserva criarReservaSeLivre(int idQuarto, int idHospede, int numHospedes,
+                                                    String dataInicio, String dataFim) {
+        if (existeSobreposicao(idQuarto, dataInicio, dataFim, -1)) return null;
+        return criarReserva(idQuarto, idHospede, numHospedes, dataInicio, dataFim);
+    }
+
     /**
      * Edita uma reserva existente após validar a disponibilidade e capacidade.
+     * A reserva original não é alterada: é substituída por uma cópia, para não mudar debaixo de snapshots.
      */
-    public boolean editarReserva(int id, int nHospedes, String dataInicio, String dataFim, Quarto quarto) {
+    public synchronized boolean editarReserva(int id, int nHospedes, String dataInicio, String dataFim, Quarto quarto) {
+        long inicio = System.nanoTime();
+        try {
+            return editar(id, nHospedes, dataInicio, dataFim, quarto);
+        } finally {
+            T_EDITAR.registarDesde(inicio);
+        }
+    }
+
+    private boolean editar(int id, int nHospedes, String dataInicio, String dataFim, Quarto quarto) {
         // 1. Procura a reserva original
-        Reserva r = buscarPorId(id);
+        int indice = indicePorId(id);
 
         // 2. Validações básicas: existe e está ativa?
-        if (r == null || !r.isAtiva()) return false;
+        if (indice < 0 || !reservas[indice].isAtiva()) return false;
+        Reserva r = reservas[indice];
 
         // 3. Valida capacidade do quarto (se o objeto quarto for fornecido)
         if (quarto != null && nHospedes > quarto.getCapacidade()) return false;
@@ -168,30 +461,181 @@ public class GestaoReservas {
         // 4. Valida se as novas datas não chocam com OUTRAS reservas (ignora a própria)
         if (existeSobreposicao(r.getIdQuarto(), dataInicio, dataFim, id)) return false;
 
-        // 5. Aplica as alterações
-        r.setNumeroHospedes(nHospedes);
-        r.setDataInicio(dataInicio);
-        r.setDataFim(dataFim);
+        // 5. Aplica as alterações numa nova versão do registo
+        antesDeAlterar();
+        Reserva nova = copiar(r);
+        nova.setNumeroHospedes(nHospedes);
+        nova.setDataInicio(dataInicio);
+        nova.setDataFim(dataFim);
 
+        prepararEscrita();
+        reservas[indice] = nova;
+        desindexar(r);
+        indexar(nova);
+        notificar(r, nova);
+
+        // Estadia encurtada ou deslocada: parte das datas antigas ficou livre
+        if (dataInicio.compareTo(r.getDataInicio()) > 0 || dataFim.compareTo(r.getDataFim()) < 0) {
+            promoverEspera(r.getIdQuarto(), r.getDataInicio(), r.getDataFim());
+        }
         return true;
     }
 
     /**
      * Cancela uma reserva sem a apagar (Soft Delete), mantendo-a para histórico.
+     * @return false se o ID não existir ou a reserva já estiver cancelada (nada muda nem é notificado).
+     */
+    public synchronized boolean cancelarReserva(int id) {
+        long inicio = System.nanoTime();
+        try {
+            return cancelar(id);
+        } finally {
+            T_CANCELAR.registarDesde(inicio);
+        }
+    }
+
+    private boolean cancelar(int id) {
+        int indice = indicePorId(id);
+        if (indice < 0 || !reservas[indice].isAtiva()) return false;
+
+        antesDeAlterar();
+        Reserva cancelada = copiar(reservas[indice]);
+        cancelada.setAtiva(false); // Liberta o quarto para novas marcações
+
+        Reserva anterior = reservas[indice];
+        prepararEscrita();
+        reservas[indice] = cancelada;
+        desindexar(anterior);
+        notificar(anterior, cancelada);
+
+        promoverEspera(anterior.getIdQuarto(), anterior.getDataInicio(), anterior.getDataFim());
+        return true;
+    }
+
+    /**
+     * O quarto ficou livre (total ou parcialmente) em [inicio, fim]: os pedidos em espera que tocam
+     * esse intervalo são testados pela ordem da ListaEspera (prioridade e depois o melhor encaixe)
+     * no índice do quarto e, se couberem, passam a reservas. Chamado dentro das escritas, depois de a alteração ter sido notificada.
      */
-    public boolean cancelarReserva(int id) {
-        Reserva r = buscarPorId(id);
-        if (r == null) return false;
-        r.setAtiva(false); // Liberta o quarto para novas marcações
+    private void promoverEspera(int idQuarto, String inicio, String fim) {
+        ListaEspera espera = listaEspera;
+        if (espera == null) return;
+
+        for (PedidoEspera pedido : espera.candidatos(idQuarto, inicio, fim)) {
+            if (indiceQuartos.temConflito(idQuarto, pedido.getDataInicio(), pedido.getDataFim(), -1)) continue;
+            Reserva nova = criar(idQuarto, pedido.getIdHospede(), pedido.getNumHospedes(),
+                    pedido.getDataInicio(), pedido.getDataFim());
+            espera.promovido(pedido, nova);
+            N_PROMOVIDAS.incrementar();
+        }
+    }
+
+    /**
+     * Aplica um plano do OtimizadorQuartos de forma atómica: ou todas as mudanças entram, ou nenhuma.
+     * Cada reserva tem de estar igual ao que foi planeado (ativa, mesmo quarto e mesmas datas) e o
+     * destino tem de existir em quartos, ter capacidade para os hóspedes e estar livre, contando já
+     * com as outras mudanças do plano; caso contrário o índice volta ao estado anterior e nada é alterado.
+     * Depois da troca, os intervalos que ficaram livres nos quartos de origem são oferecidos à lista de espera.
+     */
+    public synchronized boolean aplicarRealocacao(PlanoRealocacao plano, Quarto[] quartos) {
+        List<MudancaQuarto> mudancas = plano.getMudancas();
+        int[] indices = new int[mudancas.size()];
+        Reserva[] antigas = new Reserva[mudancas.size()];
+        Reserva[] novas = new Reserva[mudancas.size()];
+
+        for (int i = 0; i < mudancas.size(); i++) {
+            MudancaQuarto m = mudancas.get(i);
+            indices[i] = indicePorId(m.getIdReserva());
+            if (indices[i] < 0) return false;
+            Reserva r = reservas[indices[i]];
+            if (!r.isAtiva() || r.getIdQuarto() != m.getIdQuartoOrigem()
+                    || !r.getDataInicio().equals(m.getDataInicio()) || !r.getDataFim().equals(m.getDataFim())) {
+                return false; // A reserva mudou depois de o plano ter sido feito
+            }
+            Quarto destino = procurarQuarto(quartos, m.getIdQuartoDestino());
+            if (destino == null || destino.getCapacidade() < r.getNumeroHospedes()) return false;
+            antigas[i] = r;
+            novas[i] = copiar(r);
+            novas[i].setIdQuarto(m.getIdQuartoDestino());
+        }
+
+        antesDeAlterar();
+        // Tira todas as reservas do plano do índice e volta a pô-las, uma a uma, nos quartos de destino
+        for (Reserva r : antigas) indiceQuartos.remover(r);
+        for (int i = 0; i < novas.length; i++) {
+            Reserva n = novas[i];
+            if (indiceQuartos.temConflito(n.getIdQuarto(), n.getDataInicio(), n.getDataFim(), n.getId())) {
+                for (int j = 0; j < i; j++) indiceQuartos.remover(novas[j]);
+                for (Reserva r : antigas) indiceQuartos.adicionar(r);
+                return false;
+            }
+            indiceQuartos.adicionar(n);
+        }
+
+        prepararEscrita();
+        for (int i = 0; i < novas.length; i++) {
+            reservas[indices[i]] = novas[i];
+            posicionar(indices[i], antigas[i], novas[i]);
+            indiceDatas.remover(antigas[i]);
+            indiceDatas.adicionar(novas[i]);
+            notificar(antigas[i], novas[i]);
+        }
+        // Só depois de todas as mudanças: um quarto de origem pode ter sido o destino de outra
+        for (Reserva r : antigas) promoverEspera(r.getIdQuarto(), r.getDataInicio(), r.getDataFim());
+        return true;
+    }
+
+    private static Quarto procurarQuarto(Quarto[] quartos, int id) {
+        for (Quarto q : quartos) {
+            if (q != null && q.getId() == id) return q;
+        }
+        return null;
+    }
+
+    /**
+     * Aplica uma versão completa de uma reserva vinda de fora (ex: journal do primário numa réplica).
+     * Se o ID já existe o registo é substituído, caso contrário é acrescentado.
+     * Aplicar a mesma versão duas vezes não muda nada, o que torna a replicação idempotente.
+     */
+    public synchronized boolean aplicarReserva(Reserva versao) {
+        antesDeAlterar();
+        int indice = indicePorId(versao.getId());
+        Reserva copia = copiar(versao);
+
+        if (indice >= 0) {
+            Reserva anterior = reservas[indice];
+            prepararEscrita();
+            reservas[indice] = copia;
+            posicionar(indice, anterior, copia);
+            desindexar(anterior);
+            indexar(copia);
+            notificar(anterior, copia);
+            return true;
+        }
+
+        garantirCapacidade(totalReservas + 1);
+        posicionar(totalReservas, null, copia);
+        reservas[totalReservas++] = copia;
+        indexar(copia);
+        if (copia.getId() >= proximoId) proximoId = copia.getId() + 1;
+        notificar(null, copia);
         return true;
     }
 
     /**
      * Validador de formato via Regex (Expressão Regular).
+     * Além do padrão, a data tem de existir no calendário (2025-02-30 é recusada),
+     * porque as reservas guardam as datas já convertidas em dias.
      */
     public static boolean isDataValida(String data) {
         // Verifica rigorosamente o padrão NNNN-NN-NN
-        return data != null && data.matches("\\d{4}-\\d{2}-\\d{2}");
+        if (data == null || !data.matches("\\d{4}-\\d{2}-\\d{2}")) return false;
+        try {
+            Datas.dia(data);
+            return true;
+        } catch (DateTimeException e) {
+            return false;
+        }
     }
 
     /**
@@ -199,22 +643,48 @@ public class GestaoReservas {
      * Necessário para as listagens gerais no MenuReservas.
      */
     public Reserva[] listarTodas() {
-        Reserva[] resultado = new Reserva[totalReservas];
-        System.arraycopy(reservas, 0, resultado, 0, totalReservas);
-        return resultado;
+        try (Snapshot<Reserva> s = snapshot()) {
+            return s.listar();
+        }
+    }
+
+    /**
+     * Devolve só uma página de reservas (não copia a tabela inteira).
+     */
+    public Pagina<Reserva> obterPagina(int cursor, int tamanho) {
+        try (Snapshot<Reserva> s = snapshot()) {
+            return s.pagina(cursor, tamanho);
+        }
     }
 
     public Reserva buscarPorId(int id) {
+        try (Snapshot<Reserva> s = snapshot()) {
+            for (int i = 0; i < s.getTotal(); i++) {
+                if (s.get(i).getId() == id) return s.get(i);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Posição da reserva no array interno. Só deve ser usado dentro dos métodos sincronizados.
+     */
+    private int indicePorId(int id) {
         for (int i = 0; i < totalReservas; i++) {
-            if (reservas[i].getId() == id) return reservas[i];
+            if (reservas[i].getId() == id) return i;
         }
-        return null;
+        return -1;
+    }
+
+    private static Reserva copiar(Reserva r) {
+        return new Reserva(r.getId(), r.getIdQuarto(), r.getIdHospede(), r.getNumeroHospedes(),
+                r.getDataInicio(), r.getDataFim(), r.isAtiva());
     }
 
     public int getTotalReservas() { return totalReservas; }
     public Reserva[] getReservasParaSalvar() {
-        Reserva[] resultado = new Reserva[totalReservas];
-        System.arraycopy(reservas, 0, resultado, 0, totalReservas);
-        return resultado;
+        try (Snapshot<Reserva> s = snapshot()) {
+            return s.listar();
+        }
     }
 }
@@ -0,0 +1,53 @@
+package hotel.gestao;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import hotel.model.Reserva;
+
+/**
+ * Listas materializadas de chegadas (por dataInicio) e partidas (por dataFim) das reservas ATIVAS.
+ * Cada data aponta diretamente para as suas reservas, por isso obter a lista de um dia custa O(k)
+ * (k = reservas desse dia), sem varrer a tabela inteira.
+ * Não é thread-safe: é mantido e lido pela GestaoReservas dentro dos seus métodos sincronizados.
+ */
+class IndiceDatas {
+
+    private static final Reserva[] VAZIO = new Reserva[0];
+
+    private final Map<String, Map<Integer, Reserva>> chegadas = new HashMap<>();
+    private final Map<String, Map<Integer, Reserva>> partidas = new HashMap<>();
+
+    void adicionar(Reserva r) {
+        if (!r.isAtiva()) return;
+        chegadas.computeIfAbsent(r.getDataInicio(), d -> new LinkedHashMap<>()).put(r.getId(), r);
+        partidas.computeIfAbsent(r.getDataFim(), d -> new LinkedHashMap<>()).put(r.getId(), r);
+    }
+
+    void remover(Reserva r) {
+        removerDe(chegadas, r.getDataInicio(), r.getId());
+        removerDe(partidas, r.getDataFim(), r.getId());
+    }
+
+    void limpar() {
+        chegadas.clear();
+        partidas.clear();
+    }
+
+    Reserva[] chegadasEm(String data) {
+        Map<Integer, Reserva> dia = chegadas.get(data);
+        return dia == null ? VAZIO : dia.values().toArray(VAZIO);
+    }
+
+    Reserva[] partidasEm(String data) {
+        Map<Integer, Reserva> dia = partidas.get(data);
+        return dia == null ? VAZIO : dia.values().toArray(VAZIO);
+    }
+
+    private static void removerDe(Map<String, Map<Integer, Reserva>> indice, String data, int id) {
+        Map<Integer, Reserva> dia = indice.get(data);
+        if (dia == null) return;
+        dia.remove(id);
+        if (dia.isEmpty()) indice.remove(data); // Não deixa datas vazias a ocupar memória
+    }
+}
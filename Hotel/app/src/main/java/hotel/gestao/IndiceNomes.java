@@ -0,0 +1,239 @@
+package hotel.gestao;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import hotel.model.Hospede;
+
+/**
+ * Índice de pesquisa de hóspedes por nome (parte do nome, início de palavras ou com erros de escrita).
+ *
+ * 1. Normalização: minúsculas e sem acentos ("João" → "joao", "Conceição" → "conceicao").
+ * 2. Prefixos: um mapa ordenado palavra → hóspedes. Todas as palavras que começam por "fia" estão
+ *    seguidas no mapa, por isso um prefixo é um intervalo (funciona como uma trie compacta).
+ * 3. Trigramas: cada palavra distinta é partida em grupos de 3 letras; palavras que partilham muitos
+ *    trigramas com a pesquisa são parecidas, mesmo com uma letra trocada ("Fialo" encontra "Fialho").
+ *    Os trigramas apontam para palavras e não para hóspedes: há muito menos nomes diferentes do que
+ *    hóspedes, por isso a pesquisa aproximada não cresce com o número de registos.
+ * Não é thread-safe: é mantido e lido pela GestaoHospedes dentro dos seus métodos sincronizados.
+ */
+class IndiceNomes {
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+
+    private static final double PONTOS_IGUAL = 3;
+    private static final double PONTOS_PREFIXO = 2;      // Semelhanças por trigramas ficam entre 0 e 1
+    private static final double SEMELHANCA_MINIMA = 0.4;
+    private static final int MAX_CANDIDATOS = 2000;      // Limita o trabalho com pesquisas muito vagas ("a")
+
+    private final TreeMap<String, Set<Integer>> porPalavra = new TreeMap<>();
+    private final Map<String, Set<String>> porTrigrama = new HashMap<>();
+    private final Map<Integer, Entrada> entradas = new HashMap<>();
+
+    void adicionar(Hospede h) {
+        String[] palavras = palavras(h.getNome());
+        entradas.put(h.getId(), new Entrada(h, palavras));
+        for (String p : palavras) {
+            Set<Integer> ids = porPalavra.get(p);
+            if (ids == null) {
+                ids = new HashSet<>();
+                porPalavra.put(p, ids);
+                // Palavra nova no vocabulário: só agora entra no índice de trigramas
+                for (String t : trigramas(p)) {
+                    porTrigrama.computeIfAbsent(t, k -> new HashSet<>()).add(p);
+                }
+            }
+            ids.add(h.getId());
+        }
+    }
+
+    void remover(Hospede h) {
+        Entrada e = entradas.remove(h.getId());
+        if (e == null) return;
+        for (String p : e.palavras) {
+            Set<Integer> ids = porPalavra.get(p);
+            if (ids == null) continue;
+            ids.remove(h.getId());
+            if (ids.isEmpty()) {
+                // Ninguém mais usa esta palavra: sai do vocabulário
+                porPalavra.remove(p);
+                for (String t : trigramas(p)) {
+                    Set<String> doTrigrama = porTrigrama.get(t);
+                    if (doTrigrama == null) continue;
+                    doTrigrama.remove(p);
+                    if (doTrigrama.isEmpty()) porTrigrama.remove(t);
+                }
+            }
+        }
+    }
+
+    void limpar() {
+        porPalavra.clear();
+        porTrigrama.clear();
+        entradas.clear();
+    }
+
+    /**
+     * Devolve até 'limite' hóspedes, do mais relevante para o menos relevante.
+     * Todas as palavras pesquisadas têm de aparecer no nome: iguais valem mais do que
+     * o início de uma palavra, que vale mais do que uma palavra apenas parecida.
+     */
+    List<Hospede> pesquisar(String consulta, int limite) {
+        String[] termos = palavras(consulta);
+        List<Hospede> resultado = new ArrayList<>();
+        if (termos.length == 0 || limite <= 0) return resultado;
+
+        // Para cada termo, as palavras do vocabulário que lhe correspondem e quanto valem
+        List<Map<String, Double>> correspondencias = new ArrayList<>();
+        Map<String, Double> maisSeletivo = null;
+        int menorTotal = Integer.MAX_VALUE;
+        for (String termo : termos) {
+            Map<String, Double> palavrasTermo = expandir(termo);
+            if (palavrasTermo.isEmpty()) return resultado;
+            correspondencias.add(palavrasTermo);
+
+            int total = 0;
+            for (String p : palavrasTermo.keySet()) total += porPalavra.get(p).size();
+            if (total < menorTotal) {
+                menorTotal = total;
+                maisSeletivo = palavrasTermo;
+            }
+        }
+
+        // Os candidatos saem do termo com menos hóspedes; os restantes termos só confirmam.
+        // Percorre primeiro as melhores palavras, para o limite de candidatos cortar as piores.
+        List<Map.Entry<String, Double>> ordemPalavras = new ArrayList<>(maisSeletivo.entrySet());
+        ordemPalavras.sort(Map.Entry.<String, Double>comparingByValue().reversed());
+
+        PriorityQueue<Resultado> melhores = new PriorityQueue<>(); // O pior dos K melhores fica no topo
+        Set<Integer> vistos = new HashSet<>();
+        for (Map.Entry<String, Double> palavra : ordemPalavras) {
+            // Melhor pontuação possível daqui para a frente; se os K atuais já a atingem, pára
+            double maximo = (palavra.getValue() + PONTOS_IGUAL * (termos.length - 1)) / termos.length;
+            if (melhores.size() == limite && melhores.peek().pontos >= maximo) break;
+
+            for (int id : porPalavra.get(palavra.getKey())) {
+                if (vistos.size() >= MAX_CANDIDATOS) break;
+                if (melhores.size() == limite && melhores.peek().pontos >= maximo) break;
+                if (!vistos.add(id)) continue;
+
+                Entrada e = entradas.get(id);
+                double pontos = pontuar(e.palavras, correspondencias);
+                if (pontos <= 0) continue;
+                melhores.add(new Resultado(e.hospede, pontos));
+                if (melhores.size() > limite) melhores.poll();
+            }
+        }
+
+        while (!melhores.isEmpty()) resultado.add(0, melhores.poll().hospede);
+        return resultado;
+    }
+
+    /**
+     * Palavras do vocabulário que correspondem a um termo: igual, começa pelo termo ou é parecida.
+     */
+    private Map<String, Double> expandir(String termo) {
+        Map<String, Double> resultado = new HashMap<>();
+
+        for (String p : porPalavra.subMap(termo, true, termo + Character.MAX_VALUE, false).keySet()) {
+            resultado.put(p, p.equals(termo) ? PONTOS_IGUAL : PONTOS_PREFIXO);
+        }
+
+        // Semelhança de Jaccard entre os trigramas do termo e os de cada palavra que partilha algum
+        Set<String> doTermo = trigramas(termo);
+        Map<String, Integer> comuns = new HashMap<>();
+        for (String t : doTermo) {
+            Set<String> palavrasTrigrama = porTrigrama.get(t);
+            if (palavrasTrigrama == null) continue;
+            for (String p : palavrasTrigrama) comuns.merge(p, 1, Integer::sum);
+        }
+        for (Map.Entry<String, Integer> c : comuns.entrySet()) {
+            if (resultado.containsKey(c.getKey())) continue;
+            int daPalavra = c.getKey().length() + 1; // Número de trigramas com as pontas acrescentadas
+            double jaccard = (double) c.getValue() / (doTermo.size() + daPalavra - c.getValue());
+            if (jaccard >= SEMELHANCA_MINIMA) resultado.put(c.getKey(), jaccard);
+        }
+        return resultado;
+    }
+
+    /**
+     * Média, por termo, da melhor palavra do nome que lhe corresponde; 0 se algum termo falhar.
+     */
+    private static double pontuar(String[] palavrasNome, List<Map<String, Double>> correspondencias) {
+        double soma = 0;
+        for (Map<String, Double> palavrasTermo : correspondencias) {
+            double melhor = 0;
+            for (String p : palavrasNome) {
+                Double pontos = palavrasTermo.get(p);
+                if (pontos != null && pontos > melhor) melhor = pontos;
+            }
+            if (melhor == 0) return 0;
+            soma += melhor;
+        }
+        return soma / correspondencias.size();
+    }
+
+    /**
+     * Minúsculas, sem acentos, partido em palavras.
+     */
+    static String[] palavras(String texto) {
+        if (texto == null) return new String[0];
+        String semAcentos = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        String limpo = SEPARADORES.matcher(semAcentos.toLowerCase()).replaceAll(" ").trim();
+        return limpo.isEmpty() ? new String[0] : limpo.split(" ");
+    }
+
+    /**
+     * Trigramas de uma palavra, com espaços nas pontas para dar peso ao início e ao fim ("  jo", " jo", ...).
+     */
+    private static Set<String> trigramas(String palavra) {
+        String p = "  " + palavra + " ";
+        Set<String> resultado = new HashSet<>();
+        for (int i = 0; i + 3 <= p.length(); i++) {
+            resultado.add(p.substring(i, i + 3));
+        }
+        return resultado;
+    }
+
+    /**
+     * Versão indexada de um hóspede (guarda as palavras para poder remover e pontuar sem renormalizar).
+     */
+    private static final class Entrada {
+        final Hospede hospede;
+        final String[] palavras;
+
+        Entrada(Hospede hospede, String[] palavras) {
+            this.hospede = hospede;
+            this.palavras = palavras;
+        }
+    }
+
+    /**
+     * Candidato na lista dos melhores. A ordem natural põe o menos relevante à frente
+     * (menos pontos; em empate, o nome mais comprido, que a pesquisa cobre menos).
+     */
+    private static final class Resultado implements Comparable<Resultado> {
+        final Hospede hospede;
+        final double pontos;
+
+        Resultado(Hospede hospede, double pontos) {
+            this.hospede = hospede;
+            this.pontos = pontos;
+        }
+
+        @Override
+        public int compareTo(Resultado outro) {
+            int c = Double.compare(pontos, outro.pontos);
+            if (c != 0) return c;
+            return Integer.compare(outro.hospede.getNome().length(), hospede.getNome().length());
+        }
+    }
+}
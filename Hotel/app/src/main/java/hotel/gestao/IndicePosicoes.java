@@ -0,0 +1,81 @@
+package hotel.gestao;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Posições no array de reservas (ativas e canceladas) agrupadas por uma chave (hóspede ou quarto).
+ * Guarda só inteiros ordenados, não referências: como as reservas nunca saem do array (cancelar
+ * substitui no mesmo sítio), a posição continua válida em todas as versões e em todos os snapshots.
+ * Não é thread-safe: é mantido e lido pela GestaoReservas dentro dos seus métodos sincronizados.
+ */
+class IndicePosicoes {
+
+    private static final int[] VAZIO = new int[0];
+
+    private final Map<Integer, Posicoes> porChave = new HashMap<>();
+
+    void adicionar(int chave, int posicao) {
+        porChave.computeIfAbsent(chave, c -> new Posicoes()).adicionar(posicao);
+    }
+
+    void remover(int chave, int posicao) {
+        Posicoes p = porChave.get(chave);
+        if (p == null) return;
+        p.remover(posicao);
+        if (p.total == 0) porChave.remove(chave);
+    }
+
+    void limpar() {
+        porChave.clear();
+    }
+
+    /**
+     * Quantas reservas tem a chave (estimativa exata para o planeador de consultas).
+     */
+    int contar(int chave) {
+        Posicoes p = porChave.get(chave);
+        return p == null ? 0 : p.total;
+    }
+
+    /**
+     * Cópia das posições da chave, por ordem crescente.
+     */
+    int[] posicoes(int chave) {
+        Posicoes p = porChave.get(chave);
+        return p == null ? VAZIO : Arrays.copyOf(p.valores, p.total);
+    }
+
+    /**
+     * Lista ordenada de inteiros. Quase sempre as posições chegam por ordem (acrescentar no fim),
+     * por isso a inserção no meio, com procura binária, só acontece em reaplicações da réplica.
+     */
+    private static final class Posicoes {
+        private int[] valores = new int[2];
+        private int total;
+
+        void adicionar(int posicao) {
+            if (total > 0 && valores[total - 1] < posicao) {
+                acrescentar(total, posicao);
+                return;
+            }
+            int i = Arrays.binarySearch(valores, 0, total, posicao);
+            if (i < 0) acrescentar(-i - 1, posicao); // Já presente: nada a fazer
+        }
+
+        void remover(int posicao) {
+            int i = Arrays.binarySearch(valores, 0, total, posicao);
+            if (i < 0) return;
+            System.arraycopy(valores, i + 1, valores, i, total - i - 1);
+            total--;
+        }
+
+        private void acrescentar(int onde, int posicao) {
+            if (total == valores.length) valores = Arrays.copyOf(valores, total * 2);
+            System.arraycopy(valores, onde, valores, onde + 1, total - onde);
+            valores[onde] = posicao;
+            total++;
+        }
+    }
+}
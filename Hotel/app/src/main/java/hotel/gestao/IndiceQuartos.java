@@ -0,0 +1,102 @@
+package hotel.gestao;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import hotel.model.Reserva;
+
+/**
+ * Índice das reservas ATIVAS de cada quarto, ordenadas por data de início.
+ * Como num quarto as reservas ativas não se sobrepõem, ordenar por início é também ordenar por fim,
+ * o que permite responder a "há conflito?" olhando só para as vizinhas da data pedida (O(log n)).
+ * Não é thread-safe: é mantido e lido pela GestaoReservas dentro dos seus métodos sincronizados.
+ */
+class IndiceQuartos {
+
+    private static final Comparator<Reserva> POR_INICIO =
+            Comparator.comparingInt(Reserva::getDiaInicio).thenComparingInt(Reserva::getId);
+
+    private static final NavigableSet<Reserva> VAZIO = Collections.unmodifiableNavigableSet(new TreeSet<>(POR_INICIO));
+
+    private final Map<Integer, TreeSet<Reserva>> porQuarto = new HashMap<>();
+
+    void adicionar(Reserva r) {
+        if (!r.isAtiva()) return;
+        porQuarto.computeIfAbsent(r.getIdQuarto(), id -> new TreeSet<>(POR_INICIO)).add(r);
+    }
+
+    void remover(Reserva r) {
+        TreeSet<Reserva> reservas = porQuarto.get(r.getIdQuarto());
+        if (reservas != null) reservas.remove(r);
+    }
+
+    void limpar() {
+        porQuarto.clear();
+    }
+
+    /**
+     * Reservas ativas do quarto, por ordem cronológica (vista só de leitura).
+     */
+    NavigableSet<Reserva> doQuarto(int idQuarto) {
+        TreeSet<Reserva> reservas = porQuarto.get(idQuarto);
+        // Mesmo vazio tem de usar o comparador: headSet/tailSet comparam a sonda com os limites
+        return reservas == null ? VAZIO : Collections.unmodifiableNavigableSet(reservas);
+    }
+
+    /**
+     * Reservas ativas do quarto que começam até 'data' (inclusive), da mais recente para a mais antiga.
+     */
+    NavigableSet<Reserva> iniciadasAte(int idQuarto, String data) {
+        return doQuarto(idQuarto).headSet(chave(data), true).descendingSet();
+    }
+
+    /**
+     * Reserva ativa do quarto que cobre 'data' (no mesmo quarto há no máximo uma), ou null.
+     * É a última que começa até 'data', se ainda não tiver acabado.
+     */
+    Reserva ocupanteEm(int idQuarto, String data) {
+        return ocupanteEm(idQuarto, chave(data));
+    }
+
+    private Reserva ocupanteEm(int idQuarto, Reserva sonda) {
+        TreeSet<Reserva> reservas = porQuarto.get(idQuarto);
+        Reserva r = reservas == null ? null : reservas.floor(sonda);
+        return r != null && r.getDiaFim() >= sonda.getDiaInicio() ? r : null;
+    }
+
+    /**
+     * Ocupante de cada quarto em 'data' (só os quartos ocupados aparecem), O(quartos × log n).
+     */
+    Map<Integer, Reserva> ocupantesEm(String data) {
+        Map<Integer, Reserva> ocupantes = new HashMap<>();
+        Reserva sonda = chave(data);
+        for (Integer idQuarto : porQuarto.keySet()) {
+            Reserva r = ocupanteEm(idQuarto, sonda);
+            if (r != null) ocupantes.put(idQuarto, r);
+        }
+        return ocupantes;
+    }
+
+    /**
+     * Verifica se [inicio, fim] choca com alguma reserva ativa do quarto (extremos inclusive).
+     * Percorre para trás a partir da última reserva que começa até 'fim'; a primeira que acabe antes
+     * de 'inicio' garante que as anteriores também acabam (não há sobreposições no mesmo quarto).
+     */
+    boolean temConflito(int idQuarto, String inicio, String fim, int ignorarId) {
+        for (Reserva r : iniciadasAte(idQuarto, fim)) {
+            if (r.getDataFim().compareTo(inicio) < 0) return false;
+            if (r.getId() != ignorarId) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Reserva "sonda" para pesquisar no TreeSet: fica depois de todas as que começam em 'data'.
+     */
+    private static Reserva chave(String data) {
+        return new Reserva(Integer.MAX_VALUE, 0, 0, 0, data, data, true);
+    }
+}
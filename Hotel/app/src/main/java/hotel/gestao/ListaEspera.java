@@ -0,0 +1,279 @@
+package hotel.gestao;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import hotel.metricas.Contador;
+import hotel.metricas.Metricas;
+import hotel.model.Datas;
+import hotel.model.Quarto;
+import hotel.model.Reserva;
+
+/**
+ * Lista de espera das reservas que não couberam em nenhum quarto.
+ * Há uma fila de prioridade por cada combinação (datas, número de hóspedes); as filas estão
+ * num mapa ordenado pela data de início. Quando um quarto fica livre num intervalo, só são vistas
+ * as filas que começam dentro desse intervalo (recuado pela estadia mais longa em espera),
+ * e de cada fila só interessa a cabeça: pedidos iguais não cabem os dois no mesmo quarto.
+ * A promoção em si é feita pela GestaoReservas (que conhece o índice por quarto).
+ * Um pedido expira quando a data de início da estadia já passou (segundo o relógio): como as filas
+ * estão ordenadas pelo início, os expirados são sempre as primeiras e saem sem percorrer as outras.
+ */
+public class ListaEspera {
+
+    private static final int MAX_PROMOCOES_GUARDADAS = 100;
+    private static final Contador N_EXPIRADOS = Metricas.contador("espera.expirados");
+
+    private static final Comparator<PedidoEspera> POR_PRIORIDADE =
+            Comparator.comparingInt(PedidoEspera::getPrioridade).reversed()
+                    .thenComparingLong(PedidoEspera::getOrdemChegada);
+
+    private static final Comparator<Chave> POR_CHAVE =
+            Comparator.comparing((Chave c) -> c.dataInicio)
+                    .thenComparing(c -> c.dataFim)
+                    .thenComparingInt(c -> c.numHospedes);
+
+    private final GestaoQuartos gestaoQuartos;
+    private volatile Relogio relogio = Relogio.SISTEMA;
+    private final TreeMap<Chave, PriorityQueue<PedidoEspera>> filas = new TreeMap<>(POR_CHAVE);
+    private final Map<Integer, PedidoEspera> porId = new HashMap<>();
+    private final Deque<PedidoEspera> promovidos = new ArrayDeque<>(); // Ainda não mostrados ao utilizador
+    private int proximoId = 1;
+    private long ordemChegada;
+    // Quantas filas há de cada duração (em noites): a maior limita a pesquisa para trás. Uma contagem
+    // por duração, e não só o máximo, para o recuo voltar a encolher quando a estadia longa sai da espera.
+    private final TreeMap<Long, Integer> filasPorNoites = new TreeMap<>();
+
+    public ListaEspera(GestaoQuartos gestaoQuartos) {
+        this.gestaoQuartos = gestaoQuartos;
+    }
+
+    /**
+     * Troca a fonte da data atual usada para expirar pedidos.
+     */
+    public void setRelogio(Relogio relogio) {
+        this.relogio = relogio;
+    }
+
+    /**
+     * Coloca um pedido em espera.
+     * @param prioridade quanto maior, mais cedo é atendido (0 = normal).
+     * @return o pedido criado, ou null se as datas forem inválidas ou o início já tiver passado.
+     */
+    public synchronized PedidoEspera adicionar(int idHospede, int numHospedes, String dataInicio, String dataFim, int prioridade) {
+        PedidoEspera pedido = new PedidoEspera(proximoId, idHospede, numHospedes, dataInicio, dataFim,
+                prioridade, ordemChegada);
+        if (!acrescentar(pedido)) return null;
+        proximoId++;
+        ordemChegada++;
+        return pedido;
+    }
+
+    /**
+     * Substitui a espera pelos pedidos lidos do CSV, pela ordem do ficheiro (que é a ordem de chegada).
+     * Os IDs mantêm-se; pedidos com datas inválidas ou já expirados ficam de fora.
+     */
+    public synchronized void carregar(PedidoEspera[] pedidos) {
+        filas.clear();
+        porId.clear();
+        promovidos.clear();
+        filasPorNoites.clear();
+        proximoId = 1;
+        ordemChegada = 0;
+        for (PedidoEspera p : pedidos) {
+            acrescentar(new PedidoEspera(p.getId(), p.getIdHospede(), p.getNumHospedes(),
+                    p.getDataInicio(), p.getDataFim(), p.getPrioridade(), ordemChegada++));
+            proximoId = Math.max(proximoId, p.getId() + 1);
+        }
+    }
+
+    private boolean acrescentar(PedidoEspera pedido) {
+        long noites;
+        try {
+            noites = LocalDate.parse(pedido.getDataFim()).toEpochDay() - LocalDate.parse(pedido.getDataInicio()).toEpochDay();
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+        if (noites < 0 || pedido.getDataInicio().compareTo(relogio.hoje().toString()) < 0) return false;
+
+        Chave chave = new Chave(pedido.getDataInicio(), pedido.getDataFim(), pedido.getNumHospedes());
+        PriorityQueue<PedidoEspera> fila = filas.get(chave);
+        if (fila == null) {
+            fila = new PriorityQueue<>(POR_PRIORIDADE);
+            filas.put(chave, fila);
+            filasPorNoites.merge(noites, 1, Integer::sum);
+        }
+        fila.add(pedido);
+        porId.put(pedido.getId(), pedido);
+        return true;
+    }
+
+    /**
+     * Retira os pedidos cuja estadia devia ter começado antes de hoje: já não há quarto a dar-lhes.
+     * @return quantos pedidos expiraram.
+     */
+    public synchronized int expirar() {
+        String hoje = relogio.hoje().toString();
+        int expirados = 0;
+        while (!filas.isEmpty() && filas.firstKey().dataInicio.compareTo(hoje) < 0) {
+            Map.Entry<Chave, PriorityQueue<PedidoEspera>> fila = filas.pollFirstEntry();
+            filaRemovida(fila.getKey());
+            for (PedidoEspera p : fila.getValue()) {
+                porId.remove(p.getId());
+                expirados++;
+            }
+        }
+        N_EXPIRADOS.somar(expirados);
+        return expirados;
+    }
+
+    /**
+     * Retira um pedido da espera (desistência).
+     */
+    public synchronized boolean cancelar(int idPedido) {
+        PedidoEspera pedido = porId.get(idPedido);
+        if (pedido == null) return false;
+        remover(pedido);
+        return true;
+    }
+
+    /**
+     * Pedidos que podem caber no quarto libertado em [inicio, fim], já pela ordem de promoção:
+     * a cabeça de cada fila com capacidade suficiente cujas datas tocam o intervalo libertado.
+     * Primeiro a prioridade; dentro da mesma prioridade, o que melhor encaixa (mais noites dentro
+     * do intervalo libertado e, depois, menos lugares vazios no quarto); por fim, a ordem de chegada.
+     * Custo: O(log n) para chegar ao intervalo + as filas que lá começam.
+     */
+    synchronized List<PedidoEspera> candidatos(int idQuarto, String inicio, String fim) {
+        List<PedidoEspera> resultado = new ArrayList<>();
+        expirar();
+        Quarto quarto = gestaoQuartos.buscarPorId(idQuarto);
+        if (quarto == null || filas.isEmpty()) return resultado;
+
+        String desde;
+        try {
+            desde = LocalDate.parse(inicio).minusDays(recuoPesquisa()).toString();
+        } catch (DateTimeParseException e) {
+            return resultado;
+        }
+
+        Chave de = new Chave(desde, "", Integer.MIN_VALUE);
+        Chave ate = new Chave(fim, String.valueOf(Character.MAX_VALUE), Integer.MAX_VALUE);
+        for (Map.Entry<Chave, PriorityQueue<PedidoEspera>> e : filas.subMap(de, true, ate, true).entrySet()) {
+            Chave c = e.getKey();
+            if (c.dataFim.compareTo(inicio) < 0) continue;           // Acaba antes do intervalo libertado
+            if (c.numHospedes > quarto.getCapacidade()) continue;    // Não cabe neste quarto
+            resultado.add(e.getValue().peek());
+        }
+
+        int libertadoDe = Datas.dia(inicio);
+        int libertadoAte = Datas.dia(fim);
+        resultado.sort(Comparator.comparingInt(PedidoEspera::getPrioridade).reversed()
+                .thenComparing(Comparator.comparingInt((PedidoEspera p) -> diasDentro(p, libertadoDe, libertadoAte)).reversed())
+                .thenComparingInt(p -> quarto.getCapacidade() - p.getNumHospedes())
+                .thenComparingLong(PedidoEspera::getOrdemChegada));
+        return resultado;
+    }
+
+    /**
+     * Quantos dias do pedido caem dentro do intervalo libertado (a menos de uma constante: só serve para comparar).
+     */
+    private static int diasDentro(PedidoEspera p, int de, int ate) {
+        return Math.min(Datas.dia(p.getDataFim()), ate) - Math.max(Datas.dia(p.getDataInicio()), de);
+    }
+
+    /**
+     * Marca o pedido como promovido a reserva e tira-o da espera.
+     */
+    synchronized void promovido(PedidoEspera pedido, Reserva reserva) {
+        pedido.setReservaPromovida(reserva);
+        remover(pedido);
+        promovidos.addLast(pedido);
+        if (promovidos.size() > MAX_PROMOCOES_GUARDADAS) promovidos.removeFirst();
+    }
+
+    /**
+     * Pedidos promovidos desde a última chamada (para avisar o utilizador), mais antigos primeiro.
+     */
+    public synchronized List<PedidoEspera> retirarPromovidos() {
+        List<PedidoEspera> lista = new ArrayList<>(promovidos);
+        promovidos.clear();
+        return lista;
+    }
+
+    /**
+     * Todos os pedidos em espera, por data de início e depois por ordem de promoção.
+     */
+    public synchronized List<PedidoEspera> listar() {
+        expirar();
+        List<PedidoEspera> lista = new ArrayList<>();
+        for (PriorityQueue<PedidoEspera> fila : filas.values()) {
+            List<PedidoEspera> daFila = new ArrayList<>(fila);
+            daFila.sort(POR_PRIORIDADE);
+            lista.addAll(daFila);
+        }
+        return lista;
+    }
+
+    /**
+     * Pedidos em espera pela ordem de chegada (a ordem em que são gravados e voltam a ser lidos).
+     */
+    public synchronized PedidoEspera[] getPedidosParaSalvar() {
+        expirar();
+        List<PedidoEspera> lista = new ArrayList<>(porId.values());
+        lista.sort(Comparator.comparingLong(PedidoEspera::getOrdemChegada));
+        return lista.toArray(new PedidoEspera[0]);
+    }
+
+    public synchronized int getTotal() {
+        expirar();
+        return porId.size();
+    }
+
+    private void remover(PedidoEspera pedido) {
+        porId.remove(pedido.getId());
+        Chave chave = new Chave(pedido.getDataInicio(), pedido.getDataFim(), pedido.getNumHospedes());
+        PriorityQueue<PedidoEspera> fila = filas.get(chave);
+        if (fila == null) return;
+        fila.remove(pedido);
+        if (fila.isEmpty()) {
+            filas.remove(chave);
+            filaRemovida(chave);
+        }
+    }
+
+    private void filaRemovida(Chave chave) {
+        long noites = Datas.dia(chave.dataFim) - Datas.dia(chave.dataInicio);
+        filasPorNoites.computeIfPresent(noites, (n, total) -> total == 1 ? null : total - 1);
+    }
+
+    /**
+     * Estadia mais longa ainda em espera: quantos dias antes do intervalo libertado começa a pesquisa.
+     */
+    synchronized long recuoPesquisa() {
+        return filasPorNoites.isEmpty() ? 0 : filasPorNoites.lastKey();
+    }
+
+    /**
+     * Identifica uma fila: pedidos com as mesmas datas e o mesmo número de hóspedes.
+     */
+    private static final class Chave {
+        final String dataInicio;
+        final String dataFim;
+        final int numHospedes;
+
+        Chave(String dataInicio, String dataFim, int numHospedes) {
+            this.dataInicio = dataInicio;
+            this.dataFim = dataFim;
+            this.numHospedes = numHospedes;
+        }
+    }
+}
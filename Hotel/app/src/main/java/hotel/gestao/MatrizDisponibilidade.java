@@ -0,0 +1,71 @@
+package hotel.gestao;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import hotel.model.Quarto;
+
+/**
+ * Grelha quartos × dias para o balcão da receção.
+ * Cada quarto guarda um BitSet (bit a 1 = dia reservado), o que ocupa um bit por célula;
+ * também pode ser lida em forma run-length (sequências de dias livres/ocupados).
+ */
+public class MatrizDisponibilidade {
+
+    private final Quarto[] quartos;
+    private final LocalDate inicio;
+    private final int dias;
+    private final BitSet[] ocupados; // Um por quarto, pela mesma ordem de 'quartos'
+
+    MatrizDisponibilidade(Quarto[] quartos, LocalDate inicio, int dias) {
+        this.quartos = quartos;
+        this.inicio = inicio;
+        this.dias = dias;
+        this.ocupados = new BitSet[quartos.length];
+        for (int i = 0; i < quartos.length; i++) {
+            ocupados[i] = new BitSet(dias);
+        }
+    }
+
+    /**
+     * Marca os dias [de, ate] (índices relativos ao início, inclusive) como reservados.
+     */
+    void marcar(int indiceQuarto, int de, int ate) {
+        ocupados[indiceQuarto].set(de, ate + 1);
+    }
+
+    public int getTotalQuartos() { return quartos.length; }
+    public Quarto getQuarto(int indiceQuarto) { return quartos[indiceQuarto]; }
+    public LocalDate getInicio() { return inicio; }
+    public int getDias() { return dias; }
+    public LocalDate getData(int dia) { return inicio.plusDays(dia); }
+
+    public boolean isOcupado(int indiceQuarto, int dia) {
+        return ocupados[indiceQuarto].get(dia);
+    }
+
+    public int getDiasLivres(int indiceQuarto) {
+        return dias - ocupados[indiceQuarto].cardinality();
+    }
+
+    /**
+     * Forma run-length de uma linha: comprimentos alternados, começando SEMPRE por dias livres
+     * (o primeiro valor é 0 se o primeiro dia já estiver ocupado). Ex: [3, 5, 22] = 3 livres, 5 ocupados, 22 livres.
+     */
+    public int[] getRuns(int indiceQuarto) {
+        BitSet linha = ocupados[indiceQuarto];
+        int[] runs = new int[dias + 1];
+        int total = 0;
+        int dia = 0;
+        boolean ocupado = false;
+
+        while (dia < dias) {
+            int proximo = ocupado ? linha.nextClearBit(dia) : linha.nextSetBit(dia);
+            if (proximo < 0 || proximo > dias) proximo = dias;
+            runs[total++] = proximo - dia;
+            dia = proximo;
+            ocupado = !ocupado;
+        }
+        return Arrays.copyOf(runs, total);
+    }
+}
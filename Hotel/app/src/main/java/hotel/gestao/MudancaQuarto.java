@@ -0,0 +1,28 @@
+package hotel.gestao;
+
+/**
+ * Uma linha do plano de realocação: a reserva passa do quarto de origem para o quarto de destino.
+ * As datas são guardadas para confirmar, ao aplicar, que a reserva não mudou entretanto.
+ */
+public class MudancaQuarto {
+
+    private final int idReserva;
+    private final int idQuartoOrigem;
+    private final int idQuartoDestino;
+    private final String dataInicio;
+    private final String dataFim;
+
+    public MudancaQuarto(int idReserva, int idQuartoOrigem, int idQuartoDestino, String dataInicio, String dataFim) {
+        this.idReserva = idReserva;
+        this.idQuartoOrigem = idQuartoOrigem;
+        this.idQuartoDestino = idQuartoDestino;
+        this.dataInicio = dataInicio;
+        this.dataFim = dataFim;
+    }
+
+    public int getIdReserva() { return idReserva; }
+    public int getIdQuartoOrigem() { return idQuartoOrigem; }
+    public int getIdQuartoDestino() { return idQuartoDestino; }
+    public String getDataInicio() { return dataInicio; }
+    public String getDataFim() { return dataFim; }
+}
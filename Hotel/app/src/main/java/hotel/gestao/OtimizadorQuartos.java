@@ -0,0 +1,164 @@
+package hotel.gestao;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import hotel.model.Quarto;
+import hotel.model.Reserva;
+
+/**
+ * Otimizador "offline" da distribuição de reservas pelos quartos.
+ * O Best Fit na altura da reserva só olha para a capacidade, por isso vão ficando buracos pequenos
+ * espalhados por vários quartos e deixa de haver espaço para estadias longas.
+ *
+ * Algoritmo (coloração de um grafo de intervalos com "encaixe justo"):
+ * 1. As reservas já iniciadas (ou passadas) ficam onde estão.
+ * 2. As reservas futuras ativas são retiradas e recolocadas por ordem de início.
+ * 3. Cada uma vai para o quarto com capacidade e sem conflito onde fica mais "encostada" à reserva
+ *    anterior (menor buraco antes dela). Assim as estadias juntam-se em poucos quartos e os outros
+ *    ficam com blocos livres compridos.
+ * O plano só é proposto se melhorar o calendário; caso contrário vem vazio.
+ * Custo: O(n · quartos · log n), poucos milissegundos para milhares de estadias.
+ */
+public class OtimizadorQuartos {
+
+    private OtimizadorQuartos() {}
+
+    /**
+     * Calcula o plano sem alterar nada. Aplicar com {@link GestaoReservas#aplicarRealocacao(PlanoRealocacao, Quarto[])}.
+     * @param hoje só as reservas que começam depois de 'hoje' podem mudar de quarto.
+     */
+    public static PlanoRealocacao planear(Quarto[] quartos, Reserva[] reservas, LocalDate hoje) {
+        long diaHoje = hoje.toEpochDay();
+        Map<Integer, Quarto> quartoPorId = new HashMap<>();
+        Map<Integer, TreeMap<Long, Long>> fixas = new HashMap<>();   // Ocupação que não se mexe
+        Map<Integer, TreeMap<Long, Long>> atuais = new HashMap<>();  // Ocupação atual completa
+        for (Quarto q : quartos) {
+            quartoPorId.put(q.getId(), q);
+            fixas.put(q.getId(), new TreeMap<>());
+            atuais.put(q.getId(), new TreeMap<>());
+        }
+
+        List<Estadia> moveis = new ArrayList<>();
+        long fimHorizonte = diaHoje;
+        for (Reserva r : reservas) {
+            if (!r.isAtiva() || !quartoPorId.containsKey(r.getIdQuarto())) continue;
+            long inicio, fim;
+            try {
+                inicio = LocalDate.parse(r.getDataInicio()).toEpochDay();
+                fim = LocalDate.parse(r.getDataFim()).toEpochDay();
+            } catch (DateTimeParseException e) {
+                continue; // Datas inválidas: a reserva não é tocada nem conta para o calendário
+            }
+            atuais.get(r.getIdQuarto()).put(inicio, fim);
+            fimHorizonte = Math.max(fimHorizonte, fim);
+            if (inicio > diaHoje) {
+                moveis.add(new Estadia(r, inicio, fim));
+            } else {
+                fixas.get(r.getIdQuarto()).put(inicio, fim);
+            }
+        }
+
+        // Quartos mais pequenos primeiro: em caso de empate, deixa os grandes livres para grupos
+        List<Quarto> ordemQuartos = new ArrayList<>(quartoPorId.values());
+        ordemQuartos.sort(Comparator.comparingInt(Quarto::getCapacidade).thenComparingInt(Quarto::getId));
+
+        // Por ordem de início; no mesmo dia, as estadias mais longas primeiro (são as mais difíceis de encaixar)
+        moveis.sort(Comparator.comparingLong((Estadia e) -> e.inicio)
+                .thenComparingLong(e -> -(e.fim - e.inicio))
+                .thenComparingInt(e -> e.reserva.getId()));
+
+        List<MudancaQuarto> mudancas = new ArrayList<>();
+        for (Estadia e : moveis) {
+            Quarto destino = null;
+            long menorBuraco = Long.MAX_VALUE;
+            for (Quarto q : ordemQuartos) {
+                if (q.getCapacidade() < e.reserva.getNumeroHospedes()) continue;
+                TreeMap<Long, Long> ocupacao = fixas.get(q.getId());
+                if (temConflito(ocupacao, e.inicio, e.fim)) continue;
+
+                Map.Entry<Long, Long> anterior = ocupacao.lowerEntry(e.inicio);
+                long buraco = e.inicio - (anterior != null ? anterior.getValue() : diaHoje);
+                // Em empate, ficar no quarto atual evita mudanças desnecessárias
+                if (buraco < menorBuraco || (buraco == menorBuraco && q.getId() == e.reserva.getIdQuarto())) {
+                    destino = q;
+                    menorBuraco = buraco;
+                }
+            }
+
+            if (destino == null) {
+                // Não encaixou em nenhum quarto (os anteriores ocuparam o espaço): o plano não serve
+                return new PlanoRealocacao(new ArrayList<>(), 0, 0, 0, 0);
+            }
+            fixas.get(destino.getId()).put(e.inicio, e.fim);
+            if (destino.getId() != e.reserva.getIdQuarto()) {
+                mudancas.add(new MudancaQuarto(e.reserva.getId(), e.reserva.getIdQuarto(), destino.getId(),
+                        e.reserva.getDataInicio(), e.reserva.getDataFim()));
+            }
+        }
+
+        // Avalia antes/depois entre amanhã e o dia seguinte à última reserva
+        long de = diaHoje + 1;
+        long ate = fimHorizonte + 1;
+        long[] antes = avaliar(atuais, de, ate);
+        long[] depois = avaliar(fixas, de, ate);
+
+        // Soma dos quadrados dos blocos livres: premeia poucos blocos compridos em vez de muitos curtos
+        if (depois[2] <= antes[2]) mudancas.clear();
+        if (mudancas.isEmpty()) depois = antes;
+        return new PlanoRealocacao(mudancas, (int) antes[0], (int) depois[0], (int) antes[1], (int) depois[1]);
+    }
+
+    /**
+     * Intervalos do mesmo quarto não se sobrepõem, por isso basta ver o que começa até 'fim'.
+     */
+    private static boolean temConflito(TreeMap<Long, Long> ocupacao, long inicio, long fim) {
+        Map.Entry<Long, Long> anterior = ocupacao.floorEntry(fim);
+        return anterior != null && anterior.getValue() >= inicio;
+    }
+
+    /**
+     * Blocos livres de todos os quartos em [de, ate]: {maior bloco, número de blocos, soma dos quadrados}.
+     */
+    private static long[] avaliar(Map<Integer, TreeMap<Long, Long>> ocupacao, long de, long ate) {
+        long maior = 0, blocos = 0, somaQuadrados = 0;
+        for (TreeMap<Long, Long> doQuarto : ocupacao.values()) {
+            long livreDesde = de;
+            for (Map.Entry<Long, Long> e : doQuarto.entrySet()) {
+                if (e.getValue() < de) continue;
+                if (e.getKey() > ate) break;
+                long bloco = e.getKey() - livreDesde;
+                if (bloco > 0) {
+                    maior = Math.max(maior, bloco);
+                    blocos++;
+                    somaQuadrados += bloco * bloco;
+                }
+                livreDesde = Math.max(livreDesde, e.getValue() + 1);
+            }
+            long bloco = ate - livreDesde + 1;
+            if (bloco > 0) {
+                maior = Math.max(maior, bloco);
+                blocos++;
+                somaQuadrados += bloco * bloco;
+            }
+        }
+        return new long[]{maior, blocos, somaQuadrados};
+    }
+
+    private static final class Estadia {
+        final Reserva reserva;
+        final long inicio;
+        final long fim;
+
+        Estadia(Reserva reserva, long inicio, long fim) {
+            this.reserva = reserva;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package hotel.gestao;
+
+import hotel.model.Hospede;
+
+/**
+ * Recebe as alterações feitas aos hóspedes (anterior é null quando o hóspede é novo).
+ * É chamado dentro da escrita, por isso deve ser rápido e não pode falhar.
+ */
+public interface OuvinteHospedes {
+    void hospedeAlterado(Hospede anterior, Hospede atual);
+
+    /**
+     * Chamado dentro da escrita, antes de qualquer alteração: é o único ponto em que um ouvinte pode
+     * recusar a operação (lançando uma exceção), porque ainda nada mudou.
+     */
+    default void antesDeAlterarHospede() {}
+
+    /**
+     * A tabela inteira foi substituída (carregamento do CSV ou de um snapshot de replicação).
+     */
+    default void hospedesCarregados(Hospede[] hospedes, int total) {}
+}
@@ -0,0 +1,12 @@
+package hotel.gestao;
+
+import hotel.model.Quarto;
+
+/**
+ * Recebe a substituição da tabela de quartos (carregamento do CSV).
+ * As alterações feitas a um Quarto existente (número, capacidade, ocupação) são feitas no próprio objeto,
+ * por isso quem guarda a referência já as vê; só a troca dos objetos precisa de ser avisada.
+ */
+public interface OuvinteQuartos {
+    void quartosCarregados(Quarto[] quartos, int total);
+}
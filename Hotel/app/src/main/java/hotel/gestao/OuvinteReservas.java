@@ -0,0 +1,25 @@
+package hotel.gestao;
+
+import hotel.model.Reserva;
+
+/**
+ * Recebe as alterações feitas às reservas, pela ordem em que acontecem.
+ * Como cada alteração cria uma nova versão do registo, o ouvinte recebe as duas:
+ * a anterior (null numa criação) e a atual (com ativa=false num cancelamento).
+ * É chamado dentro da escrita, por isso deve ser rápido e não pode falhar.
+ */
+public interface OuvinteReservas {
+    void reservaAlterada(Reserva anterior, Reserva atual);
+
+    /**
+     * Chamado dentro da escrita, antes de qualquer alteração: é o único ponto em que um ouvinte pode
+     * recusar a operação (lançando uma exceção), porque ainda nada mudou.
+     */
+    default void antesDeAlterarReserva() {}
+
+    /**
+     * A tabela inteira foi substituída (carregamento do CSV ou de um snapshot de replicação).
+     * Quem mantém estado derivado deve reconstruí-lo a partir destes registos.
+     */
+    default void reservasCarregadas(Reserva[] reservas, int total) {}
+}
@@ -0,0 +1,55 @@
+package hotel.gestao;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Uma página de uma listagem: só os registos visíveis, mais o necessário para navegar.
+ * O cursor é a posição do primeiro registo da página na listagem completa.
+ */
+public final class Pagina<T> {
+
+    private final List<T> itens;
+    private final int cursor;  // Posição do primeiro item da página
+    private final int tamanho; // Tamanho pedido (a última página pode ter menos itens)
+    private final int total;   // Total de registos na listagem completa
+
+    public Pagina(List<T> itens, int cursor, int tamanho, int total) {
+        this.itens = itens;
+        this.cursor = cursor;
+        this.tamanho = tamanho;
+        this.total = total;
+    }
+
+    /**
+     * Página de uma listagem que já está em memória (ex: resultados filtrados).
+     */
+    public static <T> Pagina<T> de(T[] todos, int cursor, int tamanho) {
+        int inicio = ajustarCursor(cursor, tamanho, todos.length);
+        int fim = Math.min(inicio + tamanho, todos.length);
+        return new Pagina<>(Arrays.asList(Arrays.copyOfRange(todos, inicio, fim)), inicio, tamanho, todos.length);
+    }
+
+    /**
+     * Mantém o cursor dentro da listagem (um cursor para além do fim vai para a última página).
+     */
+    static int ajustarCursor(int cursor, int tamanho, int total) {
+        if (cursor >= total) cursor = Math.max(0, (total - 1) / tamanho * tamanho);
+        return Math.max(0, cursor);
+    }
+
+    public List<T> getItens() { return itens; }
+    public int getCursor() { return cursor; }
+    public int getTamanho() { return tamanho; }
+    public int getTotal() { return total; }
+
+    public boolean temSeguinte() { return cursor + tamanho < total; }
+    public boolean temAnterior() { return cursor > 0; }
+    public int getCursorSeguinte() { return cursor + tamanho; }
+    public int getCursorAnterior() { return Math.max(0, cursor - tamanho); }
+
+    /** Número da página (a contar de 1). */
+    public int getNumero() { return cursor / tamanho + 1; }
+
+    public int getTotalPaginas() { return Math.max(1, (total + tamanho - 1) / tamanho); }
+}
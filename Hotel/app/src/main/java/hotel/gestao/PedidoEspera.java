@@ -0,0 +1,48 @@
+package hotel.gestao;
+
+import hotel.model.Reserva;
+
+/**
+ * Pedido de reserva que não coube em nenhum quarto e ficou na lista de espera.
+ * Quanto maior a prioridade, mais cedo é promovido; com a mesma prioridade, vale a ordem de chegada.
+ */
+public class PedidoEspera {
+
+    private final int id;
+    private final int idHospede;
+    private final int numHospedes;
+    private final String dataInicio;
+    private final String dataFim;
+    private final int prioridade;
+    private final long ordemChegada;
+    private volatile Reserva reservaPromovida; // Preenchida quando o pedido passa a reserva
+
+    /**
+     * Pedido lido do CSV: a ordem de chegada é atribuída pela ListaEspera ao carregar.
+     */
+    public PedidoEspera(int id, int idHospede, int numHospedes, String dataInicio, String dataFim, int prioridade) {
+        this(id, idHospede, numHospedes, dataInicio, dataFim, prioridade, 0);
+    }
+
+    PedidoEspera(int id, int idHospede, int numHospedes, String dataInicio, String dataFim,
+                 int prioridade, long ordemChegada) {
+        this.id = id;
+        this.idHospede = idHospede;
+        this.numHospedes = numHospedes;
+        this.dataInicio = dataInicio;
+        this.dataFim = dataFim;
+        this.prioridade = prioridade;
+        this.ordemChegada = ordemChegada;
+    }
+
+    public int getId() { return id; }
+    public int getIdHospede() { return idHospede; }
+    public int getNumHospedes() { return numHospedes; }
+    public String getDataInicio() { return dataInicio; }
+    public String getDataFim() { return dataFim; }
+    public int getPrioridade() { return prioridade; }
+    public long getOrdemChegada() { return ordemChegada; }
+    public Reserva getReservaPromovida() { return reservaPromovida; }
+
+    void setReservaPromovida(Reserva reserva) { this.reservaPromovida = reserva; }
+}
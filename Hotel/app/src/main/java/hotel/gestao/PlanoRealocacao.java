@@ -0,0 +1,32 @@
+package hotel.gestao;
+
+import java.util.List;
+
+/**
+ * Resultado do otimizador: as mudanças de quarto propostas e o efeito no calendário.
+ * Um plano sem mudanças significa que a distribuição atual já é a melhor encontrada.
+ */
+public class PlanoRealocacao {
+
+    private final List<MudancaQuarto> mudancas;
+    private final int maiorBlocoAntes;   // Maior sequência de dias livres num quarto, antes do plano
+    private final int maiorBlocoDepois;
+    private final int blocosAntes;       // Número de períodos livres separados (fragmentação)
+    private final int blocosDepois;
+
+    public PlanoRealocacao(List<MudancaQuarto> mudancas, int maiorBlocoAntes, int maiorBlocoDepois,
+                           int blocosAntes, int blocosDepois) {
+        this.mudancas = mudancas;
+        this.maiorBlocoAntes = maiorBlocoAntes;
+        this.maiorBlocoDepois = maiorBlocoDepois;
+        this.blocosAntes = blocosAntes;
+        this.blocosDepois = blocosDepois;
+    }
+
+    public List<MudancaQuarto> getMudancas() { return mudancas; }
+    public boolean isVazio() { return mudancas.isEmpty(); }
+    public int getMaiorBlocoAntes() { return maiorBlocoAntes; }
+    public int getMaiorBlocoDepois() { return maiorBlocoDepois; }
+    public int getBlocosAntes() { return blocosAntes; }
+    public int getBlocosDepois() { return blocosDepois; }
+}
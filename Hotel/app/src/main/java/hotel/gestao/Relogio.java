@@ -0,0 +1,29 @@
+package hotel.gestao;
+
+import java.time.LocalDate;
+
+/**
+ * Fonte do "hoje" do motor (ocupação atual, ocupante de um quarto, chegadas do dia, calendário).
+ * As gestões nunca chamam LocalDate.now() diretamente: com um relógio fixo, o comportamento que
+ * depende da data pode ser reproduzido e verificado para qualquer dia.
+ */
+@FunctionalInterface
+public interface Relogio {
+
+    LocalDate hoje();
+
+    /**
+     * Relógio por omissão: a data do sistema, ou a data fixa de -Dhotel.hoje=YYYY-MM-DD
+     * (útil para correr a aplicação inteira "como se fosse" outro dia).
+     */
+    Relogio SISTEMA = System.getProperty("hotel.hoje") != null
+            ? fixo(LocalDate.parse(System.getProperty("hotel.hoje")))
+            : LocalDate::now;
+
+    /**
+     * Relógio parado numa data.
+     */
+    static Relogio fixo(LocalDate data) {
+        return () -> data;
+    }
+}
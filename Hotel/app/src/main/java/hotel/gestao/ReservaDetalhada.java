@@ -0,0 +1,32 @@
+package hotel.gestao;
+
+import hotel.model.Hospede;
+import hotel.model.Quarto;
+import hotel.model.Reserva;
+
+/**
+ * Uma reserva já "juntada" com o quarto e o hóspede a que pertence.
+ * É imutável: quando a reserva ou o hóspede mudam, a VistaReservas substitui a entrada inteira.
+ */
+public final class ReservaDetalhada {
+
+    private final Reserva reserva;
+    private final Quarto quarto;   // null se o quarto não existir
+    private final Hospede hospede; // null se o hóspede não existir (ainda)
+
+    ReservaDetalhada(Reserva reserva, Quarto quarto, Hospede hospede) {
+        this.reserva = reserva;
+        this.quarto = quarto;
+        this.hospede = hospede;
+    }
+
+    public Reserva getReserva() { return reserva; }
+    public Quarto getQuarto() { return quarto; }
+    public Hospede getHospede() { return hospede; }
+
+    /** Número do quarto, ou 0 se o quarto não existir. */
+    public int getNumeroQuarto() { return quarto != null ? quarto.getNumero() : 0; }
+
+    /** Nome do hóspede, ou "N/A" se o hóspede não existir. */
+    public String getNomeHospede() { return hospede != null ? hospede.getNome() : "N/A"; }
+}
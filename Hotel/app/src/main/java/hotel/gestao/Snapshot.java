@@ -0,0 +1,60 @@
+package hotel.gestao;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Vista "congelada" (point-in-time) de uma tabela em memória.
+ * Obter um snapshot é O(1): partilha o array da versão atual em vez de o copiar.
+ * Enquanto existirem leitores abertos, a gestão copia o array antes de escrever (copy-on-write),
+ * por isso quem lê nunca vê uma alteração a meio da iteração e nunca bloqueia quem escreve.
+ * Usar com try-with-resources: ao fechar, a versão antiga fica livre para o Garbage Collector.
+ */
+public final class Snapshot<T> implements AutoCloseable {
+
+    private final T[] dados;              // Array partilhado com a versão em que o snapshot foi tirado
+    private final int total;              // Número de registos válidos nesse momento
+    private final AtomicInteger leitores; // Contador de leitores da versão (partilhado com a gestão)
+    private boolean fechado;
+
+    Snapshot(T[] dados, int total, AtomicInteger leitores) {
+        this.dados = dados;
+        this.total = total;
+        this.leitores = leitores;
+        leitores.incrementAndGet();
+    }
+
+    public int getTotal() { return total; }
+
+    public T get(int indice) {
+        if (indice < 0 || indice >= total) throw new IndexOutOfBoundsException(indice);
+        return dados[indice];
+    }
+
+    /**
+     * Retorna uma cópia dos registos visíveis neste snapshot.
+     */
+    public T[] listar() {
+        return Arrays.copyOf(dados, total);
+    }
+
+    /**
+     * Copia apenas os registos de uma página, a partir da posição 'cursor'.
+     */
+    public Pagina<T> pagina(int cursor, int tamanho) {
+        int inicio = Pagina.ajustarCursor(cursor, tamanho, total);
+        int fim = Math.min(inicio + tamanho, total);
+        return new Pagina<>(Arrays.asList(Arrays.copyOfRange(dados, inicio, fim)), inicio, tamanho, total);
+    }
+
+    /**
+     * Liberta a versão. Depois do último leitor fechar, as escritas voltam a ser feitas no próprio array.
+     */
+    @Override
+    public void close() {
+        if (!fechado) {
+            fechado = true;
+            leitores.decrementAndGet();
+        }
+    }
+}
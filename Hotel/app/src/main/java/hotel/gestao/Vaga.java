@@ -0,0 +1,24 @@
+package hotel.gestao;
+
+import java.time.LocalDate;
+import hotel.model.Quarto;
+
+/**
+ * Resultado da pesquisa de vagas: um quarto livre para a estadia completa a partir de uma data.
+ */
+public class Vaga {
+
+    private final Quarto quarto;
+    private final LocalDate dataInicio;
+    private final LocalDate dataFim;
+
+    public Vaga(Quarto quarto, LocalDate dataInicio, LocalDate dataFim) {
+        this.quarto = quarto;
+        this.dataInicio = dataInicio;
+        this.dataFim = dataFim;
+    }
+
+    public Quarto getQuarto() { return quarto; }
+    public LocalDate getDataInicio() { return dataInicio; }
+    public LocalDate getDataFim() { return dataFim; }
+}
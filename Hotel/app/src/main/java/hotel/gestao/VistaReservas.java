@@ -0,0 +1,147 @@
+package hotel.gestao;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import hotel.model.Hospede;
+import hotel.model.Quarto;
+import hotel.model.Reserva;
+
+/**
+ * Vista desnormalizada das reservas: cada reserva guarda já as referências ao seu Quarto e Hóspede.
+ * É mantida pelas notificações das gestões (reservas criadas/editadas/canceladas, hóspedes editados
+ * e quartos recarregados),
+ * por isso as listagens, relatórios e exportações não precisam de procurar o quarto e o hóspede
+ * linha a linha: cada reserva custa um único acesso a um mapa.
+ * As leituras não bloqueiam; as atualizações são serializadas pela própria vista.
+ */
+public class VistaReservas implements OuvinteReservas, OuvinteHospedes, OuvinteQuartos {
+
+    private final Map<Integer, ReservaDetalhada> porReserva = new ConcurrentHashMap<>();
+    private final Map<Integer, Quarto> quartos = new ConcurrentHashMap<>();
+    private final Map<Integer, Hospede> hospedes = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Integer>> reservasDoHospede = new ConcurrentHashMap<>(); // Para propagar edições do hóspede
+
+    /**
+     * Começa com os quartos que a gestão já tiver; para acompanhar recarregamentos tem de ficar
+     * registada como ouvinte da GestaoQuartos.
+     */
+    public VistaReservas(GestaoQuartos gestaoQuartos) {
+        for (Quarto q : gestaoQuartos.listarTodos()) {
+            quartos.put(q.getId(), q);
+        }
+    }
+
+    @Override
+    public synchronized void reservaAlterada(Reserva anterior, Reserva atual) {
+        if (anterior != null && anterior.getIdHospede() != atual.getIdHospede()) {
+            Set<Integer> doAnterior = reservasDoHospede.get(anterior.getIdHospede());
+            if (doAnterior != null) doAnterior.remove(anterior.getId());
+        }
+        juntar(atual);
+    }
+
+    @Override
+    public synchronized void reservasCarregadas(Reserva[] reservas, int total) {
+        porReserva.clear();
+        reservasDoHospede.clear();
+        for (int i = 0; i < total; i++) {
+            juntar(reservas[i]);
+        }
+    }
+
+    /**
+     * Um hóspede mudou: as entradas das suas reservas passam a apontar para a nova versão.
+     */
+    @Override
+    public synchronized void hospedeAlterado(Hospede anterior, Hospede atual) {
+        hospedes.put(atual.getId(), atual);
+        Set<Integer> ids = reservasDoHospede.get(atual.getId());
+        if (ids == null) return;
+        for (int idReserva : ids) {
+            ReservaDetalhada antiga = porReserva.get(idReserva);
+            if (antiga != null) {
+                porReserva.put(idReserva, new ReservaDetalhada(antiga.getReserva(), antiga.getQuarto(), atual));
+            }
+        }
+    }
+
+    @Override
+    public synchronized void hospedesCarregados(Hospede[] lista, int total) {
+        hospedes.clear();
+        for (int i = 0; i < total; i++) {
+            hospedes.put(lista[i].getId(), lista[i]);
+        }
+        // Se as reservas já estavam carregadas (ex: snapshot de replicação), volta a juntá-las
+        for (ReservaDetalhada d : new ArrayList<>(porReserva.values())) {
+            juntar(d.getReserva());
+        }
+    }
+
+    /**
+     * Os quartos foram trocados por objetos novos: as entradas passam a apontar para eles.
+     */
+    @Override
+    public synchronized void quartosCarregados(Quarto[] lista, int total) {
+        quartos.clear();
+        for (int i = 0; i < total; i++) {
+            quartos.put(lista[i].getId(), lista[i]);
+        }
+        for (ReservaDetalhada d : new ArrayList<>(porReserva.values())) {
+            porReserva.put(d.getReserva().getId(),
+                    new ReservaDetalhada(d.getReserva(), quartos.get(d.getReserva().getIdQuarto()), d.getHospede()));
+        }
+    }
+
+    private void juntar(Reserva r) {
+        Quarto quarto = quartos.get(r.getIdQuarto());
+        porReserva.put(r.getId(), new ReservaDetalhada(r, quarto, hospedes.get(r.getIdHospede())));
+        reservasDoHospede.computeIfAbsent(r.getIdHospede(), k -> new HashSet<>()).add(r.getId());
+    }
+
+    /**
+     * Entrada atual de uma reserva, ou null se não existir.
+     */
+    public ReservaDetalhada obter(int idReserva) {
+        return porReserva.get(idReserva);
+    }
+
+    /**
+     * Junta uma reserva (por exemplo, de um snapshot ou página) com o seu quarto e hóspede.
+     * Se a versão da reserva for diferente da que está na vista, é mantida a versão pedida.
+     */
+    public ReservaDetalhada detalhar(Reserva r) {
+        ReservaDetalhada d = porReserva.get(r.getId());
+        if (d == null) return new ReservaDetalhada(r, null, null);
+        if (d.getReserva() == r) return d;
+        return new ReservaDetalhada(r, d.getQuarto(), d.getHospede());
+    }
+
+    public List<ReservaDetalhada> detalhar(List<Reserva> reservas) {
+        List<ReservaDetalhada> resultado = new ArrayList<>(reservas.size());
+        for (Reserva r : reservas) resultado.add(detalhar(r));
+        return resultado;
+    }
+
+    public ReservaDetalhada[] detalhar(Reserva[] reservas) {
+        ReservaDetalhada[] resultado = new ReservaDetalhada[reservas.length];
+        for (int i = 0; i < reservas.length; i++) resultado[i] = detalhar(reservas[i]);
+        return resultado;
+    }
+
+    /**
+     * Todas as entradas, por ordem de ID de reserva (para relatórios e exportações).
+     */
+    public List<ReservaDetalhada> listarTodas() {
+        List<ReservaDetalhada> lista = new ArrayList<>(porReserva.values());
+        lista.sort((a, b) -> Integer.compare(a.getReserva().getId(), b.getReserva().getId()));
+        return lista;
+    }
+
+    public int getTotal() {
+        return porReserva.size();
+    }
+}
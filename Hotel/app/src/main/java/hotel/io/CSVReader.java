@@ -1,9 +1,14 @@
 package hotel.io;
 
+import hotel.metricas.Contador;
+import hotel.metricas.Histograma;
+import hotel.metricas.Metricas;
+import hotel.gestao.PedidoEspera;
 import hotel.model.*;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 
 /**
@@ -14,13 +19,21 @@ public class CSVReader {
 
     private static final String DATA_DIR = "data"; // Pasta onde o programa guarda alterações
 
+    private static final Histograma T_QUARTOS = Metricas.histograma("csv.lerQuartos");
+    private static final Histograma T_HOSPEDES = Metricas.histograma("csv.lerHospedes");
+    private static final Histograma T_RESERVAS = Metricas.histograma("csv.lerReservas");
+    private static final Histograma T_TARIFAS = Metricas.histograma("csv.lerTarifas");
+    private static final Histograma T_ESPERA = Metricas.histograma("csv.lerEspera");
+    private static final List<String> DIAS_SEMANA = List.of("SEG", "TER", "QUA", "QUI", "SEX", "SAB", "DOM");
+    private static final Contador N_REGISTOS = Metricas.contador("csv.registosLidos");
+
     /**
      * Helper para abrir fluxos de leitura.
-     * 1. Procura na pasta 'data' (ficheiros persistidos pelo utilizador).
+     * 1. Procura na pasta de dados (ficheiros persistidos pelo utilizador).
      * 2. Se não existir, tenta ler do ficheiro original nos recursos do projeto.
      */
-    private static BufferedReader criarBufferedReader(String nomeFicheiro) throws IOException {
-        File dataFile = new File(DATA_DIR, nomeFicheiro);
+    private static BufferedReader criarBufferedReader(String pasta, String nomeFicheiro) throws IOException {
+        File dataFile = new File(pasta, nomeFicheiro);
 
         // Se o ficheiro existe na pasta 'data', abrimos esse (tem os dados mais recentes)
         if (dataFile.exists()) {
@@ -40,34 +53,45 @@ public class CSVReader {
      * Converte o CSV de quartos em objetos Quarto.
      */
     public static Quarto[] lerQuartos(String caminho) {
+        return lerQuartos(DATA_DIR, caminho);
+    }
+
+    /**
+     * Variante com pasta de dados explícita (cada propriedade do grupo tem a sua).
+     */
+    public static Quarto[] lerQuartos(String pasta, String caminho) {
+        long inicio = System.nanoTime();
         List<Quarto> lista = new ArrayList<>();
-        try (BufferedReader br = criarBufferedReader(caminho)) {
+        try (BufferedReader br = criarBufferedReader(pasta, caminho)) {
             if (br == null) return new Quarto[0];
 
             String linha;
-            boolean primeiraLinha = true;
+            int numeroLinha = 0;
 
             while ((linha = br.readLine()) != null) {
+                numeroLinha++;
                 // Ignora o cabeçalho (ex: id,numero,capacidade...)
-                if (primeiraLinha) {
-                    primeiraLinha = false;
-                    if (linha.toLowerCase().startsWith("id")) continue;
-                }
+                if (numeroLinha == 1 && linha.toLowerCase().startsWith("id")) continue;
                 if (linha.trim().isEmpty()) continue; // Ignora linhas em branco
 
                 String[] c = parseLinha(linha);
-                if (c.length >= 4) {
+                if (c.length < 4) continue;
+                try {
                     lista.add(new Quarto(
                             Integer.parseInt(c[0].trim()), // ID
                             Integer.parseInt(c[1].trim()), // Número
                             Integer.parseInt(c[2].trim()), // Capacidade
                             Boolean.parseBoolean(c[3].trim()) // Ocupado
                     ));
+                } catch (RuntimeException e) {
+                    System.err.println("⚠️ Quarto ignorado (linha " + numeroLinha + "): " + linha);
                 }
             }
-        } catch (Exception e) {
+        } catch (IOException e) {
             System.err.println("❌ Erro ao ler Quartos: " + e.getMessage());
         }
+        T_QUARTOS.registarDesde(inicio);
+        N_REGISTOS.somar(lista.size());
         return lista.toArray(new Quarto[0]);
     }
 
@@ -75,30 +99,44 @@ public class CSVReader {
      * Converte o CSV de hóspedes em objetos Hospede.
      */
     public static Hospede[] lerHospedes(String caminho) {
+        return lerHospedes(DATA_DIR, caminho);
+    }
+
+    /**
+     * Variante com pasta de dados explícita (cada propriedade do grupo tem a sua).
+     * Nomes repetidos ficam a apontar para a mesma String (há muitos homónimos em hotéis grandes).
+     */
+    public static Hospede[] lerHospedes(String pasta, String caminho) {
+        long inicio = System.nanoTime();
         List<Hospede> lista = new ArrayList<>();
-        try (BufferedReader br = criarBufferedReader(caminho)) {
+        HashMap<String, String> nomes = new HashMap<>();
+        try (BufferedReader br = criarBufferedReader(pasta, caminho)) {
             if (br == null) return new Hospede[0];
 
             String linha;
-            boolean primeiraLinha = true;
+            int numeroLinha = 0;
             while ((linha = br.readLine()) != null) {
-                if (primeiraLinha && linha.toLowerCase().startsWith("id")) {
-                    primeiraLinha = false; continue;
-                }
+                numeroLinha++;
+                if (numeroLinha == 1 && linha.toLowerCase().startsWith("id")) continue;
                 if (linha.trim().isEmpty()) continue;
 
                 String[] c = parseLinha(linha);
-                if (c.length >= 3) {
+                if (c.length < 3) continue;
+                try {
                     lista.add(new Hospede(
                             Integer.parseInt(c[0].trim()), // ID
-                            c[1].trim(),                   // Nome
+                            partilhar(nomes, c[1].trim()), // Nome
                             c[2].trim()                    // Documento
                     ));
+                } catch (RuntimeException e) {
+                    System.err.println("⚠️ Hóspede ignorado (linha " + numeroLinha + "): " + linha);
                 }
             }
-        } catch (Exception e) {
+        } catch (IOException e) {
             System.err.println("❌ Erro ao ler Hóspedes: " + e.getMessage());
         }
+        T_HOSPEDES.registarDesde(inicio);
+        N_REGISTOS.somar(lista.size());
         return lista.toArray(new Hospede[0]);
     }
 
@@ -106,20 +144,29 @@ public class CSVReader {
      * Converte o CSV de reservas em objetos Reserva.
      */
     public static Reserva[] lerReservas(String caminho) {
+        return lerReservas(DATA_DIR, caminho);
+    }
+
+    /**
+     * Variante com pasta de dados explícita (cada propriedade do grupo tem a sua).
+     */
+    public static Reserva[] lerReservas(String pasta, String caminho) {
+        long inicio = System.nanoTime();
         List<Reserva> lista = new ArrayList<>();
-        try (BufferedReader br = criarBufferedReader(caminho)) {
+        try (BufferedReader br = criarBufferedReader(pasta, caminho)) {
             if (br == null) return new Reserva[0];
 
             String linha;
-            boolean primeiraLinha = true;
+            int numeroLinha = 0;
             while ((linha = br.readLine()) != null) {
-                if (primeiraLinha && linha.toLowerCase().startsWith("id")) {
-                    primeiraLinha = false; continue;
-                }
+                numeroLinha++;
+                if (numeroLinha == 1 && linha.toLowerCase().startsWith("id")) continue;
                 if (linha.trim().isEmpty()) continue;
 
                 String[] c = parseLinha(linha);
-                if (c.length >= 7) {
+                if (c.length < 7) continue;
+                try {
+                    // Datas e números são validados aqui: uma linha estragada não pode levar consigo o resto
                     lista.add(new Reserva(
                             Integer.parseInt(c[0].trim()), // ID
                             Integer.parseInt(c[1].trim()), // ID Quarto
@@ -129,14 +176,126 @@ public class CSVReader {
                             c[5].trim(),                   // Data Fim
                             Boolean.parseBoolean(c[6].trim()) // Ativa
                     ));
+                } catch (RuntimeException e) {
+                    System.err.println("⚠️ Reserva ignorada (linha " + numeroLinha + "): " + linha);
                 }
             }
-        } catch (Exception e) {
+        } catch (IOException e) {
             System.err.println("❌ Erro ao ler Reservas: " + e.getMessage());
         }
+        T_RESERVAS.registarDesde(inicio);
+        N_REGISTOS.somar(lista.size());
         return lista.toArray(new Reserva[0]);
     }
 
+    /**
+     * Converte o CSV do calendário de tarifas em regras, pela ordem do ficheiro:
+     *   tipo,inicio,fim,preco[,dias]
+     * tipo = capacidade do quarto ou '*'; preco = euros por noite (ex: 120.00) ou fator (ex: x1.25);
+     * dias (opcional) = dias da semana da noite separados por '|' (SEG|TER|QUA|QUI|SEX|SAB|DOM).
+     */
+    public static Tarifa[] lerTarifas(String pasta, String caminho) {
+        long inicio = System.nanoTime();
+        List<Tarifa> lista = new ArrayList<>();
+        try (BufferedReader br = criarBufferedReader(pasta, caminho)) {
+            if (br == null) return new Tarifa[0];
+
+            String linha;
+            int numeroLinha = 0;
+            while ((linha = br.readLine()) != null) {
+                numeroLinha++;
+                if (numeroLinha == 1 && linha.toLowerCase().startsWith("tipo")) continue;
+                if (linha.trim().isEmpty() || linha.startsWith("#")) continue;
+
+                String[] c = parseLinha(linha);
+                if (c.length < 4) continue;
+                try {
+                    String tipo = c[0].trim();
+                    String preco = c[3].trim();
+                    boolean fator = preco.startsWith("x");
+                    lista.add(new Tarifa(
+                            tipo.equals("*") ? Tarifa.TODOS_OS_TIPOS : Integer.parseInt(tipo), // Tipo (capacidade)
+                            c[1].trim(),                                                       // Primeira noite
+                            c[2].trim(),                                                       // Última noite
+                            fator ? 0 : Math.round(Double.parseDouble(preco) * 100),          // Preço em cêntimos
+                            fator ? Double.parseDouble(preco.substring(1)) : 0,               // Fator
+                            c.length >= 5 ? diasDaSemana(c[4].trim()) : 0                      // Dias da semana
+                    ));
+                } catch (RuntimeException e) {
+                    // Uma regra estragada fica de fora; as outras continuam a valer
+                    System.err.println("⚠️ Tarifa ignorada (linha " + numeroLinha + "): " + linha);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Erro ao ler Tarifas: " + e.getMessage());
+        }
+        T_TARIFAS.registarDesde(inicio);
+        N_REGISTOS.somar(lista.size());
+        return lista.toArray(new Tarifa[0]);
+    }
+
+    /**
+     * Converte o CSV da lista de espera em pedidos, pela ordem do ficheiro (a ordem de chegada).
+     * Este ficheiro só existe na pasta de dados: sem ele, a espera começa vazia.
+     */
+    public static PedidoEspera[] lerEspera(String pasta, String caminho) {
+        long inicio = System.nanoTime();
+        List<PedidoEspera> lista = new ArrayList<>();
+        try (BufferedReader br = criarBufferedReader(pasta, caminho)) {
+            if (br == null) return new PedidoEspera[0];
+
+            String linha;
+            int numeroLinha = 0;
+            while ((linha = br.readLine()) != null) {
+                numeroLinha++;
+                if (numeroLinha == 1 && linha.toLowerCase().startsWith("id")) continue;
+                if (linha.trim().isEmpty()) continue;
+
+                String[] c = parseLinha(linha);
+                try {
+                    lista.add(new PedidoEspera(
+                            Integer.parseInt(c[0].trim()), // ID
+                            Integer.parseInt(c[1].trim()), // ID Hospede
+                            Integer.parseInt(c[2].trim()), // Num Hospedes
+                            c[3].trim(),                   // Data Inicio
+                            c[4].trim(),                   // Data Fim
+                            Integer.parseInt(c[5].trim())  // Prioridade
+                    ));
+                } catch (RuntimeException e) {
+                    // Uma linha estragada não pode levar consigo o resto da espera
+                    System.err.println("⚠️ Pedido em espera ignorado (linha " + numeroLinha + "): " + linha);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Erro ao ler Lista de Espera: " + e.getMessage());
+        }
+        T_ESPERA.registarDesde(inicio);
+        N_REGISTOS.somar(lista.size());
+        return lista.toArray(new PedidoEspera[0]);
+    }
+
+    /**
+     * "SEX|SAB" -> máscara de bits (segunda = bit 0). Texto vazio = todos os dias.
+     */
+    private static int diasDaSemana(String texto) {
+        int mascara = 0;
+        for (String dia : texto.split("\\|")) {
+            if (dia.isBlank()) continue;
+            int i = DIAS_SEMANA.indexOf(dia.trim().toUpperCase());
+            if (i < 0) throw new IllegalArgumentException("dia da semana inválido: " + dia);
+            mascara |= 1 << i;
+        }
+        return mascara;
+    }
+
+    /**
+     * Devolve a primeira String igual a 'texto' já lida, para não guardar cópias repetidas.
+     */
+    private static String partilhar(HashMap<String, String> vistos, String texto) {
+        String existente = vistos.putIfAbsent(texto, texto);
+        return existente != null ? existente : texto;
+    }
+
     /**
      * Identifica automaticamente se o ficheiro usa vírgula ou ponto-e-vírgula.
      * Evita erros comuns ao abrir o CSV em diferentes versões do Excel.
@@ -1,5 +1,9 @@
 package hotel.io;
 
+import hotel.gestao.PedidoEspera;
+import hotel.metricas.Contador;
+import hotel.metricas.Histograma;
+import hotel.metricas.Metricas;
 import hotel.model.Hospede;
 import hotel.model.Reserva;
 
@@ -16,12 +20,33 @@ public class CSVWriter {
 
     private static final String DATA_DIR = "data"; // Diretório de destino para gravação
 
+    private static final Histograma T_HOSPEDES = Metricas.histograma("csv.guardarHospedes");
+    private static final Histograma T_RESERVAS = Metricas.histograma("csv.guardarReservas");
+    private static final Histograma T_ESPERA = Metricas.histograma("csv.guardarEspera");
+    private static final Contador N_REGISTOS = Metricas.contador("csv.registosEscritos");
+
     /**
      * Guarda a lista de hóspedes no ficheiro CSV.
      * @return true se a operação for bem-sucedida.
      */
     public static boolean guardarHospedes(String caminhoFicheiro, Hospede[] hospedes) {
-        String caminhoReal = obterCaminhoEscrita(caminhoFicheiro);
+        return guardarHospedes(DATA_DIR, caminhoFicheiro, hospedes);
+    }
+
+    /**
+     * Variante com pasta de destino explícita (uma por propriedade).
+     */
+    public static boolean guardarHospedes(String pasta, String caminhoFicheiro, Hospede[] hospedes) {
+        long inicio = System.nanoTime();
+        try {
+            return escreverHospedes(pasta, caminhoFicheiro, hospedes);
+        } finally {
+            T_HOSPEDES.registarDesde(inicio);
+        }
+    }
+
+    private static boolean escreverHospedes(String pasta, String caminhoFicheiro, Hospede[] hospedes) {
+        String caminhoReal = obterCaminhoEscrita(pasta, caminhoFicheiro);
 
         // O uso do try-with-resources garante que o BufferedWriter fecha sozinho no final
         try (BufferedWriter bw = new BufferedWriter(new FileWriter(caminhoReal))) {
@@ -40,6 +65,7 @@ public class CSVWriter {
                 bw.newLine();
             }
 
+            N_REGISTOS.somar(hospedes.length);
             return true;
         } catch (IOException e) {
             System.err.println("❌ Erro ao guardar ficheiro de hospedes: " + e.getMessage());
@@ -51,7 +77,23 @@ public class CSVWriter {
      * Guarda todas as reservas (ativas e canceladas) no ficheiro CSV.
      */
     public static boolean guardarReservas(String caminhoFicheiro, Reserva[] reservas) {
-        String caminhoReal = obterCaminhoEscrita(caminhoFicheiro);
+        return guardarReservas(DATA_DIR, caminhoFicheiro, reservas);
+    }
+
+    /**
+     * Variante com pasta de destino explícita (uma por propriedade).
+     */
+    public static boolean guardarReservas(String pasta, String caminhoFicheiro, Reserva[] reservas) {
+        long inicio = System.nanoTime();
+        try {
+            return escreverReservas(pasta, caminhoFicheiro, reservas);
+        } finally {
+            T_RESERVAS.registarDesde(inicio);
+        }
+    }
+
+    private static boolean escreverReservas(String pasta, String caminhoFicheiro, Reserva[] reservas) {
+        String caminhoReal = obterCaminhoEscrita(pasta, caminhoFicheiro);
 
         try (BufferedWriter bw = new BufferedWriter(new FileWriter(caminhoReal))) {
             // Cabeçalho completo seguindo o modelo da classe Reserva
@@ -71,6 +113,7 @@ public class CSVWriter {
                 bw.newLine();
             }
 
+            N_REGISTOS.somar(reservas.length);
             return true;
         } catch (IOException e) {
             System.err.println("❌ Erro ao guardar ficheiro de reservas: " + e.getMessage());
@@ -79,13 +122,45 @@ public class CSVWriter {
     }
 
     /**
-     * Método auxiliar que verifica se a pasta 'data' existe.
+     * Guarda os pedidos da lista de espera pela ordem de chegada (é por essa ordem que voltam a ser lidos).
+     */
+    public static boolean guardarEspera(String pasta, String caminhoFicheiro, PedidoEspera[] pedidos) {
+        long inicio = System.nanoTime();
+        String caminhoReal = obterCaminhoEscrita(pasta, caminhoFicheiro);
+
+        try (BufferedWriter bw = new BufferedWriter(new FileWriter(caminhoReal))) {
+            bw.write("id,idHospede,numeroHospedes,dataInicio,dataFim,prioridade");
+            bw.newLine();
+
+            for (PedidoEspera pedido : pedidos) {
+                String linha = pedido.getId() + "," +
+                        pedido.getIdHospede() + "," +
+                        pedido.getNumHospedes() + "," +
+                        pedido.getDataInicio() + "," +
+                        pedido.getDataFim() + "," +
+                        pedido.getPrioridade();
+                bw.write(linha);
+                bw.newLine();
+            }
+
+            N_REGISTOS.somar(pedidos.length);
+            return true;
+        } catch (IOException e) {
+            System.err.println("❌ Erro ao guardar ficheiro da lista de espera: " + e.getMessage());
+            return false;
+        } finally {
+            T_ESPERA.registarDesde(inicio);
+        }
+    }
+
+    /**
+     * Método auxiliar que verifica se a pasta de dados existe.
      * Se não existir, cria a pasta antes de tentar escrever o ficheiro.
      */
-    private static String obterCaminhoEscrita(String caminhoFicheiro) {
-        File dataDir = new File(DATA_DIR);
+    private static String obterCaminhoEscrita(String pasta, String caminhoFicheiro) {
+        File dataDir = new File(pasta);
         if (!dataDir.exists()) {
-            dataDir.mkdirs(); // Cria a pasta data/ se necessário
+            dataDir.mkdirs(); // Cria a pasta (ex: data/) se necessário
         }
         // Retorna o caminho absoluto para evitar ambiguidades de diretório
         return new File(dataDir, caminhoFicheiro).getAbsolutePath();
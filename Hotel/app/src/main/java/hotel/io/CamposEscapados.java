@@ -0,0 +1,60 @@
+package hotel.io;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Escape dos campos de texto em linhas separadas por vírgulas (journal de replicação, auditoria).
+ * Barras, vírgulas e quebras de linha passam a \\ \, \n \r: uma vírgula num nome não desloca
+ * as colunas seguintes e cada registo cabe numa só linha.
+ */
+public final class CamposEscapados {
+
+    private CamposEscapados() {}
+
+    public static String escapar(String texto) {
+        if (texto == null) return "";
+        StringBuilder sb = new StringBuilder(texto.length() + 8);
+        escapar(texto, sb);
+        return sb.toString();
+    }
+
+    /**
+     * Acrescenta o texto escapado a 'destino' (sem criar Strings intermédias).
+     */
+    public static void escapar(String texto, StringBuilder destino) {
+        if (texto == null) return;
+        for (int i = 0; i < texto.length(); i++) {
+            char ch = texto.charAt(i);
+            switch (ch) {
+                case '\\' -> destino.append("\\\\");
+                case ',' -> destino.append("\\,");
+                case '\n' -> destino.append("\\n");
+                case '\r' -> destino.append("\\r");
+                default -> destino.append(ch);
+            }
+        }
+    }
+
+    /**
+     * Parte a linha nas vírgulas não escapadas e desfaz o escape de cada campo.
+     */
+    public static List<String> separar(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        for (int i = 0; i < linha.length(); i++) {
+            char ch = linha.charAt(i);
+            if (ch == '\\' && i + 1 < linha.length()) {
+                char seguinte = linha.charAt(++i);
+                campo.append(seguinte == 'n' ? '\n' : seguinte == 'r' ? '\r' : seguinte);
+            } else if (ch == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(ch);
+            }
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+}
@@ -0,0 +1,221 @@
+package hotel.io;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Gerador de dados sintéticos para testes de escala (quartos.csv, hospedes.csv e reservas.csv).
+ * Os ficheiros seguem exatamente o formato lido pelo CSVReader.
+ *
+ * - Determinista: a mesma semente e os mesmos tamanhos produzem sempre os mesmos ficheiros.
+ * - Realista: mais procura no verão e no fim do ano, estadias curtas na maioria (e semanas no verão),
+ *   grupos que quase enchem o quarto e uma percentagem de reservas canceladas.
+ * - Sem sobreposições: as reservas de cada quarto são geradas em sequência, uma depois da outra.
+ * - Em streaming: cada linha é escrita logo que é gerada, por isso milhões de registos
+ *   não precisam de memória proporcional ao tamanho dos ficheiros.
+ */
+public class GeradorDados {
+
+    private static final int TAMANHO_BUFFER = 1 << 16;
+    private static final int QUARTOS_POR_PISO = 50;
+
+    private static final String[] NOMES = {
+            "João", "Maria", "José", "Ana", "António", "Inês", "Francisco", "Beatriz", "Tiago", "Mariana",
+            "Rui", "Sofia", "Pedro", "Leonor", "Gonçalo", "Matilde", "Duarte", "Carolina", "Martim", "Conceição"
+    };
+    private static final String[] APELIDOS = {
+            "Silva", "Santos", "Ferreira", "Pereira", "Oliveira", "Costa", "Rodrigues", "Martins", "Jesus", "Sousa",
+            "Fernandes", "Gonçalves", "Gomes", "Lopes", "Marques", "Alves", "Almeida", "Ribeiro", "Pinto", "Fialho"
+    };
+
+    // Distribuição das capacidades dos quartos (1 a 5 pessoas), em percentagem
+    private static final int[] PESO_CAPACIDADE = {15, 50, 15, 15, 5};
+    // Distribuição do número de noites (1 a 7); 8 a 14 noites ficam com o resto
+    private static final int[] PESO_NOITES = {22, 24, 16, 10, 8, 5, 10};
+
+    private final long semente;
+    private final int totalQuartos;
+    private final int totalHospedes;
+    private final long totalReservas;
+    private LocalDate dataInicial = LocalDate.of(2024, 1, 1);
+    private double taxaCancelamento = 0.12;
+
+    private String[] cacheDatas = new String[0]; // Texto de cada data, a partir de dataInicial
+    private long diaBase;
+
+    public GeradorDados(long semente, int totalQuartos, int totalHospedes, long totalReservas) {
+        if (totalQuartos <= 0 || totalHospedes <= 0 || totalReservas < 0) {
+            throw new IllegalArgumentException("Tamanhos inválidos para a geração de dados");
+        }
+        this.semente = semente;
+        this.totalQuartos = totalQuartos;
+        this.totalHospedes = totalHospedes;
+        this.totalReservas = totalReservas;
+    }
+
+    public void setDataInicial(LocalDate dataInicial) { this.dataInicial = dataInicial; }
+    public void setTaxaCancelamento(double taxaCancelamento) { this.taxaCancelamento = taxaCancelamento; }
+
+    /**
+     * Escreve os três ficheiros na pasta indicada (criada se não existir).
+     */
+    public void gerar(String pasta) throws IOException {
+        File destino = new File(pasta);
+        if (!destino.exists() && !destino.mkdirs()) {
+            throw new IOException("Não foi possível criar a pasta " + pasta);
+        }
+        diaBase = dataInicial.toEpochDay();
+
+        int[] capacidades = gerarQuartos(new File(destino, "quartos.csv"));
+        gerarHospedes(new File(destino, "hospedes.csv"));
+        gerarReservas(new File(destino, "reservas.csv"), capacidades);
+    }
+
+    /**
+     * @return a capacidade de cada quarto (é precisa para gerar grupos que cabem no quarto).
+     */
+    private int[] gerarQuartos(File ficheiro) throws IOException {
+        Random random = new Random(semente);
+        int[] capacidades = new int[totalQuartos];
+        try (BufferedWriter bw = abrir(ficheiro)) {
+            bw.write("id,numero,capacidade,estaOcupado");
+            bw.newLine();
+            for (int i = 0; i < totalQuartos; i++) {
+                capacidades[i] = 1 + sortear(random, PESO_CAPACIDADE);
+                int numero = (i / QUARTOS_POR_PISO + 1) * 100 + i % QUARTOS_POR_PISO + 1;
+                bw.write((i + 1) + "," + numero + "," + capacidades[i] + ",false");
+                bw.newLine();
+            }
+        }
+        return capacidades;
+    }
+
+    private void gerarHospedes(File ficheiro) throws IOException {
+        Random random = new Random(semente + 1);
+        StringBuilder linha = new StringBuilder(64);
+        try (BufferedWriter bw = abrir(ficheiro)) {
+            bw.write("id,nome,documento");
+            bw.newLine();
+            for (int id = 1; id <= totalHospedes; id++) {
+                linha.setLength(0);
+                linha.append(id).append(',')
+                        .append(NOMES[random.nextInt(NOMES.length)]).append(' ')
+                        .append(APELIDOS[random.nextInt(APELIDOS.length)]).append(' ')
+                        .append(APELIDOS[random.nextInt(APELIDOS.length)]).append(',')
+                        .append(100_000_000L + id); // Documento único, com 9 dígitos como um NIF
+                bw.write(linha.toString());
+                bw.newLine();
+            }
+        }
+    }
+
+    /**
+     * Quarto a quarto: cada um recebe a sua quota de reservas e percorre o calendário,
+     * deixando folgas maiores na época baixa e menores na época alta.
+     */
+    private void gerarReservas(File ficheiro, int[] capacidades) throws IOException {
+        long id = 1;
+        StringBuilder linha = new StringBuilder(80);
+        try (BufferedWriter bw = abrir(ficheiro)) {
+            bw.write("id,idQuarto,idHospede,numeroHospedes,dataInicio,dataFim,ativa");
+            bw.newLine();
+
+            for (int q = 0; q < totalQuartos; q++) {
+                // Um gerador por quarto: o resultado de cada quarto não depende da ordem de geração
+                Random random = new Random(semente * 31 + q);
+                long quota = totalReservas / totalQuartos + (q < totalReservas % totalQuartos ? 1 : 0);
+                long dia = diaBase + random.nextInt(7);
+
+                for (long k = 0; k < quota; k++) {
+                    dia += folga(random, dia);
+                    int noites = noites(random, dia);
+                    long fim = dia + noites;
+
+                    int capacidade = capacidades[q];
+                    int pessoas = Math.max(1, capacidade - (random.nextInt(10) < 3 ? 1 : 0));
+                    boolean ativa = random.nextDouble() >= taxaCancelamento;
+
+                    linha.setLength(0);
+                    linha.append(id++).append(',')
+                            .append(q + 1).append(',')
+                            .append(1 + random.nextInt(totalHospedes)).append(',')
+                            .append(pessoas).append(',')
+                            .append(data(dia)).append(',')
+                            .append(data(fim)).append(',')
+                            .append(ativa);
+                    bw.write(linha.toString());
+                    bw.newLine();
+
+                    // As datas são inclusivas: a próxima estadia só pode começar no dia seguinte ao fim
+                    dia = fim + 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Procura de 0 a 1 ao longo do ano: pico em meados de julho e outro no fim de dezembro.
+     */
+    private static double procura(long epochDay) {
+        LocalDate data = LocalDate.ofEpochDay(epochDay);
+        int diaDoAno = data.getDayOfYear();
+        double verao = 0.55 + 0.35 * Math.cos(2 * Math.PI * (diaDoAno - 197) / 365.0);
+        boolean festas = data.getMonthValue() == 12 && data.getDayOfMonth() >= 20;
+        return Math.min(0.95, festas ? verao + 0.3 : verao);
+    }
+
+    /**
+     * Dias livres antes da próxima estadia (geométrica: com muita procura, quase sempre 0 ou 1).
+     */
+    private static int folga(Random random, long dia) {
+        double p = procura(dia);
+        int folga = 0;
+        while (random.nextDouble() > p && folga < 60) folga++;
+        return folga;
+    }
+
+    private static int noites(Random random, long dia) {
+        int mes = LocalDate.ofEpochDay(dia).getMonthValue();
+        if ((mes == 7 || mes == 8) && random.nextInt(10) < 3) return 7; // Semanas de férias
+        int indice = sortear(random, PESO_NOITES);
+        return indice < PESO_NOITES.length ? indice + 1 : 8 + random.nextInt(7);
+    }
+
+    /**
+     * Índice sorteado segundo os pesos (em percentagem); devolve pesos.length se cair no resto até 100.
+     */
+    private static int sortear(Random random, int[] pesos) {
+        int valor = random.nextInt(100);
+        for (int i = 0; i < pesos.length; i++) {
+            if (valor < pesos[i]) return i;
+            valor -= pesos[i];
+        }
+        return pesos.length;
+    }
+
+    /**
+     * Texto ISO de uma data, guardado em cache (milhões de reservas partilham poucos milhares de datas).
+     */
+    private String data(long epochDay) {
+        int indice = (int) (epochDay - diaBase);
+        if (indice >= cacheDatas.length) {
+            cacheDatas = Arrays.copyOf(cacheDatas, Math.max(indice + 1, cacheDatas.length * 2));
+        }
+        String texto = cacheDatas[indice];
+        if (texto == null) {
+            texto = LocalDate.ofEpochDay(epochDay).toString();
+            cacheDatas[indice] = texto;
+        }
+        return texto;
+    }
+
+    private static BufferedWriter abrir(File ficheiro) throws IOException {
+        return new BufferedWriter(new FileWriter(ficheiro, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+    }
+}
@@ -0,0 +1,234 @@
+package hotel.lote;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Arrays;
+import hotel.admissao.ControloAdmissao;
+import hotel.admissao.PedidoRejeitadoException;
+import hotel.admissao.TipoPedido;
+import hotel.gestao.GestaoHospedes;
+import hotel.gestao.GestaoQuartos;
+import hotel.gestao.GestaoReservas;
+import hotel.model.Hospede;
+import hotel.model.Quarto;
+import hotel.model.Reserva;
+
+/**
+ * Modo não interativo: executa um ficheiro (ou stdin) de operações sobre as gestões, sem menus.
+ * Usado para reproduzir tráfego real e para trabalhos noturnos.
+ *
+ * Uma operação por linha, campos separados por vírgula (linhas vazias e '#' são ignoradas):
+ *   reservar,documento,nome,numHospedes,dataInicio,dataFim   (cria o hóspede se não existir)
+ *   editar,idReserva,numHospedes,dataInicio,dataFim
+ *   cancelar,idReserva
+ *   consultar,documento
+ *   disponibilidade,numHospedes,dataInicio,dataFim
+ *   relatorio
+ * Também aceita os nomes em inglês (book, edit, cancel, lookup, availability, report).
+ * Um primeiro campo começado por '@' identifica o cliente (ex: @booking,reservar,...) para a admissão.
+ *
+ * Cada linha produz um resultado: OK|ERRO,numeroLinha,operacao,microssegundos,detalhes...
+ * Os campos de texto (nomes, operação, motivos) saem entre aspas quando têm vírgulas, aspas ou quebras de linha,
+ * com as aspas interiores duplicadas, para que a saída seja CSV válido.
+ * No fim é escrita uma linha #RESUMO com débito e latências (e #ADMISSAO, se houver controlo de admissão).
+ */
+public class ProcessadorLote {
+
+    private final GestaoQuartos gestaoQuartos;
+    private final GestaoHospedes gestaoHospedes;
+    private final GestaoReservas gestaoReservas;
+    private final PrintStream saida;
+    private final ControloAdmissao admissao;   // Pode ser null (sem limites)
+
+    private long[] latencias = new long[1024]; // Nanossegundos por operação (para os percentis)
+    private int totalOperacoes;
+    private int totalErros;
+
+    public ProcessadorLote(GestaoQuartos gestaoQuartos, GestaoHospedes gestaoHospedes,
+                           GestaoReservas gestaoReservas, PrintStream saida) {
+        this(gestaoQuartos, gestaoHospedes, gestaoReservas, saida, null);
+    }
+
+    public ProcessadorLote(GestaoQuartos gestaoQuartos, GestaoHospedes gestaoHospedes,
+                           GestaoReservas gestaoReservas, PrintStream saida, ControloAdmissao admissao) {
+        this.gestaoQuartos = gestaoQuartos;
+        this.gestaoHospedes = gestaoHospedes;
+        this.gestaoReservas = gestaoReservas;
+        this.saida = saida;
+        this.admissao = admissao;
+    }
+
+    /**
+     * Processa todas as linhas do leitor e escreve o resumo final.
+     * @return o número de operações que falharam.
+     */
+    public int executar(BufferedReader entrada) throws IOException {
+        long inicio = System.nanoTime();
+        String linha;
+        int numeroLinha = 0;
+
+        while ((linha = entrada.readLine()) != null) {
+            numeroLinha++;
+            linha = linha.trim();
+            if (linha.isEmpty() || linha.startsWith("#")) continue;
+
+            String cliente = "lote";
+            if (linha.startsWith("@")) {
+                int virgula = linha.indexOf(',');
+                cliente = linha.substring(1, virgula < 0 ? linha.length() : virgula).trim();
+                linha = virgula < 0 ? "" : linha.substring(virgula + 1).trim();
+            }
+
+            String[] c = linha.split(",");
+            String operacao = c[0].trim().toLowerCase();
+
+            long t0 = System.nanoTime();
+            String resultado;
+            try {
+                if (admissao == null) {
+                    resultado = executarOperacao(operacao, c);
+                } else {
+                    resultado = admissao.executar(cliente, classificar(operacao), () -> executarOperacao(operacao, c));
+                }
+            } catch (PedidoRejeitadoException e) {
+                resultado = "ERRO:rejeitado," + campo(e.getMessage()) + ",retry_after_ms=" + e.getRetryAfterMillis();
+            } catch (RuntimeException e) {
+                // Campos em falta ou números inválidos contam como erro da operação, não do lote
+                resultado = "ERRO:" + e.getClass().getSimpleName();
+            }
+            long duracao = System.nanoTime() - t0;
+
+            registarLatencia(duracao);
+            boolean ok = !resultado.startsWith("ERRO:");
+            if (!ok) totalErros++;
+
+            saida.println((ok ? "OK" : "ERRO") + "," + numeroLinha + "," + campo(operacao) + "," + (duracao / 1000) + ","
+                    + (ok ? resultado : resultado.substring(5)));
+        }
+
+        imprimirResumo(System.nanoTime() - inicio);
+        return totalErros;
+    }
+
+    private String executarOperacao(String operacao, String[] c) {
+        return switch (operacao) {
+            case "reservar", "book" -> reservar(c[1].trim(), c[2].trim(), Integer.parseInt(c[3].trim()), c[4].trim(), c[5].trim());
+            case "editar", "edit" -> editar(Integer.parseInt(c[1].trim()), Integer.parseInt(c[2].trim()), c[3].trim(), c[4].trim());
+            case "cancelar", "cancel" -> gestaoReservas.cancelarReserva(Integer.parseInt(c[1].trim())) ? "cancelada" : "ERRO:reserva_inexistente";
+            case "consultar", "lookup" -> consultar(c[1].trim());
+            case "disponibilidade", "availability" -> disponibilidade(Integer.parseInt(c[1].trim()), c[2].trim(), c[3].trim());
+            case "relatorio", "report" -> relatorio();
+            default -> "ERRO:operacao_desconhecida";
+        };
+    }
+
+    /**
+     * Reservas, edições e cancelamentos escrevem; tudo o resto é leitura (com prioridade na admissão).
+     */
+    private static TipoPedido classificar(String operacao) {
+        return switch (operacao) {
+            case "reservar", "book", "editar", "edit", "cancelar", "cancel" -> TipoPedido.ESCRITA;
+            default -> TipoPedido.LEITURA;
+        };
+    }
+
+    private String reservar(String documento, String nome, int numHospedes, String dataInicio, String dataFim) {
+        if (!GestaoReservas.isDataValida(dataInicio) || !GestaoReservas.isDataValida(dataFim)) return "ERRO:data_invalida";
+
+        Hospede hospede = gestaoHospedes.buscarPorDocumento(documento);
+        if (hospede == null) {
+            // Só falha se o documento já existir: outro cliente pode tê-lo registado entretanto
+            hospede = gestaoHospedes.criarHospede(nome, documento);
+            if (hospede == null) hospede = gestaoHospedes.buscarPorDocumento(documento);
+            if (hospede == null) return "ERRO:hospede_inexistente";
+        }
+
+        Quarto quarto = gestaoReservas.encontrarQuartoLivre(gestaoQuartos.listarTodos(), numHospedes, dataInicio, dataFim);
+        if (quarto == null) return "ERRO:sem_disponibilidade";
+
+        // Atómico: outro cliente pode ter ficado com o quarto depois da pesquisa
+        Reserva r = gestaoReservas.criarReservaSeLivre(quarto.getId(), hospede.getId(), numHospedes, dataInicio, dataFim);
+        if (r == null) return "ERRO:sem_disponibilidade";
+        return r.getId() + "," + quarto.getNumero();
+    }
+
+    private String editar(int id, int numHospedes, String dataInicio, String dataFim) {
+        if (!GestaoReservas.isDataValida(dataInicio) || !GestaoReservas.isDataValida(dataFim)) return "ERRO:data_invalida";
+
+        Reserva r = gestaoReservas.buscarPorId(id);
+        if (r == null || !r.isAtiva()) return "ERRO:reserva_inexistente";
+
+        Quarto q = gestaoQuartos.buscarPorId(r.getIdQuarto());
+        return gestaoReservas.editarReserva(id, numHospedes, dataInicio, dataFim, q) ? "editada" : "ERRO:conflito_ou_capacidade";
+    }
+
+    private String consultar(String documento) {
+        Hospede h = gestaoHospedes.buscarPorDocumento(documento);
+        if (h == null) return "ERRO:hospede_inexistente";
+        return h.getId() + "," + campo(h.getNome()) + "," + gestaoReservas.listarPorHospede(h.getId()).length;
+    }
+
+    private String disponibilidade(int numHospedes, String dataInicio, String dataFim) {
+        if (!GestaoReservas.isDataValida(dataInicio) || !GestaoReservas.isDataValida(dataFim)) return "ERRO:data_invalida";
+
+        Quarto quarto = gestaoReservas.encontrarQuartoLivre(gestaoQuartos.listarTodos(), numHospedes, dataInicio, dataFim);
+        return quarto != null ? "livre," + quarto.getNumero() : "ocupado";
+    }
+
+    private String relatorio() {
+        Reserva[] reservas = gestaoReservas.listarTodas();
+        int ativas = 0;
+        for (Reserva r : reservas) {
+            if (r.isAtiva()) ativas++;
+        }
+        gestaoQuartos.atualizarOcupacao(reservas, reservas.length);
+        return gestaoQuartos.getTotalQuartos() + "," + gestaoQuartos.listarOcupados().length + ","
+                + gestaoHospedes.getTotalHospedes() + "," + reservas.length + "," + ativas;
+    }
+
+    /**
+     * Campo de texto para a saída: entre aspas (com as aspas interiores duplicadas)
+     * se tiver vírgulas, aspas ou quebras de linha; senão fica como está.
+     */
+    private static String campo(String texto) {
+        if (texto == null) return "";
+        boolean precisaAspas = false;
+        for (int i = 0; i < texto.length() && !precisaAspas; i++) {
+            char ch = texto.charAt(i);
+            precisaAspas = ch == ',' || ch == '"' || ch == '\n' || ch == '\r';
+        }
+        return precisaAspas ? "\"" + texto.replace("\"", "\"\"") + "\"" : texto;
+    }
+
+    private void registarLatencia(long nanos) {
+        if (totalOperacoes == latencias.length) {
+            latencias = Arrays.copyOf(latencias, latencias.length * 2);
+        }
+        latencias[totalOperacoes++] = nanos;
+    }
+
+    /**
+     * Linha final com o total, o débito (operações por segundo) e os percentis de latência em microssegundos.
+     */
+    private void imprimirResumo(long duracaoTotalNanos) {
+        long[] ordenadas = Arrays.copyOf(latencias, totalOperacoes);
+        Arrays.sort(ordenadas);
+
+        double segundos = duracaoTotalNanos / 1e9;
+        saida.printf("#RESUMO,operacoes=%d,erros=%d,duracao_ms=%d,ops_s=%.1f,p50_us=%d,p99_us=%d,max_us=%d%n",
+                totalOperacoes, totalErros, duracaoTotalNanos / 1_000_000,
+                segundos > 0 ? totalOperacoes / segundos : 0.0,
+                percentil(ordenadas, 0.50) / 1000, percentil(ordenadas, 0.99) / 1000,
+                ordenadas.length > 0 ? ordenadas[ordenadas.length - 1] / 1000 : 0);
+        if (admissao != null) {
+            saida.println("#ADMISSAO," + admissao.estatisticas());
+        }
+    }
+
+    private static long percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) return 0;
+        int indice = (int) Math.ceil(p * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, Math.min(indice, ordenadas.length - 1))];
+    }
+}
@@ -1,5 +1,7 @@
 package hotel.menu;
 
+import java.util.Formatter;
+import java.util.List;
 import java.util.Scanner;
 import hotel.gestao.GestaoHospedes;
 import hotel.model.Hospede;
@@ -13,6 +15,7 @@ public class MenuHospedes {
 
     private final Scanner scanner;
     private final GestaoHospedes gestaoHospedes;
+    private static final int MAX_RESULTADOS_NOME = 10;
 
     public MenuHospedes(Scanner scanner, GestaoHospedes gestaoHospedes) {
         this.scanner = scanner;
@@ -31,6 +34,7 @@ public class MenuHospedes {
                 case 1 -> listarTodos();
                 case 2 -> procurarPorDocumento();
                 case 3 -> editarHospede();
+                case 4 -> procurarPorNome();
                 case 0 -> { return; } // Retorna ao Menu Principal
                 default -> System.out.println(App.RED + "⚠️ Opção inválida!" + App.RESET);
             }
@@ -47,35 +51,32 @@ public class MenuHospedes {
         System.out.println(" 1. " + App.YELLOW + "➔" + App.RESET + " Listar todos os hóspedes");
         System.out.println(" 2. " + App.YELLOW + "➔" + App.RESET + " Procurar por documento");
         System.out.println(" 3. " + App.YELLOW + "➔" + App.RESET + " Editar hóspede");
+        System.out.println(" 4. " + App.YELLOW + "➔" + App.RESET + " Procurar por nome");
         System.out.println(" 0. " + App.RED + "«" + App.RESET + " Voltar ao menu principal");
         System.out.print("\nEscolha uma opção: ");
     }
 
     /**
-     * Apresenta todos os hóspedes num formato de tabela alinhada.
+     * Apresenta todos os hóspedes num formato de tabela alinhada, página a página.
      */
     private void listarTodos() {
-        Hospede[] hospedes = gestaoHospedes.listarTodos();
-
         System.out.println("\n" + App.CYAN + "📋 LISTAGEM DE HÓSPEDES" + App.RESET);
 
-        if (hospedes.length == 0) {
-            System.out.println(App.YELLOW + "ℹ️ Nenhum hóspede registado no sistema." + App.RESET);
-            return;
-        }
-
         // Cabeçalho da tabela com larguras fixas (%-5s, %-25s, etc)
-        System.out.println("------------------------------------------------------------");
-        System.out.printf(App.BOLD + "%-5s | %-25s | %-15s%n" + App.RESET, "ID", "NOME", "DOCUMENTO");
-        System.out.println("------------------------------------------------------------");
+        String separador = "------------------------------------------------------------" + System.lineSeparator();
+        String cabecalho = separador
+                + String.format(App.BOLD + "%-5s | %-25s | %-15s%n" + App.RESET, "ID", "NOME", "DOCUMENTO")
+                + separador;
 
-        for (Hospede h : hospedes) {
-            // Imprime cada linha respeitando o alinhamento do cabeçalho
-            System.out.printf("%-5d | %-25s | %-15s%n", h.getId(), h.getNome(), h.getDocumento());
-        }
+        // Imprime cada linha respeitando o alinhamento do cabeçalho
+        boolean encontrou = new Paginador<Hospede>(scanner).mostrar(cabecalho, separador, gestaoHospedes::obterPagina,
+                (Formatter saida, Hospede h) -> saida.format("%-5d | %-25s | %-15s%n", h.getId(), h.getNome(), h.getDocumento()));
 
-        System.out.println("------------------------------------------------------------");
-        System.out.println("Total: " + App.GREEN + hospedes.length + App.RESET + " hóspede(s)");
+        if (!encontrou) {
+            System.out.println(App.YELLOW + "ℹ️ Nenhum hóspede registado no sistema." + App.RESET);
+            return;
+        }
+        System.out.println("Total: " + App.GREEN + gestaoHospedes.getTotalHospedes() + App.RESET + " hóspede(s)");
     }
 
     /**
@@ -98,6 +99,33 @@ public class MenuHospedes {
         }
     }
 
+    /**
+     * Pesquisa por parte do nome (sem acentos e com tolerância a erros), mostrando os melhores resultados.
+     */
+    private void procurarPorNome() {
+        System.out.print("\n" + App.YELLOW + "🔍 Introduza o nome (ou parte): " + App.RESET);
+        String texto = scanner.nextLine().trim();
+
+        if (texto.isEmpty()) {
+            System.out.println(App.RED + "❌ Erro: O nome não pode estar vazio." + App.RESET);
+            return;
+        }
+
+        List<Hospede> encontrados = gestaoHospedes.pesquisarPorNome(texto, MAX_RESULTADOS_NOME);
+        if (encontrados.isEmpty()) {
+            System.out.println(App.RED + "❌ Nenhum hóspede encontrado para: " + texto + App.RESET);
+            return;
+        }
+
+        System.out.println("------------------------------------------------------------");
+        System.out.printf(App.BOLD + "%-5s | %-25s | %-15s%n" + App.RESET, "ID", "NOME", "DOCUMENTO");
+        System.out.println("------------------------------------------------------------");
+        for (Hospede h : encontrados) {
+            System.out.printf("%-5d | %-25s | %-15s%n", h.getId(), h.getNome(), h.getDocumento());
+        }
+        System.out.println("------------------------------------------------------------");
+    }
+
     /**
      * Permite alterar os dados de um hóspede existente.
      * Implementa a lógica de "Enter para manter o atual", facilitando a UX.
@@ -2,9 +2,12 @@ package hotel.menu;
 
 import java.util.Scanner;
 import hotel.App;
+import hotel.admissao.PedidoRejeitadoException;
 import hotel.gestao.GestaoHospedes;
 import hotel.gestao.GestaoQuartos;
 import hotel.gestao.GestaoReservas;
+import hotel.propriedades.Propriedade;
+import hotel.propriedades.RegistoPropriedades;
 
 /**
  * Classe central que coordena a navegação entre os diferentes módulos do sistema.
@@ -13,23 +16,80 @@ import hotel.gestao.GestaoReservas;
 public class MenuPrincipal {
 
     private final Scanner scanner;
-    // Sub-menus instanciados para delegar as tarefas específicas
-    private final MenuQuartos menuQuartos;
-    private final MenuHospedes menuHospedes;
-    private final MenuReservas menuReservas;
+    private final Propriedade propriedade;
+    private final RegistoPropriedades registo;
+    // Sub-menus que delegam as tarefas específicas; só são criados quando o utilizador entra neles
+    private MenuQuartos menuQuartos;
+    private MenuHospedes menuHospedes;
+    private MenuReservas menuReservas;
+    private MenuPropriedades menuPropriedades;
+    private MenuRelatorios menuRelatorios;
 
     /**
      * Construtor do Menu Principal.
-     * Recebe as instâncias de gestão para garantir que todos os sub-menus
+     * Recebe a propriedade ativa para garantir que todos os sub-menus
      * partilham a mesma base de dados em memória.
+     * O registo de propriedades dá acesso às pesquisas sobre todos os hotéis do grupo.
+     * Não constrói os sub-menus: o painel aparece logo e cada módulo (e as suas classes)
+     * só é carregado na primeira vez que é aberto.
      */
-    public MenuPrincipal(Scanner scanner, GestaoQuartos gestaoQuartos,
-                         GestaoHospedes gestaoHospedes, GestaoReservas gestaoReservas) {
+    public MenuPrincipal(Scanner scanner, Propriedade propriedade, RegistoPropriedades registo) {
         this.scanner = scanner;
-        // Inicialização dos módulos específicos
-        this.menuQuartos = new MenuQuartos(scanner, gestaoQuartos, gestaoReservas, gestaoHospedes);
-        this.menuHospedes = new MenuHospedes(scanner, gestaoHospedes);
-        this.menuReservas = new MenuReservas(scanner, gestaoQuartos, gestaoHospedes, gestaoReservas);
+        this.propriedade = propriedade;
+        this.registo = registo;
+    }
+
+    private MenuQuartos menuQuartos() {
+        if (menuQuartos == null) {
+            menuQuartos = new MenuQuartos(scanner, propriedade.getGestaoQuartos(), propriedade.getGestaoReservas(),
+                    propriedade.getVistaReservas());
+        }
+        return menuQuartos;
+    }
+
+    private MenuHospedes menuHospedes() {
+        if (menuHospedes == null) {
+            menuHospedes = new MenuHospedes(scanner, propriedade.getGestaoHospedes());
+        }
+        return menuHospedes;
+    }
+
+    private MenuReservas menuReservas() {
+        if (menuReservas == null) {
+            menuReservas = new MenuReservas(scanner, propriedade.getGestaoQuartos(), propriedade.getGestaoHospedes(),
+                    propriedade.getGestaoReservas(), propriedade.getVistaReservas(), propriedade.getCalendarioTarifas());
+        }
+        return menuReservas;
+    }
+
+    private MenuPropriedades menuPropriedades() {
+        if (menuPropriedades == null) {
+            menuPropriedades = new MenuPropriedades(scanner, registo);
+        }
+        return menuPropriedades;
+    }
+
+    private MenuRelatorios menuRelatorios() {
+        if (menuRelatorios == null) {
+            GestaoQuartos gestaoQuartos = propriedade.getGestaoQuartos();
+            GestaoHospedes gestaoHospedes = propriedade.getGestaoHospedes();
+            GestaoReservas gestaoReservas = propriedade.getGestaoReservas();
+            menuRelatorios = new MenuRelatorios(scanner, gestaoQuartos, gestaoHospedes, gestaoReservas,
+                    propriedade.getMotorReceita(), propriedade.getAuditoria());
+        }
+        return menuRelatorios;
+    }
+
+    /**
+     * Cria já todos os sub-menus. Usado na execução de treino do arquivo AppCDS,
+     * para que as classes dos menus também fiquem no arquivo.
+     */
+    public void prepararSubmenus() {
+        menuQuartos();
+        menuHospedes();
+        menuReservas();
+        menuPropriedades();
+        menuRelatorios();
     }
 
     /**
@@ -42,16 +102,23 @@ public class MenuPrincipal {
             // Utiliza o MenuUtils para evitar crashes se o utilizador digitar texto
             int opcao = MenuUtils.lerOpcao(scanner);
 
-            switch (opcao) {
-                case 1 -> menuQuartos.executar();   // Salta para o módulo de Quartos
-                case 2 -> menuHospedes.executar();  // Salta para o módulo de Hóspedes
-                case 3 -> menuReservas.executar();  // Salta para o módulo de Reservas
-                case 0 -> {
-                    // Mensagem de encerramento antes de retornar à classe App
-                    System.out.println("\n" + App.YELLOW + "📤 A encerrar módulos e a guardar base de dados..." + App.RESET);
-                    return;
+            try {
+                switch (opcao) {
+                    case 1 -> menuQuartos().executar();   // Salta para o módulo de Quartos
+                    case 2 -> menuHospedes().executar();  // Salta para o módulo de Hóspedes
+                    case 3 -> menuReservas().executar();  // Salta para o módulo de Reservas
+                    case 4 -> menuPropriedades().executar(); // Salta para o grupo de hotéis
+                    case 5 -> menuRelatorios().executar();   // Salta para os relatórios
+                    case 0 -> {
+                        // Mensagem de encerramento antes de retornar à classe App
+                        System.out.println("\n" + App.YELLOW + "📤 A encerrar módulos e a guardar base de dados..." + App.RESET);
+                        return;
+                    }
+                    default -> System.out.println(App.RED + "⚠️ Opção inválida. Tente novamente." + App.RESET);
                 }
-                default -> System.out.println(App.RED + "⚠️ Opção inválida. Tente novamente." + App.RESET);
+            } catch (PedidoRejeitadoException e) {
+                // Ex: auditoria sem espaço numa operação sem tratamento próprio
+                MenuUtils.avisarRecusa(e);
             }
         }
     }
@@ -67,6 +134,8 @@ public class MenuPrincipal {
         System.out.println(" " + App.GREEN + "1." + App.RESET + " 🏨 Gestão de " + App.BOLD + "Quartos" + App.RESET);
         System.out.println(" " + App.GREEN + "2." + App.RESET + " 👤 Gestão de " + App.BOLD + "Hóspedes" + App.RESET);
         System.out.println(" " + App.GREEN + "3." + App.RESET + " 📅 Gestão de " + App.BOLD + "Reservas" + App.RESET);
+        System.out.println(" " + App.GREEN + "4." + App.RESET + " 🏨 Grupo de " + App.BOLD + "Hotéis" + App.RESET);
+        System.out.println(" " + App.GREEN + "5." + App.RESET + " 📈 " + App.BOLD + "Relatórios" + App.RESET);
         System.out.println(App.CYAN + "──────────────────────────────────────────" + App.RESET);
         System.out.println(" " + App.RED + "0. 👋 Sair do Sistema" + App.RESET);
         System.out.println(App.CYAN + "──────────────────────────────────────────" + App.RESET);
@@ -0,0 +1,96 @@
+package hotel.menu;
+
+import java.util.List;
+import java.util.Scanner;
+import hotel.App;
+import hotel.gestao.GestaoReservas;
+import hotel.propriedades.Propriedade;
+import hotel.propriedades.RegistoPropriedades;
+import hotel.propriedades.RegistoPropriedades.QuartoDisponivel;
+
+/**
+ * Interface de utilizador para o grupo de hotéis.
+ * Mostra as propriedades registadas e permite pesquisar disponibilidade em todas ao mesmo tempo.
+ */
+public class MenuPropriedades {
+
+    private final Scanner scanner;
+    private final RegistoPropriedades registo;
+
+    public MenuPropriedades(Scanner scanner, RegistoPropriedades registo) {
+        this.scanner = scanner;
+        this.registo = registo;
+    }
+
+    public void executar() {
+        while (true) {
+            mostrarMenu();
+            int opcao = MenuUtils.lerOpcao(scanner);
+
+            switch (opcao) {
+                case 1 -> listarPropriedades();
+                case 2 -> pesquisarEmTodas();
+                case 0 -> { return; }
+                default -> System.out.println(App.RED + "⚠️ Opção inválida!" + App.RESET);
+            }
+        }
+    }
+
+    private void mostrarMenu() {
+        System.out.println("\n" + App.CYAN + "┌──────────────────────────────────────┐");
+        System.out.println("│           GRUPO DE HOTÉIS            │");
+        System.out.println("└──────────────────────────────────────┘" + App.RESET);
+        System.out.println(" 1. " + App.YELLOW + "➔" + App.RESET + " Listar propriedades");
+        System.out.println(" 2. " + App.YELLOW + "➔" + App.RESET + " Procurar quarto em todos os hotéis");
+        System.out.println(" 0. " + App.RED + "«" + App.RESET + " Voltar");
+        System.out.print("\nEscolha uma opção: ");
+    }
+
+    /**
+     * Lista as propriedades sem forçar o carregamento das que ainda não foram abertas.
+     */
+    private void listarPropriedades() {
+        System.out.println("\n" + App.CYAN + "🏨 PROPRIEDADES DO GRUPO" + App.RESET);
+        System.out.println("------------------------------------------------------------");
+        System.out.printf(App.BOLD + "%-15s | %-30s | %-10s%n" + App.RESET, "ID", "PASTA", "ESTADO");
+        System.out.println("------------------------------------------------------------");
+        for (Propriedade p : registo.listarTodas()) {
+            String estado = p.isCarregada() ? App.GREEN + "ABERTA" : App.YELLOW + "EM ESPERA";
+            System.out.printf("%-15s | %-30s | %-10s%n", p.getId(), p.getPastaDados(), estado + App.RESET);
+        }
+        System.out.println("------------------------------------------------------------");
+    }
+
+    /**
+     * Pesquisa global: cada hotel é consultado em paralelo pelo registo.
+     */
+    private void pesquisarEmTodas() {
+        try {
+            System.out.print("Quantos hóspedes? ");
+            int nHospedes = Integer.parseInt(scanner.nextLine().trim());
+            System.out.print("Data Início (YYYY-MM-DD): ");
+            String inicio = scanner.nextLine().trim();
+            System.out.print("Data Fim    (YYYY-MM-DD): ");
+            String fim = scanner.nextLine().trim();
+
+            if (!GestaoReservas.isDataValida(inicio) || !GestaoReservas.isDataValida(fim)) {
+                System.out.println(App.RED + "❌ Erro: Formato de data incorreto." + App.RESET);
+                return;
+            }
+
+            List<QuartoDisponivel> resultados = registo.procurarEmTodas(nHospedes, inicio, fim);
+            if (resultados.isEmpty()) {
+                System.out.println(App.RED + "❌ Nenhum hotel do grupo tem quarto disponível nessas datas." + App.RESET);
+                return;
+            }
+
+            System.out.println("\n" + App.GREEN + "✅ Quartos disponíveis no grupo:" + App.RESET);
+            for (QuartoDisponivel r : resultados) {
+                System.out.printf("   • %-15s | Quarto %-5d | %s%n",
+                        r.getPropriedade().getId(), r.getQuarto().getNumero(), r.getQuarto().getTipo());
+            }
+        } catch (NumberFormatException e) {
+            System.out.println(App.RED + "❌ Erro: Introduza números válidos para a capacidade." + App.RESET);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package hotel.menu;
 
+import java.time.LocalDate;
+import java.util.Map;
 import java.util.Scanner;
 import hotel.App;
 import hotel.gestao.*;
@@ -14,14 +16,14 @@ public class MenuQuartos {
     private final Scanner scanner;
     private final GestaoQuartos gestaoQuartos;
     private final GestaoReservas gestaoReservas;
-    private final GestaoHospedes gestaoHospedes;
+    private final VistaReservas vistaReservas;
 
     public MenuQuartos(Scanner scanner, GestaoQuartos gestaoQuartos,
-                       GestaoReservas gestaoReservas, GestaoHospedes gestaoHospedes) {
+                       GestaoReservas gestaoReservas, VistaReservas vistaReservas) {
         this.scanner = scanner;
         this.gestaoQuartos = gestaoQuartos;
         this.gestaoReservas = gestaoReservas;
-        this.gestaoHospedes = gestaoHospedes;
+        this.vistaReservas = vistaReservas;
     }
 
     /**
@@ -37,6 +39,9 @@ public class MenuQuartos {
                 case 2 -> listarQuartos(gestaoQuartos.listarLivres(), "QUARTOS LIVRES");
                 case 3 -> listarOcupados();
                 case 4 -> listarQuartoEspecifico();
+                case 5 -> mostrarCalendario();
+                case 6 -> otimizarDistribuicao();
+                case 7 -> auditoriaNoturna();
                 case 0 -> { return; }
                 default -> System.out.println(App.RED + "⚠️ Opção inválida!" + App.RESET);
             }
@@ -51,6 +56,9 @@ public class MenuQuartos {
         System.out.println(" 2. " + App.YELLOW + "➔" + App.RESET + " Ver quartos " + App.GREEN + "LIVRES" + App.RESET);
         System.out.println(" 3. " + App.YELLOW + "➔" + App.RESET + " Ver quartos " + App.RED + "OCUPADOS" + App.RESET);
         System.out.println(" 4. " + App.YELLOW + "➔" + App.RESET + " Procurar quarto específico");
+        System.out.println(" 5. " + App.YELLOW + "➔" + App.RESET + " Calendário (próximos 30 dias)");
+        System.out.println(" 6. " + App.YELLOW + "➔" + App.RESET + " Otimizar distribuição das reservas futuras");
+        System.out.println(" 7. " + App.YELLOW + "➔" + App.RESET + " Ocupação numa data (auditoria noturna)");
         System.out.println(" 0. " + App.RED + "«" + App.RESET + " Voltar");
         System.out.print("\nEscolha uma opção: ");
     }
@@ -78,34 +86,54 @@ public class MenuQuartos {
     }
 
     /**
-     * Lista apenas os quartos ocupados, detalhando QUEM está lá dentro.
-     * Esta é uma função de "cruzamento" (Join) entre Quartos, Reservas e Hóspedes.
+     * Lista apenas os quartos ocupados hoje, detalhando QUEM está lá dentro.
      */
     private void listarOcupados() {
-        Quarto[] ocupados = gestaoQuartos.listarOcupados();
-        System.out.println("\n" + App.RED + "🚩 QUARTOS ATUALMENTE OCUPADOS" + App.RESET);
+        LocalDate hoje = gestaoReservas.getRelogio().hoje();
+        listarOcupados(gestaoReservas.ocupantesEm(hoje), hoje, "QUARTOS ATUALMENTE OCUPADOS");
+    }
+
+    /**
+     * Esta é uma função de "cruzamento" (Join) entre Quartos, Reservas e Hóspedes.
+     * Os ocupantes de todos os quartos vêm de uma única consulta (ocupantesEm), todos do mesmo instante.
+     */
+    private void listarOcupados(Map<Integer, Reserva> ocupantes, LocalDate data, String titulo) {
+        System.out.println("\n" + App.RED + "🚩 " + titulo + App.RESET);
 
-        if (ocupados.length == 0) {
-            System.out.println("Nenhum quarto ocupado de momento.");
+        if (ocupantes.isEmpty()) {
+            System.out.println("Nenhum quarto ocupado em " + data + ".");
             return;
         }
 
-        for (Quarto q : ocupados) {
+        for (Quarto q : gestaoQuartos.listarTodos()) {
+            Reserva reserva = ocupantes.get(q.getId());
+            if (reserva == null) continue;
             System.out.println(App.CYAN + "Quarto " + q.getNumero() + " (" + q.getTipo() + ")" + App.RESET);
 
-            // Pergunta à gestão de reservas: "Quem tem uma reserva ativa para este quarto agora?"
-            Reserva reservaAtual = gestaoReservas.getReservaAtualDoQuarto(q.getId());
-            if (reservaAtual != null) {
-                // Pergunta à gestão de hóspedes: "Qual o nome do dono desta reserva?"
-                Hospede hospede = gestaoHospedes.buscarPorId(reservaAtual.getIdHospede());
-                System.out.printf("   👤 Hóspede: %-20s | 📅 Até: %s%n",
-                        (hospede != null ? App.BOLD + hospede.getNome() + App.RESET : "Desconhecido"),
-                        reservaAtual.getDataFim());
-            }
+            // O dono da reserva já vem junto na vista desnormalizada
+            Hospede hospede = vistaReservas.detalhar(reserva).getHospede();
+            System.out.printf("   👤 Hóspede: %-20s | 📅 Até: %s%n",
+                    (hospede != null ? App.BOLD + hospede.getNome() + App.RESET : "Desconhecido"),
+                    reserva.getDataFim());
             System.out.println("   -------------------------------------------------");
         }
     }
 
+    /**
+     * Fotografia da ocupação num dia à escolha (passado ou futuro), como na auditoria noturna.
+     */
+    private void auditoriaNoturna() {
+        System.out.print("\nData (YYYY-MM-DD): ");
+        String data = scanner.nextLine().trim();
+        if (!GestaoReservas.isDataValida(data)) {
+            System.out.println(App.RED + "❌ Erro: Formato de data incorreto." + App.RESET);
+            return;
+        }
+        LocalDate dia = LocalDate.parse(data);
+        Map<Integer, Reserva> ocupantes = gestaoReservas.ocupantesEm(dia);
+        listarOcupados(ocupantes, dia, "OCUPAÇÃO EM " + data + " (" + ocupantes.size() + " de " + gestaoQuartos.getTotalQuartos() + " quartos)");
+    }
+
     /**
      * Mostra a ficha técnica de um quarto e o seu histórico completo de hóspedes.
      */
@@ -133,10 +161,9 @@ public class MenuQuartos {
             if (historico.length == 0) {
                 System.out.println("   (Sem registos)");
             } else {
-                for (Reserva r : historico) {
-                    Hospede h = gestaoHospedes.buscarPorId(r.getIdHospede());
-                    System.out.printf("   • [%s a %s] - %s%n",
-                            r.getDataInicio(), r.getDataFim(), (h != null ? h.getNome() : "N/A"));
+                for (ReservaDetalhada d : vistaReservas.detalhar(historico)) {
+                    Reserva r = d.getReserva();
+                    System.out.printf("   • [%s a %s] - %s%n", r.getDataInicio(), r.getDataFim(), d.getNomeHospede());
                 }
             }
 
@@ -145,6 +172,73 @@ public class MenuQuartos {
         }
     }
 
+    /**
+     * Grelha de receção: uma linha por quarto, uma coluna por dia (·= livre, █ = reservado).
+     * A grelha inteira vem de uma única chamada à gestão, já calculada em bitsets.
+     */
+    private void mostrarCalendario() {
+        LocalDate hoje = gestaoReservas.getRelogio().hoje();
+        MatrizDisponibilidade matriz = gestaoQuartos.matrizDisponibilidade(gestaoReservas, hoje, 30);
+
+        System.out.println("\n" + App.CYAN + "🗓️ DISPONIBILIDADE DE " + hoje + " A " + hoje.plusDays(29) + App.RESET);
+
+        // Cabeçalho com o dia do mês de cada coluna (dezenas e unidades em duas linhas)
+        StringBuilder dezenas = new StringBuilder("       ");
+        StringBuilder unidades = new StringBuilder("QUARTO ");
+        for (int d = 0; d < matriz.getDias(); d++) {
+            int dia = matriz.getData(d).getDayOfMonth();
+            dezenas.append(dia / 10);
+            unidades.append(dia % 10);
+        }
+        System.out.println(App.BOLD + dezenas + App.RESET);
+        System.out.println(App.BOLD + unidades + "  LIVRES" + App.RESET);
+
+        for (int q = 0; q < matriz.getTotalQuartos(); q++) {
+            StringBuilder linha = new StringBuilder(String.format("%-6d ", matriz.getQuarto(q).getNumero()));
+            int[] runs = matriz.getRuns(q);
+            // Os runs alternam livre/ocupado, começando por livre
+            for (int i = 0; i < runs.length; i++) {
+                boolean ocupado = i % 2 == 1;
+                linha.append(ocupado ? App.RED : App.GREEN)
+                        .append((ocupado ? "█" : "·").repeat(runs[i]))
+                        .append(App.RESET);
+            }
+            linha.append(String.format("  %2d", matriz.getDiasLivres(q)));
+            System.out.println(linha);
+        }
+    }
+
+    /**
+     * Propõe mudanças de quarto nas reservas futuras para juntar os dias livres em blocos maiores,
+     * e aplica-as todas de uma vez se o utilizador confirmar.
+     */
+    private void otimizarDistribuicao() {
+        PlanoRealocacao plano = OtimizadorQuartos.planear(gestaoQuartos.listarTodos(),
+                gestaoReservas.getReservasParaSalvar(), gestaoReservas.getRelogio().hoje());
+
+        System.out.println("\n" + App.CYAN + "🧩 OTIMIZAÇÃO DA DISTRIBUIÇÃO" + App.RESET);
+        if (plano.isVazio()) {
+            System.out.println(App.YELLOW + "ℹ️ A distribuição atual já é a melhor encontrada." + App.RESET);
+            return;
+        }
+
+        for (MudancaQuarto m : plano.getMudancas()) {
+            Quarto origem = gestaoQuartos.buscarPorId(m.getIdQuartoOrigem());
+            Quarto destino = gestaoQuartos.buscarPorId(m.getIdQuartoDestino());
+            System.out.printf("   • Reserva #%d [%s a %s]: quarto %d ➔ %d%n", m.getIdReserva(),
+                    m.getDataInicio(), m.getDataFim(), origem.getNumero(), destino.getNumero());
+        }
+        System.out.printf("Maior bloco livre: %d ➔ %d dias | Períodos livres separados: %d ➔ %d%n",
+                plano.getMaiorBlocoAntes(), plano.getMaiorBlocoDepois(), plano.getBlocosAntes(), plano.getBlocosDepois());
+
+        if (!MenuUtils.confirmar(scanner, "Aplicar as " + plano.getMudancas().size() + " mudança(s)?")) return;
+        if (gestaoReservas.aplicarRealocacao(plano, gestaoQuartos.listarTodos())) {
+            System.out.println(App.GREEN + "✅ Reservas realocadas com sucesso." + App.RESET);
+        } else {
+            System.out.println(App.RED + "❌ As reservas ou os quartos mudaram entretanto; nada foi alterado. Tente de novo." + App.RESET);
+        }
+    }
+
     /**
      * Helper para manter a estética de tabelas consistente.
      */
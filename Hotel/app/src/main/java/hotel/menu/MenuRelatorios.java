@@ -0,0 +1,198 @@
+package hotel.menu;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.io.IOException;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+import hotel.App;
+import hotel.auditoria.LeitorAuditoria;
+import hotel.auditoria.RegistoAuditoria;
+import hotel.gestao.*;
+import hotel.metricas.ContabilidadeMemoria;
+import hotel.metricas.Metricas;
+import hotel.model.Hospede;
+import hotel.model.Quarto;
+import hotel.relatorios.MotorReceita;
+import hotel.relatorios.RelatorioOcupacao;
+
+/**
+ * Interface de utilizador para os relatórios de gestão (reuniões de receita, direção).
+ */
+public class MenuRelatorios {
+
+    private final Scanner scanner;
+    private final GestaoQuartos gestaoQuartos;
+    private final GestaoHospedes gestaoHospedes;
+    private final GestaoReservas gestaoReservas;
+    private final MotorReceita motorReceita;
+    private final RegistoAuditoria auditoria;
+
+    public MenuRelatorios(Scanner scanner, GestaoQuartos gestaoQuartos, GestaoHospedes gestaoHospedes,
+                          GestaoReservas gestaoReservas, MotorReceita motorReceita, RegistoAuditoria auditoria) {
+        this.scanner = scanner;
+        this.gestaoQuartos = gestaoQuartos;
+        this.gestaoHospedes = gestaoHospedes;
+        this.gestaoReservas = gestaoReservas;
+        this.motorReceita = motorReceita;
+        this.auditoria = auditoria;
+    }
+
+    public void executar() {
+        while (true) {
+            mostrarMenu();
+            int opcao = MenuUtils.lerOpcao(scanner);
+
+            switch (opcao) {
+                case 1 -> relatorioOcupacao();
+                case 2 -> relatorioReceita();
+                case 3 -> mostrarMetricas();
+                case 4 -> consultarAuditoria();
+                case 5 -> mostrarMemoria();
+                case 0 -> { return; }
+                default -> System.out.println(App.RED + "⚠️ Opção inválida!" + App.RESET);
+            }
+        }
+    }
+
+    private void mostrarMenu() {
+        System.out.println("\n" + App.CYAN + "┌──────────────────────────────────────┐");
+        System.out.println("│              RELATÓRIOS              │");
+        System.out.println("└──────────────────────────────────────┘" + App.RESET);
+        System.out.println(" 1. " + App.YELLOW + "➔" + App.RESET + " Taxa de ocupação por período");
+        System.out.println(" 2. " + App.YELLOW + "➔" + App.RESET + " Receita por mês, quarto e hóspede");
+        System.out.println(" 3. " + App.YELLOW + "➔" + App.RESET + " Métricas de desempenho do motor");
+        System.out.println(" 4. " + App.YELLOW + "➔" + App.RESET + " Auditoria de uma reserva ou hóspede");
+        System.out.println(" 5. " + App.YELLOW + "➔" + App.RESET + " Memória ocupada pelos registos");
+        System.out.println(" 0. " + App.RED + "«" + App.RESET + " Voltar");
+        System.out.print("\nEscolha uma opção: ");
+    }
+
+    /**
+     * Ocupação diária (total e por capacidade) entre duas datas.
+     */
+    private void relatorioOcupacao() {
+        try {
+            System.out.print("Data Início (YYYY-MM-DD): ");
+            LocalDate inicio = LocalDate.parse(scanner.nextLine().trim());
+            System.out.print("Data Fim    (YYYY-MM-DD): ");
+            LocalDate fim = LocalDate.parse(scanner.nextLine().trim());
+
+            RelatorioOcupacao relatorio = RelatorioOcupacao.calcular(
+                    gestaoQuartos.listarTodos(), gestaoReservas.listarTodas(), inicio, fim);
+            int[] capacidades = relatorio.getCapacidades();
+
+            System.out.println("\n" + App.CYAN + "📈 OCUPAÇÃO DE " + inicio + " A " + fim + App.RESET);
+            StringBuilder cabecalho = new StringBuilder(String.format("%-12s | %-9s | %-7s", "DATA", "OCUPADOS", "TAXA"));
+            for (int c : capacidades) {
+                cabecalho.append(String.format(" | %-6s", "Cap." + c));
+            }
+            System.out.println("------------------------------------------------------------");
+            System.out.println(App.BOLD + cabecalho + App.RESET);
+            System.out.println("------------------------------------------------------------");
+
+            for (int d = 0; d < relatorio.getDias(); d++) {
+                StringBuilder linha = new StringBuilder(String.format("%-12s | %4d/%-4d | %6.1f%%",
+                        relatorio.getData(d), relatorio.getOcupados(d), relatorio.getTotalQuartos(), relatorio.getTaxa(d)));
+                for (int c = 0; c < capacidades.length; c++) {
+                    linha.append(String.format(" | %5.0f%%", relatorio.getTaxa(c, d)));
+                }
+                System.out.println(linha);
+            }
+
+            System.out.println("------------------------------------------------------------");
+            System.out.printf("Taxa média no período: " + App.GREEN + "%.1f%%" + App.RESET + "%n", relatorio.getTaxaMedia());
+        } catch (DateTimeParseException e) {
+            System.out.println(App.RED + "❌ Erro: Formato de data incorreto." + App.RESET);
+        } catch (IllegalArgumentException e) {
+            System.out.println(App.RED + "❌ Erro: " + e.getMessage() + App.RESET);
+        }
+    }
+
+    /**
+     * Totais lidos diretamente dos acumulados mensais do motor de receita (sem recalcular).
+     */
+    private void relatorioReceita() {
+        System.out.println("\n" + App.CYAN + "💶 RECEITA" + App.RESET);
+        Map<YearMonth, Double> porMes = motorReceita.getReceitaPorMes();
+        if (porMes.isEmpty()) {
+            System.out.println(App.YELLOW + "ℹ️ Sem receita registada." + App.RESET);
+            return;
+        }
+
+        System.out.println("------------------------------------------------------------");
+        System.out.printf(App.BOLD + "%-10s | %12s%n" + App.RESET, "MÊS", "RECEITA");
+        System.out.println("------------------------------------------------------------");
+        porMes.forEach((mes, valor) -> System.out.printf("%-10s | %11.2f€%n", mes, valor));
+
+        System.out.println("\n" + App.BOLD + "Por quarto:" + App.RESET);
+        motorReceita.getReceitaPorQuarto().forEach((idQuarto, valor) -> {
+            Quarto q = gestaoQuartos.buscarPorId(idQuarto);
+            System.out.printf("   Quarto %-5s | %11.2f€%n", q != null ? q.getNumero() : "?", valor);
+        });
+
+        System.out.println("\n" + App.BOLD + "Por hóspede:" + App.RESET);
+        motorReceita.getReceitaPorHospede().forEach((idHospede, valor) -> {
+            Hospede h = gestaoHospedes.buscarPorId(idHospede);
+            System.out.printf("   %-25s | %11.2f€%n", h != null ? h.getNome() : "N/A", valor);
+        });
+
+        System.out.println("------------------------------------------------------------");
+        System.out.printf("Total: " + App.GREEN + "%.2f€" + App.RESET + "%n", motorReceita.getReceitaTotal());
+    }
+
+    /**
+     * Contadores e latências das operações do motor desde o arranque (também visíveis por JMX,
+     * no domínio "hotel", com o JConsole ou o VisualVM).
+     */
+    private void mostrarMetricas() {
+        System.out.println("\n" + App.CYAN + "📈 MÉTRICAS DO MOTOR" + App.RESET);
+        System.out.print(Metricas.despejar());
+    }
+
+    /**
+     * Bytes por quarto, hóspede e reserva e total em memória (estimativa a partir dos campos das classes).
+     */
+    private void mostrarMemoria() {
+        System.out.println("\n" + App.CYAN + "🧮 MEMÓRIA DOS REGISTOS" + App.RESET);
+        System.out.print(ContabilidadeMemoria.relatorio(gestaoQuartos.listarTodos(),
+                gestaoHospedes.listarTodos(), gestaoReservas.getReservasParaSalvar()));
+    }
+
+    /**
+     * Histórico de operações (criações, edições, cancelamentos) de uma reserva ou de um hóspede,
+     * lido dos ficheiros da auditoria.
+     */
+    private void consultarAuditoria() {
+        try {
+            System.out.print("Filtrar por (1) Reserva ou (2) Hóspede? ");
+            int filtro = MenuUtils.lerOpcao(scanner);
+            if (filtro != 1 && filtro != 2) {
+                System.out.println(App.RED + "⚠️ Opção inválida!" + App.RESET);
+                return;
+            }
+            System.out.print(filtro == 1 ? "ID da Reserva: " : "ID do Hóspede: ");
+            int id = Integer.parseInt(scanner.nextLine().trim());
+
+            List<String> linhas = filtro == 1
+                    ? auditoria.procurar(id, LeitorAuditoria.QUALQUER)
+                    : auditoria.procurar(LeitorAuditoria.QUALQUER, id);
+            String[] eventos = linhas.toArray(new String[0]);
+
+            System.out.println("\n" + App.CYAN + "🔎 AUDITORIA DE " + (filtro == 1 ? "RESERVA " : "HÓSPEDE ") + id + App.RESET);
+            String separador = "------------------------------------------------------------------------------------------------" + System.lineSeparator();
+            boolean encontrou = new Paginador<String>(scanner).mostrar(separador, separador,
+                    (cursor, tamanho) -> Pagina.de(eventos, cursor, tamanho),
+                    (saida, linha) -> saida.format("%s%n", LeitorAuditoria.descrever(linha)));
+            if (!encontrou) {
+                System.out.println(App.YELLOW + "ℹ️ Sem eventos na auditoria." + App.RESET);
+            }
+        } catch (NumberFormatException e) {
+            System.out.println(App.RED + "❌ Erro: Introduza um ID válido." + App.RESET);
+        } catch (IOException e) {
+            System.out.println(App.RED + "❌ Erro ao ler a auditoria: " + e.getMessage() + App.RESET);
+        }
+    }
+}
\ No newline at end of file
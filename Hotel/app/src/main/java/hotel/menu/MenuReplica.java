@@ -0,0 +1,108 @@
+package hotel.menu;
+
+import java.util.Scanner;
+import hotel.App;
+import hotel.gestao.*;
+import hotel.model.*;
+import hotel.replicacao.SeguidorReplicacao;
+
+/**
+ * Menu só de leitura de uma réplica.
+ * Serve consultas (reservas, disponibilidade) sem tocar no primário e mostra o atraso da replicação.
+ */
+public class MenuReplica {
+
+    private final Scanner scanner;
+    private final GestaoQuartos gestaoQuartos;
+    private final GestaoHospedes gestaoHospedes;
+    private final GestaoReservas gestaoReservas;
+    private final SeguidorReplicacao seguidor;
+
+    public MenuReplica(Scanner scanner, GestaoQuartos gestaoQuartos, GestaoHospedes gestaoHospedes,
+                       GestaoReservas gestaoReservas, SeguidorReplicacao seguidor) {
+        this.scanner = scanner;
+        this.gestaoQuartos = gestaoQuartos;
+        this.gestaoHospedes = gestaoHospedes;
+        this.gestaoReservas = gestaoReservas;
+        this.seguidor = seguidor;
+    }
+
+    public void executar() {
+        while (true) {
+            mostrarMenu();
+            int opcao = MenuUtils.lerOpcao(scanner);
+
+            switch (opcao) {
+                case 1 -> listarReservas();
+                case 2 -> consultarDisponibilidade();
+                case 3 -> mostrarEstado();
+                case 0 -> { return; }
+                default -> System.out.println(App.RED + "⚠️ Opção inválida!" + App.RESET);
+            }
+        }
+    }
+
+    private void mostrarMenu() {
+        System.out.println("\n" + App.CYAN + "┌──────────────────────────────────────┐");
+        System.out.println("│       RÉPLICA (SÓ DE LEITURA)        │");
+        System.out.println("└──────────────────────────────────────┘" + App.RESET);
+        System.out.println(" 1. " + App.YELLOW + "➔" + App.RESET + " Listar reservas");
+        System.out.println(" 2. " + App.YELLOW + "➔" + App.RESET + " Consultar disponibilidade");
+        System.out.println(" 3. " + App.YELLOW + "➔" + App.RESET + " Estado da replicação");
+        System.out.println(" 0. " + App.RED + "«" + App.RESET + " Sair");
+        System.out.print("\nEscolha uma opção: ");
+    }
+
+    private void listarReservas() {
+        System.out.println("\n" + App.CYAN + "📅 RESERVAS (RÉPLICA)" + App.RESET);
+        try (Snapshot<Reserva> reservas = gestaoReservas.snapshot();
+             Snapshot<Hospede> hospedes = gestaoHospedes.snapshot()) {
+            if (reservas.getTotal() == 0) {
+                System.out.println(App.YELLOW + "ℹ️ Nenhuma reserva encontrada." + App.RESET);
+                return;
+            }
+            for (int i = 0; i < reservas.getTotal(); i++) {
+                Reserva r = reservas.get(i);
+                Hospede h = GestaoHospedes.buscarPorId(hospedes, r.getIdHospede());
+                System.out.println(r + " | " + (h != null ? h.getNome() : "N/A"));
+            }
+        }
+    }
+
+    private void consultarDisponibilidade() {
+        try {
+            System.out.print("Quantos hóspedes? ");
+            int nHospedes = Integer.parseInt(scanner.nextLine().trim());
+            System.out.print("Data Início (YYYY-MM-DD): ");
+            String inicio = scanner.nextLine().trim();
+            System.out.print("Data Fim    (YYYY-MM-DD): ");
+            String fim = scanner.nextLine().trim();
+
+            if (!GestaoReservas.isDataValida(inicio) || !GestaoReservas.isDataValida(fim)) {
+                System.out.println(App.RED + "❌ Erro: Formato de data incorreto." + App.RESET);
+                return;
+            }
+
+            Reserva[] reservas = gestaoReservas.getReservasParaSalvar();
+            Quarto quarto = gestaoQuartos.encontrarQuartoAdequado(nHospedes, reservas, reservas.length, inicio, fim);
+            if (quarto == null) {
+                System.out.println(App.RED + "❌ Sem quartos disponíveis para essas datas." + App.RESET);
+            } else {
+                System.out.println(App.GREEN + "✅ Disponível: quarto " + quarto.getNumero() + " (" + quarto.getTipo() + ")" + App.RESET);
+            }
+        } catch (NumberFormatException e) {
+            System.out.println(App.RED + "❌ Erro: Introduza números válidos para a capacidade." + App.RESET);
+        }
+    }
+
+    private void mostrarEstado() {
+        System.out.println("\n" + App.CYAN + "📡 ESTADO DA REPLICAÇÃO" + App.RESET);
+        System.out.println("   Ligado ao primário: " + (seguidor.isLigado() ? App.GREEN + "SIM" : App.RED + "NÃO") + App.RESET);
+        System.out.println("   Offset aplicado:    " + seguidor.getOffsetAplicado());
+        System.out.println("   Offset do primário: " + seguidor.getUltimoOffsetPrimario());
+        System.out.println("   Atraso:             " + seguidor.getAtrasoEntradas() + " entrada(s) / "
+                + seguidor.getAtrasoMillis() + " ms");
+        System.out.printf("   Dados locais:       %d hóspedes | %d reservas%n",
+                gestaoHospedes.getTotalHospedes(), gestaoReservas.getTotalReservas());
+    }
+}
@@ -1,9 +1,16 @@
 package hotel.menu;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Formatter;
+import java.util.List;
 import java.util.Scanner;
 import hotel.App;
+import hotel.admissao.PedidoRejeitadoException;
 import hotel.gestao.*;
 import hotel.model.*;
+import hotel.tarifas.CalendarioTarifas;
+import hotel.tarifas.Cotacao;
 
 /**
  * Interface de utilizador para o módulo de Reservas.
@@ -15,13 +22,17 @@ public class MenuReservas {
     private final GestaoQuartos gestaoQuartos;
     private final GestaoHospedes gestaoHospedes;
     private final GestaoReservas gestaoReservas;
+    private final VistaReservas vistaReservas;
+    private final CalendarioTarifas calendarioTarifas;
 
-    public MenuReservas(Scanner scanner, GestaoQuartos gestaoQuartos,
-                        GestaoHospedes gestaoHospedes, GestaoReservas gestaoReservas) {
+    public MenuReservas(Scanner scanner, GestaoQuartos gestaoQuartos, GestaoHospedes gestaoHospedes,
+                        GestaoReservas gestaoReservas, VistaReservas vistaReservas, CalendarioTarifas calendarioTarifas) {
         this.scanner = scanner;
         this.gestaoQuartos = gestaoQuartos;
         this.gestaoHospedes = gestaoHospedes;
         this.gestaoReservas = gestaoReservas;
+        this.vistaReservas = vistaReservas;
+        this.calendarioTarifas = calendarioTarifas;
     }
 
     /**
@@ -39,6 +50,9 @@ public class MenuReservas {
                 case 4 -> listarPorHospede();
                 case 5 -> editarReserva();
                 case 6 -> cancelarReserva();
+                case 7 -> listarChegadasPartidas();
+                case 8 -> gerirListaEspera();
+                case 9 -> pesquisaAvancada();
                 case 0 -> { return; } // Volta para o Menu Principal
                 default -> System.out.println(App.RED + "⚠️ Opção inválida!" + App.RESET);
             }
@@ -55,6 +69,9 @@ public class MenuReservas {
         System.out.println(" 4. " + App.YELLOW + "➔" + App.RESET + " Ver reservas por Hóspede");
         System.out.println(" 5. " + App.YELLOW + "➔" + App.RESET + " Editar reserva");
         System.out.println(" 6. " + App.RED + "✘" + App.RESET + " Cancelar reserva");
+        System.out.println(" 7. " + App.YELLOW + "➔" + App.RESET + " Chegadas e partidas (hoje/amanhã)");
+        System.out.println(" 8. " + App.YELLOW + "➔" + App.RESET + " Lista de espera");
+        System.out.println(" 9. " + App.YELLOW + "➔" + App.RESET + " Pesquisa avançada");
         System.out.println(" 0. " + App.RED + "«" + App.RESET + " Voltar");
         System.out.print("\n👉 Selecione: ");
     }
@@ -104,6 +121,18 @@ public class MenuReservas {
 
             if (quarto == null) {
                 System.out.println(App.RED + "❌ Não há quartos disponíveis com essa capacidade para as datas escolhidas." + App.RESET);
+                if (!sugerirAlternativas(hospede, nHospedes, inicio, fim)) {
+                    oferecerListaEspera(hospede, nHospedes, inicio, fim);
+                }
+                return;
+            }
+
+            // Cotação pelo calendário de tarifas, antes de o hóspede confirmar
+            Cotacao cotacao = calendarioTarifas.cotar(quarto, inicio, fim);
+            System.out.printf(App.CYAN + "💶 Quarto %d (%s) · %d noite(s) · Total: %.2f€ (média %.2f€/noite)%n" + App.RESET,
+                    quarto.getNumero(), quarto.getTipo(), cotacao.getNoites(), cotacao.getTotal(), cotacao.getMediaPorNoite());
+            if (!MenuUtils.confirmar(scanner, "Confirmar a reserva?")) {
+                System.out.println(App.YELLOW + "ℹ️ Reserva não efetuada." + App.RESET);
                 return;
             }
 
@@ -119,8 +148,116 @@ public class MenuReservas {
         }
     }
 
+    /**
+     * Quando as datas pedidas estão cheias, mostra as datas mais próximas (nos 60 dias seguintes)
+     * em que há um quarto livre para o mesmo número de noites, e permite reservar a primeira.
+     * @return true se foi feita a reserva numa data alternativa.
+     */
+    private boolean sugerirAlternativas(Hospede hospede, int nHospedes, String inicio, String fim) {
+        LocalDate dataInicio = LocalDate.parse(inicio);
+        int noites = (int) ChronoUnit.DAYS.between(dataInicio, LocalDate.parse(fim));
+        if (noites < 0) return false;
+
+        List<Vaga> vagas = gestaoReservas.procurarVagas(gestaoQuartos.listarTodos(), nHospedes, dataInicio, noites, 60, 5);
+        if (vagas.isEmpty()) {
+            System.out.println(App.YELLOW + "ℹ️ Também não há vagas nos 60 dias seguintes." + App.RESET);
+            return false;
+        }
+
+        System.out.println(App.YELLOW + "💡 Datas alternativas disponíveis:" + App.RESET);
+        for (Vaga v : vagas) {
+            Cotacao cotacao = calendarioTarifas.cotar(v.getQuarto(), v.getDataInicio().toString(), v.getDataFim().toString());
+            System.out.printf("   • %s a %s - Quarto %d (%s) - %.2f€%n",
+                    v.getDataInicio(), v.getDataFim(), v.getQuarto().getNumero(), v.getQuarto().getTipo(), cotacao.getTotal());
+        }
+
+        Vaga primeira = vagas.get(0);
+        if (MenuUtils.confirmar(scanner, "Reservar a primeira alternativa?")) {
+            Reserva r = gestaoReservas.criarReserva(primeira.getQuarto().getId(), hospede.getId(), nHospedes,
+                    primeira.getDataInicio().toString(), primeira.getDataFim().toString());
+            if (r != null) {
+                gestaoQuartos.atualizarOcupacao(gestaoReservas.getReservasParaSalvar(), gestaoReservas.getTotalReservas());
+                System.out.println(App.GREEN + "✅ Reserva efetuada com sucesso! Quarto atribuído: " + primeira.getQuarto().getNumero() + App.RESET);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sem quarto nas datas pedidas: o pedido pode ficar em espera e é promovido sozinho
+     * quando um cancelamento ou uma redução de estadia libertar um quarto adequado.
+     */
+    private void oferecerListaEspera(Hospede hospede, int nHospedes, String inicio, String fim) {
+        ListaEspera listaEspera = gestaoReservas.getListaEspera();
+        if (listaEspera == null || !MenuUtils.confirmar(scanner, "Colocar o pedido na lista de espera?")) return;
+
+        System.out.print("Prioridade (Enter = normal, maior = mais urgente): ");
+        String entrada = scanner.nextLine().trim();
+        int prioridade = 0;
+        try {
+            if (!entrada.isEmpty()) prioridade = Integer.parseInt(entrada);
+        } catch (NumberFormatException e) {
+            System.out.println(App.YELLOW + "ℹ️ Prioridade inválida, fica com prioridade normal." + App.RESET);
+        }
+
+        PedidoEspera pedido = listaEspera.adicionar(hospede.getId(), nHospedes, inicio, fim, prioridade);
+        if (pedido != null) {
+            System.out.println(App.GREEN + "✅ Pedido #" + pedido.getId() + " em lista de espera." + App.RESET);
+        } else {
+            System.out.println(App.RED + "❌ Datas inválidas ou já passadas para a lista de espera." + App.RESET);
+        }
+    }
+
+    /**
+     * Mostra os pedidos em espera e permite retirar um.
+     */
+    private void gerirListaEspera() {
+        ListaEspera listaEspera = gestaoReservas.getListaEspera();
+        System.out.println("\n" + App.CYAN + "⏳ LISTA DE ESPERA" + App.RESET);
+        if (listaEspera == null || listaEspera.getTotal() == 0) {
+            System.out.println(App.YELLOW + "ℹ️ Nenhum pedido em espera." + App.RESET);
+            return;
+        }
+
+        System.out.println("--------------------------------------------------------------------------");
+        System.out.printf(App.BOLD + "%-4s | %-20s | %-5s | %-12s | %-12s | %-4s%n" + App.RESET,
+                "ID", "HÓSPEDE", "PAX", "INÍCIO", "FIM", "PRIO");
+        System.out.println("--------------------------------------------------------------------------");
+        for (PedidoEspera p : listaEspera.listar()) {
+            Hospede h = gestaoHospedes.buscarPorId(p.getIdHospede());
+            System.out.printf("%-4d | %-20s | %-5d | %-12s | %-12s | %-4d%n", p.getId(),
+                    (h != null ? truncate(h.getNome(), 20) : "N/A"), p.getNumHospedes(),
+                    p.getDataInicio(), p.getDataFim(), p.getPrioridade());
+        }
+        System.out.println("--------------------------------------------------------------------------");
+
+        System.out.print("ID do pedido a retirar (Enter para voltar): ");
+        String entrada = scanner.nextLine().trim();
+        if (entrada.isEmpty()) return;
+        try {
+            if (listaEspera.cancelar(Integer.parseInt(entrada))) {
+                System.out.println(App.GREEN + "✅ Pedido retirado da lista de espera." + App.RESET);
+            } else System.out.println(App.RED + "❌ Pedido inexistente." + App.RESET);
+        } catch (NumberFormatException e) { System.out.println(App.RED + "❌ ID inválido." + App.RESET); }
+    }
+
+    /**
+     * Avisa quais os pedidos em espera que passaram a reservas com a última alteração.
+     */
+    private void mostrarPromovidos() {
+        ListaEspera listaEspera = gestaoReservas.getListaEspera();
+        if (listaEspera == null) return;
+        for (PedidoEspera p : listaEspera.retirarPromovidos()) {
+            ReservaDetalhada d = vistaReservas.detalhar(p.getReservaPromovida());
+            System.out.println(App.GREEN + "🎉 Pedido em espera #" + p.getId() + " promovido: reserva "
+                    + d.getReserva().getId() + " no quarto " + d.getNumeroQuarto()
+                    + " para " + d.getNomeHospede() + App.RESET);
+        }
+    }
+
     private void listarTodas() {
-        exibirTabelaReservas(gestaoReservas.listarTodas(), "TODAS AS RESERVAS");
+        exibirTabelaReservas("TODAS AS RESERVAS", gestaoReservas::obterPagina);
     }
 
     private void listarPorQuarto() {
@@ -146,36 +283,135 @@ public class MenuReservas {
     }
 
     /**
-     * Renderiza uma tabela formatada no terminal.
-     * Faz o "Join" visual entre Reserva, Quarto e Hóspede usando os respetivos IDs.
+     * Pesquisa com vários filtros ao mesmo tempo (Enter deixa o filtro em branco).
+     * Mostra também a origem que o planeador escolheu (índice ou varrimento).
      */
-    private void exibirTabelaReservas(Reserva[] reservas, String titulo) {
-        System.out.println("\n" + App.CYAN + "📅 " + titulo + App.RESET);
-        if (reservas == null || reservas.length == 0) {
-            System.out.println(App.YELLOW + "ℹ️ Nenhuma reserva encontrada." + App.RESET);
+    private void pesquisaAvancada() {
+        System.out.println("\n" + App.CYAN + "🔎 PESQUISA AVANÇADA" + App.RESET + " (Enter para ignorar um filtro)");
+        ConsultaReservas consulta = gestaoReservas.consultar();
+        try {
+            String quarto = perguntar("Número do quarto: ");
+            if (!quarto.isEmpty()) {
+                Quarto q = gestaoQuartos.buscarPorNumero(Integer.parseInt(quarto));
+                if (q == null) {
+                    System.out.println(App.RED + "❌ Quarto inexistente." + App.RESET);
+                    return;
+                }
+                consulta.doQuarto(q.getId());
+            }
+
+            String doc = perguntar("Documento do hóspede: ");
+            if (!doc.isEmpty()) {
+                Hospede h = gestaoHospedes.buscarPorDocumento(doc);
+                if (h == null) {
+                    System.out.println(App.RED + "❌ Hóspede não encontrado." + App.RESET);
+                    return;
+                }
+                consulta.doHospede(h.getId());
+            }
+
+            String inicio = perguntar("Estadia a tocar de (YYYY-MM-DD): ");
+            if (!inicio.isEmpty()) {
+                String fim = perguntar("                até (YYYY-MM-DD): ");
+                if (fim.isEmpty()) fim = inicio;
+                if (!GestaoReservas.isDataValida(inicio) || !GestaoReservas.isDataValida(fim)) {
+                    System.out.println(App.RED + "❌ Erro: Formato de data incorreto." + App.RESET);
+                    return;
+                }
+                consulta.entre(inicio, fim);
+            }
+
+            String estado = perguntar("Estado (1) Ativas (2) Canceladas: ");
+            if (estado.equals("1")) consulta.ativas();
+            else if (estado.equals("2")) consulta.canceladas();
+
+            String minimo = perguntar("Mínimo de pessoas: ");
+            String maximo = perguntar("Máximo de pessoas: ");
+            if (!minimo.isEmpty() || !maximo.isEmpty()) {
+                consulta.comHospedesEntre(minimo.isEmpty() ? 0 : Integer.parseInt(minimo),
+                        maximo.isEmpty() ? Integer.MAX_VALUE : Integer.parseInt(maximo));
+            }
+
+            String ordem = perguntar("Ordenar por (1) Início (2) Fim (3) Quarto (4) Pessoas (5) ID: ");
+            if (!ordem.isEmpty()) {
+                ConsultaReservas.Ordem[] ordens = {ConsultaReservas.Ordem.DATA_INICIO, ConsultaReservas.Ordem.DATA_FIM,
+                        ConsultaReservas.Ordem.QUARTO, ConsultaReservas.Ordem.NUMERO_HOSPEDES, ConsultaReservas.Ordem.ID};
+                int escolha = Integer.parseInt(ordem);
+                if (escolha < 1 || escolha > ordens.length) {
+                    System.out.println(App.RED + "⚠️ Opção inválida!" + App.RESET);
+                    return;
+                }
+                boolean descendente = perguntar("Decrescente? (S/N): ").equalsIgnoreCase("S");
+                consulta.ordenarPor(ordens[escolha - 1], descendente);
+            }
+
+            String limite = perguntar("Máximo de resultados [100]: ");
+            consulta.limite(limite.isEmpty() ? 100 : Integer.parseInt(limite));
+        } catch (NumberFormatException e) {
+            System.out.println(App.RED + "❌ Erro: Introduza números válidos." + App.RESET);
             return;
         }
 
-        System.out.println("--------------------------------------------------------------------------------------");
-        System.out.printf(App.BOLD + "%-4s | %-6s | %-20s | %-12s | %-12s | %-8s%n" + App.RESET,
-                "ID", "QUARTO", "HÓSPEDE", "INÍCIO", "FIM", "STATUS");
-        System.out.println("--------------------------------------------------------------------------------------");
+        Reserva[] resultados = consulta.listar().toArray(new Reserva[0]);
+        System.out.println(App.YELLOW + "ℹ️ Plano: " + consulta.getPlano() + App.RESET);
+        exibirTabelaReservas(resultados, "RESULTADOS (" + resultados.length + ")");
+    }
 
-        for (Reserva r : reservas) {
-            Quarto q = gestaoQuartos.buscarPorId(r.getIdQuarto());
-            Hospede h = gestaoHospedes.buscarPorId(r.getIdHospede());
-            String status = r.isAtiva() ? App.GREEN + "ATIVA" : App.RED + "CANC.";
+    private String perguntar(String pergunta) {
+        System.out.print(pergunta);
+        return scanner.nextLine().trim();
+    }
+
+    /**
+     * Listas de check-in e check-out de hoje e de amanhã, lidas dos índices por data.
+     */
+    private void listarChegadasPartidas() {
+        LocalDate hoje = gestaoReservas.getRelogio().hoje();
+        for (LocalDate dia : new LocalDate[]{hoje, hoje.plusDays(1)}) {
+            String data = dia.toString();
+            String rotulo = dia.equals(hoje) ? "HOJE" : "AMANHÃ";
+            exibirTabelaReservas(gestaoReservas.listarChegadas(data), "CHEGADAS " + rotulo + " (" + data + ")");
+            exibirTabelaReservas(gestaoReservas.listarPartidas(data), "PARTIDAS " + rotulo + " (" + data + ")");
+        }
+    }
+
+    /**
+     * Renderiza uma tabela formatada no terminal, para resultados que já estão em memória.
+     */
+    private void exibirTabelaReservas(Reserva[] reservas, String titulo) {
+        exibirTabelaReservas(titulo, (cursor, tamanho) -> Pagina.de(reservas, cursor, tamanho));
+    }
 
-            System.out.printf("%-4d | %-6d | %-20s | %-12s | %-12s | %-8s%n",
-                    r.getId(),
-                    (q != null ? q.getNumero() : 0),
-                    (h != null ? truncate(h.getNome(), 20) : "N/A"),
-                    r.getDataInicio(),
-                    r.getDataFim(),
-                    status + App.RESET
-            );
+    /**
+     * Renderiza uma tabela formatada no terminal, página a página.
+     * O quarto e o hóspede de cada linha vêm já juntos na vista desnormalizada.
+     */
+    private void exibirTabelaReservas(String titulo, Paginador.Fonte<Reserva> fonte) {
+        System.out.println("\n" + App.CYAN + "📅 " + titulo + App.RESET);
+
+        String separador = "--------------------------------------------------------------------------------------" + System.lineSeparator();
+        String cabecalho = separador
+                + String.format(App.BOLD + "%-4s | %-6s | %-20s | %-12s | %-12s | %-8s%n" + App.RESET,
+                        "ID", "QUARTO", "HÓSPEDE", "INÍCIO", "FIM", "STATUS")
+                + separador;
+
+        boolean encontrou = new Paginador<Reserva>(scanner).mostrar(cabecalho, separador, fonte,
+                (Formatter saida, Reserva r) -> {
+                    ReservaDetalhada d = vistaReservas.detalhar(r);
+                    String status = r.isAtiva() ? App.GREEN + "ATIVA" : App.RED + "CANC.";
+
+                    saida.format("%-4d | %-6d | %-20s | %-12s | %-12s | %-8s%n",
+                            r.getId(),
+                            d.getNumeroQuarto(),
+                            truncate(d.getNomeHospede(), 20),
+                            r.getDataInicio(),
+                            r.getDataFim(),
+                            status + App.RESET
+                    );
+                });
+        if (!encontrou) {
+            System.out.println(App.YELLOW + "ℹ️ Nenhuma reserva encontrada." + App.RESET);
         }
-        System.out.println("--------------------------------------------------------------------------------------");
     }
 
     private void cancelarReserva() {
@@ -186,7 +422,10 @@ public class MenuReservas {
                 // Ao cancelar, o quarto pode ficar livre hoje; atualizamos o estado
                 gestaoQuartos.atualizarOcupacao(gestaoReservas.getReservasParaSalvar(), gestaoReservas.getTotalReservas());
                 System.out.println(App.GREEN + "✅ Reserva cancelada com sucesso." + App.RESET);
+                mostrarPromovidos();
             } else System.out.println(App.RED + "❌ Erro ao cancelar (ID inválido ou já cancelada)." + App.RESET);
+        } catch (PedidoRejeitadoException e) {
+            MenuUtils.avisarRecusa(e);
         } catch (Exception e) { System.out.println(App.RED + "❌ ID inválido." + App.RESET); }
     }
 
@@ -224,9 +463,12 @@ public class MenuReservas {
             if (gestaoReservas.editarReserva(id, nH, dataI, dataF, q)) {
                 gestaoQuartos.atualizarOcupacao(gestaoReservas.getReservasParaSalvar(), gestaoReservas.getTotalReservas());
                 System.out.println(App.GREEN + "✅ Reserva atualizada com sucesso!" + App.RESET);
+                mostrarPromovidos();
             } else {
                 System.out.println(App.RED + "❌ Erro: Conflito de agenda ou capacidade insuficiente." + App.RESET);
             }
+        } catch (PedidoRejeitadoException e) {
+            MenuUtils.avisarRecusa(e);
         } catch (Exception e) { System.out.println(App.RED + "❌ Erro ao processar edição." + App.RESET); }
     }
 
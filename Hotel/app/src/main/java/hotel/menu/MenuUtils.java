@@ -2,6 +2,7 @@ package hotel.menu;
 
 import java.util.Scanner;
 import hotel.App;
+import hotel.admissao.PedidoRejeitadoException;
 
 /**
  * Utilitários para facilitar a interação com o utilizador via consola.
@@ -44,6 +45,13 @@ public class MenuUtils {
         return resposta.equals("S");
     }
 
+    /**
+     * Mensagem para uma operação recusada pelo motor (ex: auditoria sem espaço). Nada foi alterado.
+     */
+    public static void avisarRecusa(PedidoRejeitadoException e) {
+        System.out.println(App.RED + "⚠️ Operação recusada (" + e.getMessage() + "). Nada foi alterado; tente de novo." + App.RESET);
+    }
+
     /**
      * Faz uma pausa no programa até o utilizador pressionar Enter.
      * Útil para o utilizador conseguir ler mensagens de sucesso/erro antes do menu voltar.
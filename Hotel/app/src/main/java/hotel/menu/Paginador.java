@@ -0,0 +1,91 @@
+package hotel.menu;
+
+import java.util.Formatter;
+import java.util.Scanner;
+import hotel.App;
+import hotel.gestao.Pagina;
+
+/**
+ * Mostra listagens grandes página a página.
+ * Cada página é montada num único buffer e escrita de uma só vez (em vez de um printf por linha),
+ * e só os registos da página visível são pedidos à camada de gestão.
+ */
+public class Paginador<T> {
+
+    public static final int TAMANHO_PAGINA = 20;
+
+    /**
+     * Origem das páginas: devolve a página que começa em 'cursor'.
+     */
+    public interface Fonte<T> {
+        Pagina<T> obter(int cursor, int tamanho);
+    }
+
+    /**
+     * Escreve uma linha da tabela no formatador da página.
+     */
+    public interface Linha<T> {
+        void escrever(Formatter saida, T item);
+    }
+
+    private final Scanner scanner;
+    private final int tamanhoPagina;
+
+    public Paginador(Scanner scanner) {
+        this(scanner, TAMANHO_PAGINA);
+    }
+
+    public Paginador(Scanner scanner, int tamanhoPagina) {
+        this.scanner = scanner;
+        this.tamanhoPagina = tamanhoPagina;
+    }
+
+    /**
+     * Mostra a listagem a partir da primeira página.
+     * Listagens que cabem numa página são mostradas sem perguntar nada ao utilizador.
+     * @param cabecalho Linhas do cabeçalho da tabela (repetidas em cada página).
+     * @param rodape Linha de fecho da tabela.
+     * @return false se a listagem estiver vazia (nada é escrito).
+     */
+    public boolean mostrar(String cabecalho, String rodape, Fonte<T> fonte, Linha<T> linha) {
+        int cursor = 0;
+        while (true) {
+            Pagina<T> pagina = fonte.obter(cursor, tamanhoPagina);
+            if (pagina.getTotal() == 0) return false;
+
+            StringBuilder buffer = new StringBuilder(cabecalho.length() + tamanhoPagina * 100);
+            buffer.append(cabecalho);
+            Formatter saida = new Formatter(buffer);
+            for (T item : pagina.getItens()) {
+                linha.escrever(saida, item);
+            }
+            buffer.append(rodape);
+            if (pagina.getTotalPaginas() > 1) {
+                buffer.append(String.format("Página %d de %d (%d registos)%n",
+                        pagina.getNumero(), pagina.getTotalPaginas(), pagina.getTotal()));
+            }
+            System.out.print(buffer);
+            System.out.flush();
+
+            if (pagina.getTotalPaginas() <= 1) return true;
+
+            System.out.print(App.YELLOW + "[S] Seguinte  [A] Anterior  [nº] Ir para página  [Enter] Sair: " + App.RESET);
+            String comando = scanner.nextLine().trim().toUpperCase();
+            if (comando.isEmpty()) return true;
+
+            if (comando.equals("S")) {
+                if (pagina.temSeguinte()) cursor = pagina.getCursorSeguinte();
+            } else if (comando.equals("A")) {
+                cursor = pagina.getCursorAnterior();
+            } else {
+                try {
+                    int numero = Integer.parseInt(comando);
+                    numero = Math.max(1, Math.min(numero, pagina.getTotalPaginas()));
+                    cursor = (numero - 1) * tamanhoPagina;
+                } catch (NumberFormatException e) {
+                    System.out.println(App.RED + "⚠️ Opção inválida!" + App.RESET);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package hotel.metricas;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.IdentityHashMap;
+import com.sun.management.HotSpotDiagnosticMXBean;
+import hotel.model.Datas;
+import hotel.model.Hospede;
+import hotel.model.Quarto;
+import hotel.model.Reserva;
+
+/**
+ * Estimativa do espaço ocupado no heap pelos registos de uma propriedade.
+ * Os tamanhos são calculados a partir dos campos de cada classe e da configuração da JVM
+ * (referências comprimidas ou não), sem percorrer o heap. Strings partilhadas (nomes repetidos,
+ * textos das datas) só contam uma vez. Os índices (quartos, datas, posições, nomes) e as vistas
+ * derivadas não são estimados campo a campo: o relatório mede o heap depois de uma recolha e mostra,
+ * por reserva, quanto fica para além dos registos, que é sobretudo o custo dessas estruturas.
+ */
+public class ContabilidadeMemoria {
+
+    private static final int ALINHAMENTO = 8;
+    private static final int CABECALHO;   // Cabeçalho de um objeto (marca + classe)
+    private static final int REFERENCIA;  // Tamanho de uma referência
+
+    static {
+        boolean classesComprimidas = true;
+        boolean oopsComprimidos = true;
+        try {
+            HotSpotDiagnosticMXBean hotspot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            classesComprimidas = Boolean.parseBoolean(hotspot.getVMOption("UseCompressedClassPointers").getValue());
+            oopsComprimidos = Boolean.parseBoolean(hotspot.getVMOption("UseCompressedOops").getValue());
+        } catch (RuntimeException e) {
+            // JVM sem estas opções: fica a configuração por omissão do HotSpot de 64 bits
+        }
+        CABECALHO = classesComprimidas ? 12 : 16;
+        REFERENCIA = oopsComprimidos ? 4 : 8;
+    }
+
+    private final StringBuilder sb = new StringBuilder();
+    private final IdentityHashMap<String, Boolean> contadas = new IdentityHashMap<>();
+    private long totalRegistos;
+
+    /**
+     * Relatório com bytes por entidade, o total dos registos e o heap medido, também por reserva.
+     */
+    public static String relatorio(Quarto[] quartos, Hospede[] hospedes, Reserva[] reservas) {
+        return new ContabilidadeMemoria().gerar(quartos, hospedes, reservas);
+    }
+
+    private String gerar(Quarto[] quartos, Hospede[] hospedes, Reserva[] reservas) {
+        sb.append(String.format("JVM: cabeçalho %d B, referência %d B%n", CABECALHO, REFERENCIA));
+        sb.append(String.format("%-10s | %10s | %9s | %9s | %12s%n", "REGISTO", "QUANTIDADE", "OBJETO", "MÉDIA", "TOTAL"));
+
+        linha("Quartos", quartos.length, tamanhoInstancia(Quarto.class), 0);
+
+        long textosHospedes = 0;
+        for (Hospede h : hospedes) {
+            textosHospedes += tamanhoSePrimeira(h.getNome()) + tamanhoSePrimeira(h.getDocumento());
+        }
+        linha("Hóspedes", hospedes.length, tamanhoInstancia(Hospede.class), textosHospedes);
+
+        // As reservas já não têm Strings: só os textos partilhados das datas (um por dia usado)
+        long textosDatas = (long) Datas.getTextosPartilhados() * tamanhoString("2000-01-01");
+        linha("Reservas", reservas.length, tamanhoInstancia(Reserva.class), textosDatas);
+
+        long arrays = 3 * tamanhoArray(0) + (long) (quartos.length + hospedes.length + reservas.length) * REFERENCIA;
+        totalRegistos += arrays;
+        sb.append(String.format("Arrays de referências: %s%n", bytes(arrays)));
+        sb.append(String.format("Total dos registos:    %s%n", bytes(totalRegistos)));
+
+        // Referência: o formato anterior, com as duas datas em Strings próprias em cada reserva
+        long reservaComTexto = alinhar(CABECALHO + 4 * 4 + 1 + 2L * REFERENCIA) + 2 * tamanhoString("2000-01-01");
+        sb.append(String.format("Reserva com datas em texto: %d B (%.1fx mais)%n",
+                reservaComTexto, (double) reservaComTexto / tamanhoInstancia(Reserva.class)));
+
+        // Sem a recolha o heap usado inclui lixo e a diferença para os registos não quer dizer nada
+        System.gc();
+        Runtime rt = Runtime.getRuntime();
+        long usado = rt.totalMemory() - rt.freeMemory();
+        sb.append(String.format("Heap: %s usados | %s reservados | %s máximo%n",
+                bytes(usado), bytes(rt.totalMemory()), bytes(rt.maxMemory())));
+        if (reservas.length > 0) {
+            long medido = usado / reservas.length;
+            long registos = totalRegistos / reservas.length;
+            sb.append(String.format("Por reserva: %d B medidos | %d B nos registos | %d B em índices, vistas e restante%n",
+                    medido, registos, Math.max(0, medido - registos)));
+        }
+        return sb.toString();
+    }
+
+    private void linha(String nome, int quantidade, long objeto, long extra) {
+        long total = quantidade * objeto + extra;
+        totalRegistos += total;
+        double media = quantidade == 0 ? 0 : (double) total / quantidade;
+        sb.append(String.format("%-10s | %10d | %7d B | %7.1f B | %12s%n", nome, quantidade, objeto, media, bytes(total)));
+    }
+
+    /**
+     * Tamanho da String e do seu array, só na primeira vez que esta instância aparece.
+     */
+    private long tamanhoSePrimeira(String s) {
+        if (s == null || contadas.put(s, Boolean.TRUE) != null) return 0;
+        return tamanhoString(s);
+    }
+
+    /**
+     * String compacta (1 byte por carácter em Latin-1, 2 bytes se tiver outros caracteres).
+     */
+    private static long tamanhoString(String s) {
+        int bytesPorCaracter = 1;
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) > 0xFF) {
+                bytesPorCaracter = 2;
+                break;
+            }
+        }
+        return tamanhoInstancia(String.class) + tamanhoArray((long) s.length() * bytesPorCaracter);
+    }
+
+    private static long tamanhoArray(long bytesDados) {
+        return alinhar(CABECALHO + 4 + bytesDados);
+    }
+
+    /**
+     * Soma dos campos de instância (incluindo os das superclasses) mais o cabeçalho, alinhada a 8 bytes.
+     */
+    static long tamanhoInstancia(Class<?> classe) {
+        long tamanho = CABECALHO;
+        for (Class<?> c = classe; c != null; c = c.getSuperclass()) {
+            for (Field f : c.getDeclaredFields()) {
+                if (Modifier.isStatic(f.getModifiers())) continue;
+                tamanho += tamanhoCampo(f.getType());
+            }
+        }
+        return alinhar(tamanho);
+    }
+
+    private static int tamanhoCampo(Class<?> tipo) {
+        if (tipo == long.class || tipo == double.class) return 8;
+        if (tipo == int.class || tipo == float.class) return 4;
+        if (tipo == short.class || tipo == char.class) return 2;
+        if (tipo == byte.class || tipo == boolean.class) return 1;
+        return REFERENCIA;
+    }
+
+    private static long alinhar(long tamanho) {
+        return (tamanho + ALINHAMENTO - 1) / ALINHAMENTO * ALINHAMENTO;
+    }
+
+    private static String bytes(long n) {
+        if (n < 1024) return n + " B";
+        if (n < 1024 * 1024) return String.format("%.1f KB", n / 1024.0);
+        return String.format("%.1f MB", n / (1024.0 * 1024));
+    }
+}
@@ -0,0 +1,30 @@
+package hotel.metricas;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contador de eventos com células separadas por thread (LongAdder): incrementar não disputa
+ * a mesma linha de cache entre threads, por isso o custo é desprezável mesmo sob carga.
+ */
+public class Contador implements ContadorMBean {
+
+    private final String nome;
+    private final LongAdder valor = new LongAdder();
+
+    Contador(String nome) {
+        this.nome = nome;
+    }
+
+    public void incrementar() {
+        if (Metricas.ATIVAS) valor.increment();
+    }
+
+    public void somar(long quantidade) {
+        if (Metricas.ATIVAS) valor.add(quantidade);
+    }
+
+    public String getNome() { return nome; }
+
+    @Override
+    public long getValor() { return valor.sum(); }
+}
@@ -0,0 +1,8 @@
+package hotel.metricas;
+
+/**
+ * Interface JMX de um contador (visível no JConsole/VisualVM em hotel:type=Contador).
+ */
+public interface ContadorMBean {
+    long getValor();
+}
@@ -0,0 +1,127 @@
+package hotel.metricas;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latências sem locks, ao estilo HDR: buckets logarítmicos com subdivisões lineares.
+ * Cada potência de 2 (em nanossegundos) é partida em 8 buckets, por isso o erro relativo de
+ * qualquer percentil é no máximo 12,5%, com um array fixo de 512 posições para qualquer valor.
+ * Registar é um incremento atómico num bucket; ler (percentis) percorre o array sem parar quem escreve.
+ */
+public class Histograma implements HistogramaMBean {
+
+    private static final int BITS_SUB = 3;
+    private static final int SUB_BUCKETS = 1 << BITS_SUB; // 8 por potência de 2
+    private static final int TOTAL_BUCKETS = 64 * SUB_BUCKETS;
+
+    private final String nome;
+    private final boolean ativo;
+    private final AtomicLongArray buckets = new AtomicLongArray(TOTAL_BUCKETS);
+    private final LongAdder contagem = new LongAdder();
+    private final LongAdder soma = new LongAdder();
+    private final AtomicLong maximo = new AtomicLong();
+
+    Histograma(String nome) {
+        this(nome, Metricas.ATIVAS);
+    }
+
+    private Histograma(String nome, boolean ativo) {
+        this.nome = nome;
+        this.ativo = ativo;
+    }
+
+    /**
+     * Histograma fora do registo (não aparece no JMX nem no despejo) e sempre ativo,
+     * para quem precisa de medir por conta própria (ex: o teste de carga).
+     */
+    public static Histograma solto(String nome) {
+        return new Histograma(nome, true);
+    }
+
+    /**
+     * Regista o tempo decorrido desde 'inicioNanos' (obtido com System.nanoTime()).
+     */
+    public void registarDesde(long inicioNanos) {
+        if (ativo) registar(System.nanoTime() - inicioNanos);
+    }
+
+    public void registar(long nanos) {
+        if (!ativo) return;
+        if (nanos < 0) nanos = 0;
+        buckets.incrementAndGet(indice(nanos));
+        contagem.increment();
+        soma.add(nanos);
+        long atual = maximo.get();
+        while (nanos > atual && !maximo.compareAndSet(atual, nanos)) {
+            atual = maximo.get();
+        }
+    }
+
+    /**
+     * Valores abaixo de 8 ns têm um bucket cada; acima disso, o expoente escolhe a potência de 2
+     * e os 3 bits seguintes escolhem uma das 8 fatias dessa potência.
+     */
+    static int indice(long valor) {
+        if (valor < SUB_BUCKETS) return (int) valor;
+        int expoente = 63 - Long.numberOfLeadingZeros(valor);
+        int sub = (int) (valor >>> (expoente - BITS_SUB)) & (SUB_BUCKETS - 1);
+        return (expoente - BITS_SUB + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Maior valor que cai no bucket (os percentis são reportados pelo limite superior).
+     */
+    static long limiteSuperior(int indice) {
+        if (indice < SUB_BUCKETS) return indice;
+        int expoente = indice / SUB_BUCKETS + BITS_SUB - 1;
+        long sub = indice % SUB_BUCKETS;
+        long base = (SUB_BUCKETS + sub) << (expoente - BITS_SUB);
+        return base + (1L << (expoente - BITS_SUB)) - 1;
+    }
+
+    /**
+     * Percentil em nanossegundos (ex: 0.99 para o p99). 0 se ainda não houver registos.
+     */
+    public long percentil(double fracao) {
+        long[] copia = new long[TOTAL_BUCKETS];
+        long total = 0;
+        for (int i = 0; i < TOTAL_BUCKETS; i++) {
+            copia[i] = buckets.get(i);
+            total += copia[i];
+        }
+        if (total == 0) return 0;
+
+        long alvo = Math.max(1, (long) Math.ceil(fracao * total));
+        long acumulado = 0;
+        for (int i = 0; i < TOTAL_BUCKETS; i++) {
+            acumulado += copia[i];
+            if (acumulado >= alvo) return Math.min(limiteSuperior(i), maximo.get());
+        }
+        return maximo.get();
+    }
+
+    public String getNome() { return nome; }
+
+    @Override
+    public long getContagem() { return contagem.sum(); }
+
+    @Override
+    public double getMediaMicros() {
+        long n = contagem.sum();
+        return n == 0 ? 0 : soma.sum() / (double) n / 1000.0;
+    }
+
+    @Override
+    public double getP50Micros() { return percentil(0.50) / 1000.0; }
+
+    @Override
+    public double getP99Micros() { return percentil(0.99) / 1000.0; }
+
+    @Override
+    public double getP999Micros() { return percentil(0.999) / 1000.0; }
+
+    @Override
+    public double getMaximoMicros() { return maximo.get() / 1000.0; }
+}
@@ -0,0 +1,13 @@
+package hotel.metricas;
+
+/**
+ * Interface JMX de um histograma de latências (hotel:type=Histograma). Tempos em microssegundos.
+ */
+public interface HistogramaMBean {
+    long getContagem();
+    double getMediaMicros();
+    double getP50Micros();
+    double getP99Micros();
+    double getP999Micros();
+    double getMaximoMicros();
+}
@@ -0,0 +1,97 @@
+package hotel.metricas;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registo global de métricas do motor (contadores e histogramas de latência).
+ * As classes instrumentadas guardam as suas métricas em campos static final, por isso
+ * o registo só é consultado uma vez por métrica e o caminho quente não faz pesquisas.
+ * Cada métrica é publicada como MBean da plataforma (domínio "hotel") a partir do momento
+ * em que publicarJmx() é chamado, e o método despejar() gera um resumo em texto.
+ * A publicação é separada do registo porque criar o servidor de MBeans custa centenas de
+ * milissegundos (sobretudo a carregar classes), que não devem pesar no arranque.
+ * Desligar com -Dhotel.metricas=false (para medir o custo da instrumentação nos benchmarks).
+ */
+public final class Metricas {
+
+    static final boolean ATIVAS = !"false".equalsIgnoreCase(System.getProperty("hotel.metricas"));
+
+    private static final Map<String, Contador> contadores = new ConcurrentHashMap<>();
+    private static final Map<String, Histograma> histogramas = new ConcurrentHashMap<>();
+    private static volatile boolean jmx;
+
+    private Metricas() {}
+
+    public static synchronized Contador contador(String nome) {
+        return contadores.computeIfAbsent(nome, n -> {
+            Contador c = new Contador(n);
+            if (jmx) publicar("Contador", n, c);
+            return c;
+        });
+    }
+
+    public static synchronized Histograma histograma(String nome) {
+        return histogramas.computeIfAbsent(nome, n -> {
+            Histograma h = new Histograma(n);
+            if (jmx) publicar("Histograma", n, h);
+            return h;
+        });
+    }
+
+    /**
+     * Publica por JMX as métricas já existentes e as que forem criadas daqui em diante.
+     * Pode ser chamado numa thread à parte, enquanto o resto do arranque continua: o servidor
+     * é criado fora do lock, para não atrasar as classes que entretanto registam métricas.
+     */
+    public static void publicarJmx() {
+        ManagementFactory.getPlatformMBeanServer();
+        synchronized (Metricas.class) {
+            if (jmx) return;
+            jmx = true;
+            contadores.forEach((nome, c) -> publicar("Contador", nome, c));
+            histogramas.forEach((nome, h) -> publicar("Histograma", nome, h));
+        }
+    }
+
+    /**
+     * Regista a métrica no servidor de MBeans da plataforma. Uma falha aqui (ex: nome repetido
+     * noutro classloader) não pode afetar o motor: a métrica continua a funcionar sem JMX.
+     */
+    private static void publicar(String tipo, String nome, Object mbean) {
+        try {
+            MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objeto = new ObjectName("hotel:type=" + tipo + ",name=" + ObjectName.quote(nome));
+            if (!servidor.isRegistered(objeto)) servidor.registerMBean(mbean, objeto);
+        } catch (JMException | SecurityException e) {
+            System.err.println("Aviso: métrica " + nome + " sem JMX (" + e.getMessage() + ")");
+        }
+    }
+
+    /**
+     * Resumo de todas as métricas, por ordem alfabética (tempos em microssegundos).
+     */
+    public static String despejar() {
+        StringBuilder sb = new StringBuilder();
+        if (!ATIVAS) sb.append("(métricas desligadas com -Dhotel.metricas=false)").append(System.lineSeparator());
+
+        sb.append(String.format("%-32s %12s%n", "CONTADOR", "VALOR"));
+        for (Contador c : new TreeMap<>(contadores).values()) {
+            sb.append(String.format("%-32s %12d%n", c.getNome(), c.getValor()));
+        }
+
+        sb.append(System.lineSeparator());
+        sb.append(String.format("%-32s %10s %10s %10s %10s %10s %10s%n",
+                "LATÊNCIA (µs)", "N", "MÉDIA", "P50", "P99", "P99.9", "MÁX"));
+        for (Histograma h : new TreeMap<>(histogramas).values()) {
+            sb.append(String.format("%-32s %10d %10.1f %10.1f %10.1f %10.1f %10.1f%n", h.getNome(), h.getContagem(),
+                    h.getMediaMicros(), h.getP50Micros(), h.getP99Micros(), h.getP999Micros(), h.getMaximoMicros()));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,51 @@
+package hotel.metricas;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cronómetro das fases do arranque (leitura de cada CSV, construção de índices, ocupação, menu).
+ * Cada marcar() fecha a fase que estava a decorrer desde a marca anterior.
+ * O resumo junta ainda o tempo que a JVM levou até chegar ao main (arranque e carregamento
+ * de classes), lido só no fim para não pôr as classes de gestão no caminho do arranque.
+ */
+public class TemposArranque {
+
+    private final long inicioMain = System.currentTimeMillis();
+    private final long inicio = System.nanoTime();
+    private long ultimaMarca = inicio;
+    private final List<String> fases = new ArrayList<>();
+    private final List<Long> duracoes = new ArrayList<>();
+
+    public synchronized void marcar(String fase) {
+        long agora = System.nanoTime();
+        fases.add(fase);
+        duracoes.add(agora - ultimaMarca);
+        ultimaMarca = agora;
+    }
+
+    /**
+     * Tempo desde a entrada no main até à última marca, em milissegundos.
+     */
+    public synchronized long getTotalMillis() {
+        return (ultimaMarca - inicio) / 1_000_000;
+    }
+
+    /**
+     * Resumo numa só linha, ex: "JVM+classes 90 · quartos.csv 4 · ... · menu 1 → 180 ms (1530 classes)".
+     */
+    public synchronized String resumo() {
+        long antesDoMain = inicioMain - ManagementFactory.getRuntimeMXBean().getStartTime();
+        int classes = ManagementFactory.getClassLoadingMXBean().getLoadedClassCount();
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("JVM+classes ").append(antesDoMain);
+        for (int i = 0; i < fases.size(); i++) {
+            sb.append(" · ").append(fases.get(i)).append(' ').append(duracoes.get(i) / 1_000_000);
+        }
+        sb.append(" → ").append(antesDoMain + getTotalMillis()).append(" ms");
+        sb.append(" (").append(classes).append(" classes)");
+        return sb.toString();
+    }
+}
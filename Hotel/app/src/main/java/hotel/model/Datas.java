@@ -0,0 +1,72 @@
+package hotel.model;
+
+import java.time.LocalDate;
+
+/**
+ * Conversão entre datas em texto (ISO YYYY-MM-DD) e o número do dia (LocalDate.toEpochDay).
+ * Os registos guardam só o número; o texto de cada dia é criado uma única vez e partilhado
+ * por todos os registos que o usam, por isso ler uma data não cria objetos novos.
+ */
+public final class Datas {
+
+    private static final int PRIMEIRO_DIA = (int) LocalDate.of(2000, 1, 1).toEpochDay();
+    private static final int TOTAL_DIAS = (int) (LocalDate.of(2100, 1, 1).toEpochDay() - PRIMEIRO_DIA);
+
+    // Preenchida à medida que cada dia é pedido. Duas threads podem criar o mesmo texto ao mesmo
+    // tempo, o que é inofensivo: as strings são imutáveis e basta que uma delas fique na tabela.
+    private static final String[] TEXTOS = new String[TOTAL_DIAS];
+
+    private Datas() {}
+
+    /**
+     * Texto partilhado do dia (datas fora de 2000-2099 são convertidas a cada chamada).
+     */
+    public static String texto(int dia) {
+        int indice = dia - PRIMEIRO_DIA;
+        if (indice < 0 || indice >= TOTAL_DIAS) return LocalDate.ofEpochDay(dia).toString();
+
+        String texto = TEXTOS[indice];
+        if (texto == null) {
+            texto = LocalDate.ofEpochDay(dia).toString();
+            TEXTOS[indice] = texto;
+        }
+        return texto;
+    }
+
+    /**
+     * Número do dia de uma data ISO. Lança DateTimeException se a data for inválida.
+     * O formato habitual (10 caracteres) é lido à mão, sem passar pelo DateTimeFormatter.
+     */
+    public static int dia(String texto) {
+        if (texto.length() == 10 && texto.charAt(4) == '-' && texto.charAt(7) == '-') {
+            int ano = digitos(texto, 0, 4);
+            int mes = digitos(texto, 5, 7);
+            int diaMes = digitos(texto, 8, 10);
+            if (ano >= 0 && mes >= 0 && diaMes >= 0) {
+                return (int) LocalDate.of(ano, mes, diaMes).toEpochDay();
+            }
+        }
+        return (int) LocalDate.parse(texto).toEpochDay();
+    }
+
+    /**
+     * Quantos textos de datas estão partilhados neste momento (para a contabilidade de memória).
+     */
+    public static int getTextosPartilhados() {
+        int total = 0;
+        for (String t : TEXTOS) {
+            if (t != null) total++;
+        }
+        return total;
+    }
+
+    private static int digitos(String texto, int inicio, int fim) {
+        int valor = 0;
+        for (int i = inicio; i < fim; i++) {
+            char c = texto.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            valor = valor * 10 + (c - '0');
+        }
+        return valor;
+    }
+}
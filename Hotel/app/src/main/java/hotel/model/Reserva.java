@@ -5,15 +5,17 @@ import hotel.App;
 /**
  * Representa a entidade Reserva no sistema.
  * Esta classe é um "contentor de dados" que guarda as informações de uma estadia.
+ * Para caber em memória aos milhões, só guarda campos primitivos (40 bytes por reserva):
+ * as datas ficam como número do dia e os getters devolvem o texto partilhado de Datas.
  */
 public class Reserva {
     // Atributos privados para garantir o Encapsulamento
     private int id;              // Identificador único da reserva
     private int idQuarto;        // Chave estrangeira para ligar ao Quarto
     private int idHospede;       // Chave estrangeira para ligar ao Hóspede
-    private int numeroHospedes;  // Quantidade de pessoas nesta reserva
-    private String dataInicio;   // Data de check-in (ISO YYYY-MM-DD)
-    private String dataFim;      // Data de check-out (ISO YYYY-MM-DD)
+    private int diaInicio;       // Data de check-in (dias desde 1970-01-01)
+    private int diaFim;          // Data de check-out (dias desde 1970-01-01)
+    private short numeroHospedes; // Quantidade de pessoas nesta reserva
     private boolean ativa;       // Estado da reserva (True = Ativa, False = Cancelada)
 
     /**
@@ -31,9 +33,9 @@ public class Reserva {
         this.id = id;
         this.idQuarto = idQuarto;
         this.idHospede = idHospede;
-        this.numeroHospedes = numeroHospedes;
-        this.dataInicio = dataInicio;
-        this.dataFim = dataFim;
+        this.numeroHospedes = numeroHospedesValido(numeroHospedes);
+        this.diaInicio = Datas.dia(dataInicio);
+        this.diaFim = Datas.dia(dataFim);
         this.ativa = ativa;
     }
 
@@ -50,13 +52,17 @@ public class Reserva {
     public void setIdHospede(int idHospede) { this.idHospede = idHospede; }
 
     public int getNumeroHospedes() { return numeroHospedes; }
-    public void setNumeroHospedes(int numeroHospedes) { this.numeroHospedes = numeroHospedes; }
+    public void setNumeroHospedes(int numeroHospedes) { this.numeroHospedes = numeroHospedesValido(numeroHospedes); }
 
-    public String getDataInicio() { return dataInicio; }
-    public void setDataInicio(String dataInicio) { this.dataInicio = dataInicio; }
+    public String getDataInicio() { return Datas.texto(diaInicio); }
+    public void setDataInicio(String dataInicio) { this.diaInicio = Datas.dia(dataInicio); }
 
-    public String getDataFim() { return dataFim; }
-    public void setDataFim(String dataFim) { this.dataFim = dataFim; }
+    public String getDataFim() { return Datas.texto(diaFim); }
+    public void setDataFim(String dataFim) { this.diaFim = Datas.dia(dataFim); }
+
+    // Datas como número do dia, para comparações sem texto
+    public int getDiaInicio() { return diaInicio; }
+    public int getDiaFim() { return diaFim; }
 
     public boolean isAtiva() { return ativa; }
     public void setAtiva(boolean ativa) { this.ativa = ativa; }
@@ -76,9 +82,19 @@ public class Reserva {
                 App.BOLD, id, App.RESET,
                 idQuarto,
                 numeroHospedes,
-                dataInicio,
-                dataFim,
+                getDataInicio(),
+                getDataFim(),
                 status,
                 App.RESET);
     }
+
+    /**
+     * O número de hóspedes é guardado num short: um valor fora do intervalo seria truncado em silêncio.
+     */
+    private static short numeroHospedesValido(int numeroHospedes) {
+        if (numeroHospedes < 0 || numeroHospedes > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("número de hóspedes inválido: " + numeroHospedes);
+        }
+        return (short) numeroHospedes;
+    }
 }
\ No newline at end of file
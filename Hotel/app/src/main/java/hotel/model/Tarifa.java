@@ -0,0 +1,56 @@
+package hotel.model;
+
+/**
+ * Uma regra do calendário de tarifas (uma linha do tarifas.csv).
+ * Aplica-se às noites entre diaInicio e diaFim (inclusive) dos quartos de um tipo e, se indicado,
+ * só a alguns dias da semana. O preço é absoluto (em cêntimos) ou um fator sobre o preço
+ * que a noite já tinha (ex: fim de semana x1.2). O tipo de um quarto é a sua capacidade.
+ */
+public class Tarifa {
+
+    public static final int TODOS_OS_TIPOS = 0;
+
+    private final int tipo;             // Capacidade do quarto, ou TODOS_OS_TIPOS
+    private final int diaInicio;        // Dias desde 1970-01-01
+    private final int diaFim;
+    private final long precoCentimos;   // Preço absoluto por noite (quando não é fator)
+    private final double fator;         // 0 = preço absoluto
+    private final int diasSemana;       // Bit 0 = segunda ... bit 6 = domingo; 0 = todos
+
+    public Tarifa(int tipo, String dataInicio, String dataFim, long precoCentimos, double fator, int diasSemana) {
+        this.tipo = tipo;
+        this.diaInicio = Datas.dia(dataInicio);
+        this.diaFim = Datas.dia(dataFim);
+        this.precoCentimos = precoCentimos;
+        this.fator = fator;
+        this.diasSemana = diasSemana;
+    }
+
+    public int getTipo() { return tipo; }
+    public int getDiaInicio() { return diaInicio; }
+    public int getDiaFim() { return diaFim; }
+    public boolean isFator() { return fator != 0; }
+
+    /**
+     * A regra cobre a noite 'dia' de um quarto do tipo indicado?
+     */
+    public boolean aplicaA(int tipoQuarto, int dia) {
+        if (tipo != TODOS_OS_TIPOS && tipo != tipoQuarto) return false;
+        if (dia < diaInicio || dia > diaFim) return false;
+        // 1970-01-01 foi uma quinta-feira (índice 3 com segunda = 0)
+        return diasSemana == 0 || (diasSemana & (1 << Math.floorMod(dia + 3, 7))) != 0;
+    }
+
+    /**
+     * Preço da noite depois de aplicar esta regra ao preço que já tinha.
+     */
+    public long aplicar(long precoAtual) {
+        return isFator() ? Math.round(precoAtual * fator) : precoCentimos;
+    }
+
+    @Override
+    public String toString() {
+        return (tipo == TODOS_OS_TIPOS ? "*" : String.valueOf(tipo)) + " " + Datas.texto(diaInicio) + ".." + Datas.texto(diaFim)
+                + (isFator() ? " x" + fator : " " + precoCentimos / 100.0 + "€");
+    }
+}
@@ -0,0 +1,183 @@
+package hotel.propriedades;
+
+import java.io.File;
+import hotel.auditoria.RegistoAuditoria;
+import hotel.gestao.GestaoHospedes;
+import hotel.gestao.GestaoQuartos;
+import hotel.gestao.GestaoReservas;
+import hotel.gestao.ListaEspera;
+import hotel.gestao.Relogio;
+import hotel.gestao.VistaReservas;
+import hotel.io.CSVReader;
+import hotel.io.CSVWriter;
+import hotel.metricas.TemposArranque;
+import hotel.model.Hospede;
+import hotel.model.Quarto;
+import hotel.model.Reserva;
+import hotel.relatorios.MotorReceita;
+import hotel.tarifas.CalendarioTarifas;
+
+/**
+ * Representa um hotel do grupo (um "shard").
+ * Cada propriedade tem a sua pasta de dados e as suas próprias instâncias de gestão,
+ * totalmente independentes das restantes.
+ * Os ficheiros só são lidos no primeiro acesso, para o arranque não pagar por hotéis que não são usados.
+ */
+public class Propriedade {
+
+    public static final String FICHEIRO_QUARTOS = "quartos.csv";
+    public static final String FICHEIRO_HOSPEDES = "hospedes.csv";
+    public static final String FICHEIRO_RESERVAS = "reservas.csv";
+    public static final String FICHEIRO_TARIFAS = "tarifas.csv";
+    public static final String FICHEIRO_ESPERA = "espera.csv";
+
+    private final String id;          // Identificador usado no encaminhamento (ex: "lisboa")
+    private final String pastaDados;  // Pasta com os CSV deste hotel
+
+    private final GestaoQuartos gestaoQuartos = new GestaoQuartos();
+    private final GestaoHospedes gestaoHospedes = new GestaoHospedes();
+    private final GestaoReservas gestaoReservas = new GestaoReservas();
+    private final CalendarioTarifas calendarioTarifas = new CalendarioTarifas();
+    private final MotorReceita motorReceita = new MotorReceita(gestaoQuartos, calendarioTarifas);
+    private final VistaReservas vistaReservas = new VistaReservas(gestaoQuartos);
+    private final ListaEspera listaEspera = new ListaEspera(gestaoQuartos);
+    private RegistoAuditoria auditoria;  // Criada depois do carregamento (carregar não é uma operação de negócio)
+    private volatile boolean replica;    // Réplica só de leitura: nada é escrito na pasta de dados
+    private volatile boolean carregada;
+
+    public Propriedade(String id, String pastaDados) {
+        this.id = id;
+        this.pastaDados = pastaDados;
+        // Estado derivado das reservas: ligado antes do carregamento para ser construído com ele
+        gestaoReservas.adicionarOuvinte(motorReceita);
+        calendarioTarifas.adicionarOuvinte(c -> gestaoReservas.reenviarReservas(motorReceita));
+        gestaoQuartos.adicionarOuvinte(vistaReservas);
+        gestaoHospedes.adicionarOuvinte(vistaReservas);
+        gestaoReservas.adicionarOuvinte(vistaReservas);
+        gestaoReservas.setListaEspera(listaEspera);
+    }
+
+    /**
+     * Marca a propriedade como réplica só de leitura (antes de a carregar). Uma réplica não tem auditoria:
+     * os eventos pertencem ao primário, que já os regista, e a réplica nunca escreve na sua pasta de dados.
+     */
+    public void setReplica(boolean replica) {
+        this.replica = replica;
+    }
+
+    /**
+     * Define o "hoje" das gestões desta propriedade (por omissão, Relogio.SISTEMA).
+     */
+    public void setRelogio(Relogio relogio) {
+        gestaoQuartos.setRelogio(relogio);
+        gestaoReservas.setRelogio(relogio);
+        listaEspera.setRelogio(relogio);
+    }
+
+    /**
+     * Lê os CSV desta propriedade (apenas uma vez) e sincroniza a ocupação dos quartos.
+     */
+    public void garantirCarregada() {
+        if (!carregada) garantirCarregada(new TemposArranque());
+    }
+
+    /**
+     * Igual, mas regista a duração de cada fase (leitura, índices, ocupação) em 'tempos'.
+     */
+    public void garantirCarregada(TemposArranque tempos) {
+        if (carregada) return;
+        synchronized (this) {
+            if (carregada) return;
+
+            Quarto[] quartosLidos = CSVReader.lerQuartos(pastaDados, FICHEIRO_QUARTOS);
+            gestaoQuartos.carregarQuartos(quartosLidos, quartosLidos.length);
+            tempos.marcar(FICHEIRO_QUARTOS);
+
+            Hospede[] hospedesLidos = CSVReader.lerHospedes(pastaDados, FICHEIRO_HOSPEDES);
+            tempos.marcar(FICHEIRO_HOSPEDES);
+            gestaoHospedes.carregarHospedes(hospedesLidos, hospedesLidos.length);
+            tempos.marcar("índice de nomes");
+
+            // Antes das reservas: a receita é calculada com os preços do calendário
+            calendarioTarifas.carregar(CSVReader.lerTarifas(pastaDados, FICHEIRO_TARIFAS));
+            tempos.marcar(FICHEIRO_TARIFAS);
+
+            Reserva[] reservasLidas = CSVReader.lerReservas(pastaDados, FICHEIRO_RESERVAS);
+            tempos.marcar(FICHEIRO_RESERVAS);
+            // Índices por quarto e por data, vista detalhada e receita (ouvintes)
+            gestaoReservas.carregarReservas(reservasLidas, reservasLidas.length);
+            tempos.marcar("índices de reservas");
+
+            listaEspera.carregar(CSVReader.lerEspera(pastaDados, FICHEIRO_ESPERA));
+            tempos.marcar(FICHEIRO_ESPERA);
+
+            // Sincroniza ocupação dos quartos com base nas reservas
+            Reserva[] reservas = gestaoReservas.getReservasParaSalvar();
+            gestaoQuartos.atualizarOcupacao(reservas, reservas.length);
+            tempos.marcar("ocupação");
+
+            if (!replica) {
+                auditoria = RegistoAuditoria.criar(new File(pastaDados, "auditoria"));
+                gestaoReservas.adicionarOuvinte(auditoria);
+                gestaoHospedes.adicionarOuvinte(auditoria);
+            }
+
+            carregada = true;
+        }
+    }
+
+    /**
+     * Grava hóspedes, reservas e lista de espera na pasta da propriedade, depois de a auditoria ter chegado ao disco.
+     * Propriedades que nunca foram abertas não têm alterações, por isso não são reescritas; uma réplica nunca grava.
+     */
+    public boolean guardar() {
+        if (!carregada || replica) return true;
+        boolean aOk = auditoria.descarregar();
+        boolean hOk = CSVWriter.guardarHospedes(pastaDados, FICHEIRO_HOSPEDES, gestaoHospedes.getHospedesParaSalvar());
+        boolean rOk = CSVWriter.guardarReservas(pastaDados, FICHEIRO_RESERVAS, gestaoReservas.getReservasParaSalvar());
+        boolean eOk = CSVWriter.guardarEspera(pastaDados, FICHEIRO_ESPERA, listaEspera.getPedidosParaSalvar());
+        return aOk && hOk && rOk && eOk;
+    }
+
+    public String getId() { return id; }
+    public String getPastaDados() { return pastaDados; }
+    public boolean isCarregada() { return carregada; }
+
+    public GestaoQuartos getGestaoQuartos() {
+        garantirCarregada();
+        return gestaoQuartos;
+    }
+
+    public GestaoHospedes getGestaoHospedes() {
+        garantirCarregada();
+        return gestaoHospedes;
+    }
+
+    public GestaoReservas getGestaoReservas() {
+        garantirCarregada();
+        return gestaoReservas;
+    }
+
+    public MotorReceita getMotorReceita() {
+        garantirCarregada();
+        return motorReceita;
+    }
+
+    public CalendarioTarifas getCalendarioTarifas() {
+        garantirCarregada();
+        return calendarioTarifas;
+    }
+
+    public VistaReservas getVistaReservas() {
+        garantirCarregada();
+        return vistaReservas;
+    }
+
+    /**
+     * @return a auditoria, ou null numa réplica.
+     */
+    public RegistoAuditoria getAuditoria() {
+        garantirCarregada();
+        return auditoria;
+    }
+}
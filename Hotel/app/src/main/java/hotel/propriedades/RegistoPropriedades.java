@@ -0,0 +1,104 @@
+package hotel.propriedades;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import hotel.model.Quarto;
+
+/**
+ * Registo de todos os hotéis do grupo alojados neste processo.
+ * Encaminha pedidos pelo id da propriedade e distribui as pesquisas globais
+ * em paralelo por todas elas, juntando depois os resultados.
+ */
+public class RegistoPropriedades {
+
+    private final Map<String, Propriedade> propriedades = new ConcurrentHashMap<>();
+
+    /**
+     * Regista uma propriedade sem carregar os dados (o carregamento é feito no primeiro acesso).
+     */
+    public Propriedade registar(String id, String pastaDados) {
+        Propriedade nova = new Propriedade(id, pastaDados);
+        Propriedade existente = propriedades.putIfAbsent(id, nova);
+        return existente != null ? existente : nova;
+    }
+
+    /**
+     * Regista cada subpasta de 'raiz' como uma propriedade (ex: data/propriedades/porto).
+     * @return quantas propriedades foram encontradas.
+     */
+    public int descobrir(File raiz) {
+        File[] pastas = raiz.listFiles(File::isDirectory);
+        if (pastas == null) return 0;
+
+        for (File pasta : pastas) {
+            registar(pasta.getName(), pasta.getPath());
+        }
+        return pastas.length;
+    }
+
+    /**
+     * Encaminhamento: devolve a propriedade com este id, ou null se não existir.
+     */
+    public Propriedade obter(String id) {
+        return propriedades.get(id);
+    }
+
+    public List<Propriedade> listarTodas() {
+        List<Propriedade> lista = new ArrayList<>(propriedades.values());
+        lista.sort(Comparator.comparing(Propriedade::getId));
+        return lista;
+    }
+
+    public int getTotalPropriedades() {
+        return propriedades.size();
+    }
+
+    /**
+     * Pesquisa global: "há um quarto para N pessoas, nestas datas, em algum dos nossos hotéis?".
+     * Cada propriedade é consultada em paralelo (e carregada, se ainda não estava);
+     * o resultado junta a melhor opção de cada hotel, ordenada pela menor sobra de capacidade.
+     */
+    public List<QuartoDisponivel> procurarEmTodas(int numHospedes, String dataInicio, String dataFim) {
+        return listarTodas().parallelStream()
+                .map(p -> {
+                    Quarto quarto = p.getGestaoReservas().encontrarQuartoLivre(
+                            p.getGestaoQuartos().listarTodos(), numHospedes, dataInicio, dataFim);
+                    return quarto != null ? new QuartoDisponivel(p, quarto) : null;
+                })
+                .filter(r -> r != null)
+                .sorted(Comparator.comparingInt((QuartoDisponivel r) -> r.getQuarto().getCapacidade())
+                        .thenComparing(r -> r.getPropriedade().getId()))
+                .toList();
+    }
+
+    /**
+     * Grava todas as propriedades que foram abertas nesta sessão.
+     */
+    public boolean guardarTodas() {
+        boolean ok = true;
+        for (Propriedade p : listarTodas()) {
+            ok &= p.guardar();
+        }
+        return ok;
+    }
+
+    /**
+     * Resultado de uma pesquisa global: o quarto e o hotel a que pertence.
+     */
+    public static class QuartoDisponivel {
+        private final Propriedade propriedade;
+        private final Quarto quarto;
+
+        public QuartoDisponivel(Propriedade propriedade, Quarto quarto) {
+            this.propriedade = propriedade;
+            this.quarto = quarto;
+        }
+
+        public Propriedade getPropriedade() { return propriedade; }
+        public Quarto getQuarto() { return quarto; }
+    }
+}
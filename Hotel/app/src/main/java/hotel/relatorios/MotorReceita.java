@@ -0,0 +1,148 @@
+package hotel.relatorios;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import hotel.gestao.GestaoQuartos;
+import hotel.gestao.OuvinteReservas;
+import hotel.model.Quarto;
+import hotel.model.Reserva;
+import hotel.tarifas.CalendarioTarifas;
+
+/**
+ * Motor de receita: preço das noites de cada reserva ativa, agregado por mês, quarto e hóspede.
+ * O preço de cada noite vem do calendário de tarifas (o mesmo que dá as cotações ao reservar).
+ *
+ * Uma estadia paga as noites de dataInicio até à véspera de dataFim (o dia de saída não é cobrado).
+ * Estadias que atravessam o fim do mês são divididas: cada noite conta para o mês em que é dormida.
+ *
+ * O histórico completo é calculado em paralelo no carregamento; depois disso os totais são mantidos
+ * incrementalmente a cada criação, edição ou cancelamento (retira a versão anterior, soma a atual),
+ * por isso qualquer total lido por um dashboard custa O(1).
+ * Os valores são guardados em cêntimos (long) para que somar e subtrair nunca acumule erros de arredondamento.
+ */
+public class MotorReceita implements OuvinteReservas {
+
+    private final GestaoQuartos gestaoQuartos;
+    private final CalendarioTarifas calendario;
+    private final Map<YearMonth, LongAdder> porMes = new ConcurrentHashMap<>();
+    private final Map<Integer, LongAdder> porQuarto = new ConcurrentHashMap<>();
+    private final Map<Integer, LongAdder> porHospede = new ConcurrentHashMap<>();
+    private final LongAdder total = new LongAdder();
+
+    public MotorReceita(GestaoQuartos gestaoQuartos, CalendarioTarifas calendario) {
+        this.gestaoQuartos = gestaoQuartos;
+        this.calendario = calendario;
+    }
+
+    /**
+     * Recalcula tudo a partir do zero, em paralelo (usado quando a tabela de reservas é carregada).
+     */
+    public synchronized void recalcular(Reserva[] reservas, int quantidade) {
+        porMes.clear();
+        porQuarto.clear();
+        porHospede.clear();
+        total.reset();
+
+        Map<Integer, Quarto> quartos = new ConcurrentHashMap<>();
+        for (Quarto q : gestaoQuartos.listarTodos()) {
+            quartos.put(q.getId(), q);
+        }
+
+        // Os acumuladores são LongAdder em mapas concorrentes, por isso cada thread pode somar diretamente
+        Arrays.stream(reservas, 0, quantidade).parallel()
+                .filter(Reserva::isAtiva)
+                .forEach(r -> {
+                    Quarto quarto = quartos.get(r.getIdQuarto());
+                    if (quarto != null) aplicar(r, quarto, 1);
+                });
+    }
+
+    @Override
+    public void reservasCarregadas(Reserva[] reservas, int total) {
+        recalcular(reservas, total);
+    }
+
+    @Override
+    public synchronized void reservaAlterada(Reserva anterior, Reserva atual) {
+        if (anterior != null && anterior.isAtiva()) aplicar(anterior, gestaoQuartos.buscarPorId(anterior.getIdQuarto()), -1);
+        if (atual != null && atual.isAtiva()) aplicar(atual, gestaoQuartos.buscarPorId(atual.getIdQuarto()), 1);
+    }
+
+    /**
+     * Soma (sinal = 1) ou retira (sinal = -1) a receita de uma reserva, mês a mês.
+     */
+    private void aplicar(Reserva r, Quarto quarto, int sinal) {
+        if (quarto == null) return;
+        LocalDate entrada, saida;
+        try {
+            entrada = LocalDate.parse(r.getDataInicio());
+            saida = LocalDate.parse(r.getDataFim());
+        } catch (DateTimeParseException e) {
+            return;
+        }
+
+        long receitaReserva = 0;
+        LocalDate noite = entrada;
+        while (noite.isBefore(saida)) {
+            YearMonth mes = YearMonth.from(noite);
+            LocalDate inicioProximoMes = mes.plusMonths(1).atDay(1);
+            LocalDate limite = saida.isBefore(inicioProximoMes) ? saida : inicioProximoMes;
+
+            long valor = calendario.precoCentimos(quarto, (int) noite.toEpochDay(), (int) limite.toEpochDay());
+            porMes.computeIfAbsent(mes, m -> new LongAdder()).add(sinal * valor);
+            receitaReserva += valor;
+            noite = limite;
+        }
+
+        porQuarto.computeIfAbsent(r.getIdQuarto(), id -> new LongAdder()).add(sinal * receitaReserva);
+        porHospede.computeIfAbsent(r.getIdHospede(), id -> new LongAdder()).add(sinal * receitaReserva);
+        total.add(sinal * receitaReserva);
+    }
+
+    private static double emEuros(LongAdder centimos) {
+        return centimos == null ? 0 : centimos.sum() / 100.0;
+    }
+
+    // --- CONSULTAS O(1) ---
+
+    /**
+     * Receita total de um mês: noites dormidas nesse mês, ao preço do calendário de tarifas.
+     */
+    public double getReceitaMes(YearMonth mes) { return emEuros(porMes.get(mes)); }
+    public double getReceitaQuarto(int idQuarto) { return emEuros(porQuarto.get(idQuarto)); }
+    public double getReceitaHospede(int idHospede) { return emEuros(porHospede.get(idHospede)); }
+    public double getReceitaTotal() { return emEuros(total); }
+
+    /**
+     * Todos os meses com receita, por ordem cronológica.
+     */
+    public Map<YearMonth, Double> getReceitaPorMes() {
+        Map<YearMonth, Double> resultado = new TreeMap<>();
+        porMes.forEach((mes, valor) -> {
+            if (valor.sum() != 0) resultado.put(mes, valor.sum() / 100.0);
+        });
+        return resultado;
+    }
+
+    public Map<Integer, Double> getReceitaPorQuarto() {
+        Map<Integer, Double> resultado = new TreeMap<>();
+        porQuarto.forEach((id, valor) -> {
+            if (valor.sum() != 0) resultado.put(id, valor.sum() / 100.0);
+        });
+        return resultado;
+    }
+
+    public Map<Integer, Double> getReceitaPorHospede() {
+        Map<Integer, Double> resultado = new TreeMap<>();
+        porHospede.forEach((id, valor) -> {
+            if (valor.sum() != 0) resultado.put(id, valor.sum() / 100.0);
+        });
+        return resultado;
+    }
+}
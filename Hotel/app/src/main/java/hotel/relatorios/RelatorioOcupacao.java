@@ -0,0 +1,133 @@
+package hotel.relatorios;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import hotel.model.Quarto;
+import hotel.model.Reserva;
+
+/**
+ * Relatório de ocupação diária para um intervalo de datas qualquer.
+ *
+ * Em vez de perguntar "que reservas tocam neste dia?" para cada dia (dias × reservas),
+ * cada reserva ativa marca apenas o seu primeiro dia (+1) e o dia seguinte ao último (-1)
+ * num array de diferenças por capacidade. Uma soma acumulada (prefix sum) no fim dá o número
+ * de quartos ocupados em cada dia. Custo total: O(reservas + dias × capacidades distintas).
+ *
+ * Um quarto conta como ocupado de dataInicio a dataFim, inclusive (a mesma regra de atualizarOcupacao).
+ */
+public class RelatorioOcupacao {
+
+    private final LocalDate inicio;
+    private final int dias;
+    private final int[] capacidades;       // Capacidades distintas, por ordem crescente
+    private final int[] quartosPorCapacidade;
+    private final int[][] ocupados;        // [índice da capacidade][dia]
+    private final int[] ocupadosTotal;     // [dia]
+    private final int totalQuartos;
+
+    private RelatorioOcupacao(LocalDate inicio, int dias, int[] capacidades, int[] quartosPorCapacidade,
+                              int[][] ocupados, int[] ocupadosTotal, int totalQuartos) {
+        this.inicio = inicio;
+        this.dias = dias;
+        this.capacidades = capacidades;
+        this.quartosPorCapacidade = quartosPorCapacidade;
+        this.ocupados = ocupados;
+        this.ocupadosTotal = ocupadosTotal;
+        this.totalQuartos = totalQuartos;
+    }
+
+    /**
+     * Calcula o relatório numa única passagem pelas reservas.
+     * @param inicio primeiro dia do relatório
+     * @param fim    último dia do relatório (inclusive)
+     */
+    public static RelatorioOcupacao calcular(Quarto[] quartos, Reserva[] reservas, LocalDate inicio, LocalDate fim) {
+        int dias = (int) ChronoUnit.DAYS.between(inicio, fim) + 1;
+        if (dias <= 0) throw new IllegalArgumentException("A data de fim é anterior à de início");
+
+        // 1. Agrupar os quartos por capacidade
+        int[] capacidades = Arrays.stream(quartos).mapToInt(Quarto::getCapacidade).distinct().sorted().toArray();
+        int[] quartosPorCapacidade = new int[capacidades.length];
+        Map<Integer, Integer> indicePorQuarto = new HashMap<>();
+        for (Quarto q : quartos) {
+            int indice = Arrays.binarySearch(capacidades, q.getCapacidade());
+            quartosPorCapacidade[indice]++;
+            indicePorQuarto.put(q.getId(), indice);
+        }
+
+        // 2. Array de diferenças: +1 no dia de entrada, -1 no dia a seguir à saída
+        long base = inicio.toEpochDay();
+        int[][] diferencas = new int[capacidades.length][dias + 1];
+        for (Reserva r : reservas) {
+            if (!r.isAtiva()) continue;
+            Integer indice = indicePorQuarto.get(r.getIdQuarto());
+            if (indice == null) continue; // Reserva de um quarto que já não existe
+
+            long entrada, saida;
+            try {
+                entrada = LocalDate.parse(r.getDataInicio()).toEpochDay() - base;
+                saida = LocalDate.parse(r.getDataFim()).toEpochDay() - base;
+            } catch (DateTimeParseException e) {
+                continue; // Datas corrompidas no CSV não entram no relatório
+            }
+
+            // Recorta a estadia ao intervalo do relatório
+            if (saida < 0 || entrada >= dias) continue;
+            int de = (int) Math.max(0, entrada);
+            int ate = (int) Math.min(dias - 1, saida);
+            diferencas[indice][de]++;
+            diferencas[indice][ate + 1]--;
+        }
+
+        // 3. Soma acumulada: transforma as diferenças em ocupação diária
+        int[][] ocupados = new int[capacidades.length][dias];
+        int[] ocupadosTotal = new int[dias];
+        for (int c = 0; c < capacidades.length; c++) {
+            int acumulado = 0;
+            for (int d = 0; d < dias; d++) {
+                acumulado += diferencas[c][d];
+                // Reservas sobrepostas no mesmo quarto (dados antigos) não podem passar dos quartos existentes
+                ocupados[c][d] = Math.min(acumulado, quartosPorCapacidade[c]);
+                ocupadosTotal[d] += ocupados[c][d];
+            }
+        }
+
+        return new RelatorioOcupacao(inicio, dias, capacidades, quartosPorCapacidade,
+                ocupados, ocupadosTotal, quartos.length);
+    }
+
+    public int getDias() { return dias; }
+    public LocalDate getData(int dia) { return inicio.plusDays(dia); }
+    public int getTotalQuartos() { return totalQuartos; }
+    public int getOcupados(int dia) { return ocupadosTotal[dia]; }
+
+    /**
+     * Percentagem de quartos ocupados num dia (0-100).
+     */
+    public double getTaxa(int dia) {
+        return totalQuartos == 0 ? 0 : 100.0 * ocupadosTotal[dia] / totalQuartos;
+    }
+
+    public int[] getCapacidades() { return capacidades.clone(); }
+    public int getQuartosComCapacidade(int indiceCapacidade) { return quartosPorCapacidade[indiceCapacidade]; }
+    public int getOcupados(int indiceCapacidade, int dia) { return ocupados[indiceCapacidade][dia]; }
+
+    public double getTaxa(int indiceCapacidade, int dia) {
+        int total = quartosPorCapacidade[indiceCapacidade];
+        return total == 0 ? 0 : 100.0 * ocupados[indiceCapacidade][dia] / total;
+    }
+
+    /**
+     * Taxa média de ocupação em todo o período (quartos-noite ocupados / disponíveis).
+     */
+    public double getTaxaMedia() {
+        if (totalQuartos == 0) return 0;
+        long soma = 0;
+        for (int d = 0; d < dias; d++) soma += ocupadosTotal[d];
+        return 100.0 * soma / ((long) totalQuartos * dias);
+    }
+}
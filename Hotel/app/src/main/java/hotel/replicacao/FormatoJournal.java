@@ -0,0 +1,49 @@
+package hotel.replicacao;
+
+import java.util.List;
+import hotel.io.CamposEscapados;
+import hotel.model.Hospede;
+import hotel.model.Reserva;
+
+/**
+ * Formato de linha usado no journal e no protocolo de replicação.
+ * Reaproveita as colunas dos ficheiros CSV, com um prefixo a indicar a tabela:
+ *   R,id,idQuarto,idHospede,numeroHospedes,dataInicio,dataFim,ativa
+ *   H,id,nome,documento
+ * Os campos de texto (nome, documento) escapam barras, vírgulas e quebras de linha (\\ \, \n \r),
+ * para que uma vírgula num nome não desloque as colunas e cada registo caiba numa só linha do protocolo
+ * (ver CamposEscapados, o mesmo escape da auditoria).
+ */
+final class FormatoJournal {
+
+    static final String RESERVA = "R";
+    static final String HOSPEDE = "H";
+
+    private FormatoJournal() {}
+
+    static String codificar(Reserva r) {
+        return RESERVA + "," + r.getId() + "," + r.getIdQuarto() + "," + r.getIdHospede() + "," +
+                r.getNumeroHospedes() + "," + r.getDataInicio() + "," + r.getDataFim() + "," + r.isAtiva();
+    }
+
+    static String codificar(Hospede h) {
+        return HOSPEDE + "," + h.getId() + "," + CamposEscapados.escapar(h.getNome()) + "," + CamposEscapados.escapar(h.getDocumento());
+    }
+
+    static boolean isReserva(String linha) {
+        return linha.startsWith(RESERVA + ",");
+    }
+
+    static Reserva lerReserva(String linha) {
+        String[] c = linha.split(",");
+        return new Reserva(
+                Integer.parseInt(c[1]), Integer.parseInt(c[2]), Integer.parseInt(c[3]), Integer.parseInt(c[4]),
+                c[5], c[6], Boolean.parseBoolean(c[7]));
+    }
+
+    static Hospede lerHospede(String linha) {
+        List<String> c = CamposEscapados.separar(linha);
+        if (c.size() != 4) throw new IllegalArgumentException("Linha de hóspede inválida: " + linha);
+        return new Hospede(Integer.parseInt(c.get(1)), c.get(2), c.get(3));
+    }
+}
@@ -0,0 +1,95 @@
+package hotel.replicacao;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import hotel.gestao.OuvinteHospedes;
+import hotel.gestao.OuvinteReservas;
+import hotel.model.Hospede;
+import hotel.model.Reserva;
+
+/**
+ * Journal de mutações do primário: cada criação, edição ou cancelamento de reservas e hóspedes
+ * fica registado com um offset sequencial e o instante em que aconteceu.
+ * Cada entrada guarda a versão completa do registo, por isso reaplicar uma entrada é inofensivo.
+ * Só as últimas entradas ficam em memória; uma réplica mais atrasada do que isso recebe um snapshot.
+ * O journal não é persistido: cada arranque do primário começa offsets novos com uma época nova,
+ * e uma réplica que traga offsets de outra época tem de recomeçar por um snapshot.
+ */
+public class Journal implements OuvinteReservas, OuvinteHospedes {
+
+    private static final int RETENCAO_PADRAO = 100_000;
+
+    private final long epoca;                        // Identifica este journal; nunca 0 (0 = réplica sem estado)
+    private final Entrada[] entradas;                // Buffer circular: a entrada N fica em N % tamanho
+    private long ultimoOffset;                       // Offset da última entrada escrita (0 = vazio)
+
+    public Journal() {
+        this(RETENCAO_PADRAO);
+    }
+
+    public Journal(int retencao) {
+        this.epoca = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+        this.entradas = new Entrada[retencao];
+    }
+
+    public long getEpoca() {
+        return epoca;
+    }
+
+    @Override
+    public void reservaAlterada(Reserva anterior, Reserva atual) {
+        acrescentar(FormatoJournal.codificar(atual));
+    }
+
+    @Override
+    public void hospedeAlterado(Hospede anterior, Hospede atual) {
+        acrescentar(FormatoJournal.codificar(atual));
+    }
+
+    private synchronized void acrescentar(String linha) {
+        ultimoOffset++;
+        entradas[(int) (ultimoOffset % entradas.length)] = new Entrada(ultimoOffset, System.currentTimeMillis(), linha);
+        notifyAll(); // Acorda as ligações de réplicas à espera de novas entradas
+    }
+
+    public synchronized long getUltimoOffset() {
+        return ultimoOffset;
+    }
+
+    /**
+     * Devolve as entradas com offset maior que 'desde', esperando até 'esperaMs' se ainda não houver nenhuma.
+     * @return lista (possivelmente vazia), ou null se 'desde' já saiu da janela retida e é preciso um snapshot.
+     */
+    public synchronized List<Entrada> lerDesde(long desde, int maximo, long esperaMs) throws InterruptedException {
+        if (ultimoOffset <= desde && esperaMs > 0) {
+            wait(esperaMs);
+        }
+
+        long primeiroRetido = Math.max(1, ultimoOffset - entradas.length + 1);
+        if (desde + 1 < primeiroRetido || desde > ultimoOffset) {
+            return null;
+        }
+
+        List<Entrada> resultado = new ArrayList<>();
+        for (long offset = desde + 1; offset <= ultimoOffset && resultado.size() < maximo; offset++) {
+            resultado.add(entradas[(int) (offset % entradas.length)]);
+        }
+        return resultado;
+    }
+
+    /**
+     * Uma mutação já serializada.
+     */
+    public static final class Entrada {
+        final long offset;
+        final long instante;  // System.currentTimeMillis() no primário
+        final String linha;
+
+        Entrada(long offset, long instante, String linha) {
+            this.offset = offset;
+            this.instante = instante;
+            this.linha = linha;
+        }
+    }
+}
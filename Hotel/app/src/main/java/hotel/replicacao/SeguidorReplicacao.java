@@ -0,0 +1,168 @@
+package hotel.replicacao;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import hotel.gestao.GestaoHospedes;
+import hotel.gestao.GestaoReservas;
+import hotel.model.Hospede;
+import hotel.model.Reserva;
+
+/**
+ * Lado réplica da replicação: liga-se ao primário, aplica o journal às gestões locais
+ * e volta a ligar-se sozinho se a ligação cair, retomando a partir do último offset aplicado.
+ * Uma linha que não se consegue aplicar também fecha a ligação; a seguinte pede um snapshot.
+ * As gestões de uma réplica só devem ser usadas para leitura.
+ */
+public class SeguidorReplicacao {
+
+    private static final long ESPERA_RELIGAR_MS = 2000;
+
+    private final String host;
+    private final int porta;
+    private final GestaoHospedes gestaoHospedes;
+    private final GestaoReservas gestaoReservas;
+
+    private volatile long epocaPrimario;            // Época do journal de onde vêm os offsets (0 = sem estado)
+    private volatile long offsetAplicado = -1;      // -1 = ainda sem estado do primário
+    private volatile long ultimoOffsetPrimario = -1;
+    private volatile long instanteUltimaEntrada;    // Instante (no primário) da última entrada aplicada
+    private volatile boolean ligado;
+    private volatile boolean ativo = true;
+
+    public SeguidorReplicacao(String host, int porta, GestaoHospedes gestaoHospedes, GestaoReservas gestaoReservas) {
+        this.host = host;
+        this.porta = porta;
+        this.gestaoHospedes = gestaoHospedes;
+        this.gestaoReservas = gestaoReservas;
+    }
+
+    /**
+     * Arranca a thread de replicação em fundo.
+     */
+    public void iniciar() {
+        Thread t = new Thread(this::executar, "replicacao-seguidor");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    public void parar() {
+        ativo = false;
+    }
+
+    private void executar() {
+        while (ativo) {
+            try (Socket socket = new Socket(host, porta);
+                 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                 BufferedWriter out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+
+                out.write("DESDE " + epocaPrimario + " " + offsetAplicado);
+                out.newLine();
+                out.flush();
+                ligado = true;
+
+                String linha;
+                while (ativo && (linha = in.readLine()) != null) {
+                    processar(linha, in);
+                }
+            } catch (IOException e) {
+                // Primário indisponível: tenta de novo mais tarde
+            } catch (RuntimeException e) {
+                // Linha inválida: o journal daqui em diante não é de confiança, recomeça com o estado completo
+                System.err.println("❌ Erro ao aplicar replicação (" + e + "); a pedir snapshot ao primário");
+                epocaPrimario = 0;
+            } finally {
+                ligado = false;
+            }
+
+            try {
+                Thread.sleep(ESPERA_RELIGAR_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Trata uma mensagem do primário ('in' só é lido a seguir a um SNAP).
+     */
+    void processar(String linha, BufferedReader in) throws IOException {
+        if (linha.startsWith("J ")) {
+            // J <offset> <instante> <linha>
+            String[] partes = linha.split(" ", 4);
+            aplicar(partes[3]);
+            offsetAplicado = Long.parseLong(partes[1]);
+            instanteUltimaEntrada = Long.parseLong(partes[2]);
+            ultimoOffsetPrimario = Math.max(ultimoOffsetPrimario, offsetAplicado);
+        } else if (linha.startsWith("HB ")) {
+            String[] partes = linha.split(" ");
+            ultimoOffsetPrimario = Long.parseLong(partes[1]);
+        } else if (linha.startsWith("SNAP ")) {
+            // SNAP <epoca> <offset>
+            String[] partes = linha.split(" ");
+            carregarSnapshot(Long.parseLong(partes[1]), Long.parseLong(partes[2]), in);
+        }
+    }
+
+    /**
+     * Substitui o estado local pelo snapshot do primário e fixa a época e o offset de onde o journal continua.
+     */
+    private void carregarSnapshot(long epoca, long offset, BufferedReader in) throws IOException {
+        List<Hospede> hospedes = new ArrayList<>();
+        List<Reserva> reservas = new ArrayList<>();
+
+        String linha;
+        while ((linha = in.readLine()) != null && !linha.equals("FIMSNAP")) {
+            if (FormatoJournal.isReserva(linha)) {
+                reservas.add(FormatoJournal.lerReserva(linha));
+            } else {
+                hospedes.add(FormatoJournal.lerHospede(linha));
+            }
+        }
+        if (linha == null) throw new IOException("Snapshot interrompido");
+
+        gestaoHospedes.carregarHospedes(hospedes.toArray(new Hospede[0]), hospedes.size());
+        gestaoReservas.carregarReservas(reservas.toArray(new Reserva[0]), reservas.size());
+        epocaPrimario = epoca;
+        offsetAplicado = offset;
+        ultimoOffsetPrimario = offset; // Numa época nova os offsets recomeçam
+        instanteUltimaEntrada = System.currentTimeMillis();
+    }
+
+    private void aplicar(String entrada) {
+        if (FormatoJournal.isReserva(entrada)) {
+            gestaoReservas.aplicarReserva(FormatoJournal.lerReserva(entrada));
+        } else {
+            gestaoHospedes.aplicarHospede(FormatoJournal.lerHospede(entrada));
+        }
+    }
+
+    // --- ESTADO DA REPLICAÇÃO ---
+
+    public boolean isLigado() { return ligado; }
+    public long getEpocaPrimario() { return epocaPrimario; }
+    public long getOffsetAplicado() { return offsetAplicado; }
+    public long getUltimoOffsetPrimario() { return ultimoOffsetPrimario; }
+
+    /**
+     * Atraso em número de entradas do journal ainda por aplicar.
+     */
+    public long getAtrasoEntradas() {
+        return Math.max(0, ultimoOffsetPrimario - offsetAplicado);
+    }
+
+    /**
+     * Atraso em tempo: 0 quando a réplica está em dia, senão a idade da última entrada aplicada.
+     */
+    public long getAtrasoMillis() {
+        if (getAtrasoEntradas() == 0) return 0;
+        return Math.max(0, System.currentTimeMillis() - instanteUltimaEntrada);
+    }
+}
@@ -0,0 +1,181 @@
+package hotel.replicacao;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import hotel.gestao.GestaoHospedes;
+import hotel.gestao.GestaoReservas;
+import hotel.gestao.Snapshot;
+import hotel.model.Hospede;
+import hotel.model.Reserva;
+
+/**
+ * Lado primário da replicação: aceita réplicas por TCP e envia-lhes o journal de mutações.
+ *
+ * Protocolo (uma mensagem por linha, texto UTF-8):
+ *   réplica  → primário: DESDE <epoca> <offset>  (época e último offset aplicados; 0 -1 = sem estado)
+ *   primário → réplica:  SNAP <epoca> <offset>   seguido das linhas H,... e R,... e de FIMSNAP
+ *                        HB <ultimoOffset> <instante>  (antes de cada lote e, sem novidades, como batimento)
+ *                        J <offset> <instante> <linha>
+ * O HB antes do lote diz à réplica até onde o journal já vai, para o atraso ser visível enquanto ela
+ * aplica um lote grande (só com as linhas J, a réplica julgar-se-ia sempre em dia).
+ */
+public class ServidorReplicacao {
+
+    private static final int LOTE_MAXIMO = 500;       // Entradas enviadas por cada leitura do journal
+    private static final long ESPERA_BATIMENTO_MS = 1000;
+
+    private final int porta;
+    private final Journal journal;
+    private final GestaoHospedes gestaoHospedes;
+    private final GestaoReservas gestaoReservas;
+    private volatile ServerSocket servidor;
+    private final Set<Socket> ligacoes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Liga o journal às gestões: a partir daqui todas as mutações ficam registadas.
+     */
+    public ServidorReplicacao(int porta, GestaoHospedes gestaoHospedes, GestaoReservas gestaoReservas) {
+        this.porta = porta;
+        this.journal = new Journal();
+        this.gestaoHospedes = gestaoHospedes;
+        this.gestaoReservas = gestaoReservas;
+        gestaoHospedes.adicionarOuvinte(journal);
+        gestaoReservas.adicionarOuvinte(journal);
+    }
+
+    /**
+     * Abre a porta e aceita réplicas numa thread de fundo (uma thread por réplica ligada).
+     */
+    public void iniciar() throws IOException {
+        servidor = new ServerSocket(porta);
+        Thread aceitador = new Thread(this::aceitarLigacoes, "replicacao-aceitador");
+        aceitador.setDaemon(true);
+        aceitador.start();
+    }
+
+    public void parar() {
+        try {
+            if (servidor != null) servidor.close();
+        } catch (IOException e) {
+            // A fechar de qualquer forma
+        }
+        // As réplicas ligadas voltam a ligar-se e, num primário novo, recebem um snapshot
+        for (Socket s : ligacoes) {
+            try {
+                s.close();
+            } catch (IOException e) {
+                // Idem
+            }
+        }
+    }
+
+    public Journal getJournal() { return journal; }
+
+    private void aceitarLigacoes() {
+        while (!servidor.isClosed()) {
+            try {
+                Socket socket = servidor.accept();
+                ligacoes.add(socket);
+                Thread t = new Thread(() -> servirReplica(socket), "replicacao-" + socket.getRemoteSocketAddress());
+                t.setDaemon(true);
+                t.start();
+            } catch (IOException e) {
+                if (!servidor.isClosed()) {
+                    System.err.println("❌ Erro ao aceitar réplica: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Ciclo de envio para uma réplica: snapshot (se necessário) e depois o journal em contínuo.
+     */
+    private void servirReplica(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             BufferedWriter out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+
+            String pedido = in.readLine();
+            if (pedido == null || !pedido.startsWith("DESDE ")) return;
+            String[] partes = pedido.substring(6).trim().split(" ");
+            if (partes.length != 2) return;
+            long epoca = Long.parseLong(partes[0]);
+            long enviado = Long.parseLong(partes[1]);
+
+            if (epoca != journal.getEpoca()) {
+                // Offsets de outro journal (o primário reiniciou): não dizem nada sobre este, recomeça do zero
+                enviado = enviarSnapshot(out);
+                out.flush();
+            }
+
+            while (!socket.isClosed()) {
+                List<Journal.Entrada> entradas = journal.lerDesde(enviado, LOTE_MAXIMO, ESPERA_BATIMENTO_MS);
+
+                if (entradas == null) {
+                    // A réplica está fora da janela do journal: recebe o estado completo
+                    enviado = enviarSnapshot(out);
+                } else {
+                    enviado = enviarLote(out, entradas, journal.getUltimoOffset(), enviado);
+                }
+                out.flush();
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Réplica desligou-se (ou enviou um pedido inválido); volta a ligar-se com DESDE e retoma a partir do seu offset
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            ligacoes.remove(socket);
+        }
+    }
+
+    /**
+     * Envia um lote do journal precedido do último offset do primário (um lote vazio é só o batimento).
+     * @return o offset da última entrada enviada, ou 'enviado' se o lote estiver vazio.
+     */
+    static long enviarLote(BufferedWriter out, List<Journal.Entrada> entradas, long ultimoOffset, long enviado)
+            throws IOException {
+        out.write("HB " + ultimoOffset + " " + System.currentTimeMillis());
+        out.newLine();
+        for (Journal.Entrada e : entradas) {
+            out.write("J " + e.offset + " " + e.instante + " " + e.linha);
+            out.newLine();
+            enviado = e.offset;
+        }
+        return enviado;
+    }
+
+    /**
+     * Envia o estado completo de hóspedes e reservas.
+     * O offset é lido ANTES dos snapshots, por isso o estado enviado já inclui tudo até esse offset;
+     * entradas seguintes que também lá estejam são reaplicadas sem efeito (são idempotentes).
+     */
+    private long enviarSnapshot(BufferedWriter out) throws IOException {
+        long offset = journal.getUltimoOffset();
+        out.write("SNAP " + journal.getEpoca() + " " + offset);
+        out.newLine();
+
+        try (Snapshot<Hospede> hospedes = gestaoHospedes.snapshot();
+             Snapshot<Reserva> reservas = gestaoReservas.snapshot()) {
+            for (int i = 0; i < hospedes.getTotal(); i++) {
+                out.write(FormatoJournal.codificar(hospedes.get(i)));
+                out.newLine();
+            }
+            for (int i = 0; i < reservas.getTotal(); i++) {
+                out.write(FormatoJournal.codificar(reservas.get(i)));
+                out.newLine();
+            }
+        }
+        out.write("FIMSNAP");
+        out.newLine();
+        return offset;
+    }
+}
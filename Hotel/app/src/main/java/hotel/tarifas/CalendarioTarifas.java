@@ -0,0 +1,146 @@
+package hotel.tarifas;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import hotel.model.Datas;
+import hotel.model.Quarto;
+import hotel.model.Tarifa;
+
+/**
+ * Calendário de preços por noite de cada tipo de quarto (época alta, fins de semana, eventos).
+ *
+ * As regras do tarifas.csv são aplicadas pela ordem do ficheiro a partir do preço base do quarto
+ * (Quarto.getPrecoDiario), por isso uma regra posterior sobrepõe-se às anteriores. Para cada tipo
+ * é guardada a soma acumulada dos preços das noites dentro do período coberto pelas regras:
+ * o preço de qualquer estadia é uma subtração (O(1)), independentemente do número de noites.
+ * Fora desse período as noites custam o preço base.
+ *
+ * As tabelas de cada tipo são construídas no primeiro pedido; carregar novas regras troca tudo
+ * de uma vez, sem bloquear as cotações em curso.
+ */
+public class CalendarioTarifas {
+
+    private volatile Tabela tabela = new Tabela(new Tarifa[0]);
+    private final List<OuvinteTarifas> ouvintes = new CopyOnWriteArrayList<>();
+
+    /**
+     * Regista quem guarda valores calculados com estes preços (ex: motor de receita) para ser avisado da troca.
+     */
+    public void adicionarOuvinte(OuvinteTarifas ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+
+    /**
+     * Substitui as regras (ex: depois de ler o tarifas.csv) e avisa os ouvintes.
+     */
+    public void carregar(Tarifa[] regras) {
+        tabela = new Tabela(regras.clone());
+        for (OuvinteTarifas o : ouvintes) {
+            o.tarifasCarregadas(this);
+        }
+    }
+
+    public int getTotalRegras() {
+        return tabela.regras.length;
+    }
+
+    /**
+     * Preço, em cêntimos, das noites de diaEntrada até à véspera de diaSaida (dias desde 1970-01-01).
+     */
+    public long precoCentimos(Quarto quarto, int diaEntrada, int diaSaida) {
+        if (diaSaida <= diaEntrada) return 0;
+        Tabela t = tabela;
+        long base = precoBase(quarto);
+        int horizonteFim = t.primeiroDia + t.dias;
+        long total = 0;
+
+        // Antes do período coberto pelas regras
+        int antes = Math.min(diaSaida, t.primeiroDia);
+        if (diaEntrada < antes) total += (long) (antes - diaEntrada) * base;
+
+        // Dentro: diferença das somas acumuladas
+        int de = Math.max(diaEntrada, t.primeiroDia);
+        int ate = Math.min(diaSaida, horizonteFim);
+        if (de < ate) {
+            long[] acumulado = t.acumulado(quarto.getCapacidade(), base);
+            total += acumulado[ate - t.primeiroDia] - acumulado[de - t.primeiroDia];
+        }
+
+        // Depois
+        int depois = Math.max(diaEntrada, horizonteFim);
+        if (depois < diaSaida) total += (long) (diaSaida - depois) * base;
+        return total;
+    }
+
+    /**
+     * Cotação de uma estadia (datas ISO YYYY-MM-DD). Lança DateTimeException se alguma data for inválida.
+     */
+    public Cotacao cotar(Quarto quarto, String dataInicio, String dataFim) {
+        int entrada = Datas.dia(dataInicio);
+        int saida = Datas.dia(dataFim);
+        return new Cotacao(quarto, Math.max(0, saida - entrada), precoCentimos(quarto, entrada, saida));
+    }
+
+    /**
+     * Cotações da mesma estadia em vários quartos (ex: todos os candidatos de uma pesquisa de disponibilidade).
+     * As datas são lidas uma só vez e cada quarto custa O(1).
+     */
+    public Cotacao[] cotar(Quarto[] quartos, String dataInicio, String dataFim) {
+        int entrada = Datas.dia(dataInicio);
+        int saida = Datas.dia(dataFim);
+        int noites = Math.max(0, saida - entrada);
+        Cotacao[] cotacoes = new Cotacao[quartos.length];
+        for (int i = 0; i < quartos.length; i++) {
+            cotacoes[i] = new Cotacao(quartos[i], noites, precoCentimos(quartos[i], entrada, saida));
+        }
+        return cotacoes;
+    }
+
+    private static long precoBase(Quarto quarto) {
+        return Math.round(quarto.getPrecoDiario() * 100);
+    }
+
+    /**
+     * Regras carregadas e somas acumuladas por tipo. Imutável depois de construída
+     * (as somas de cada tipo são acrescentadas ao mapa concorrente, uma vez).
+     */
+    private static final class Tabela {
+        private final Tarifa[] regras;
+        private final int primeiroDia;   // Primeira noite coberta por alguma regra
+        private final int dias;          // Número de noites do período coberto
+        private final Map<Integer, long[]> acumulados = new ConcurrentHashMap<>();
+
+        Tabela(Tarifa[] regras) {
+            this.regras = regras;
+            int inicio = Integer.MAX_VALUE;
+            int fim = Integer.MIN_VALUE;
+            for (Tarifa r : regras) {
+                inicio = Math.min(inicio, r.getDiaInicio());
+                fim = Math.max(fim, r.getDiaFim());
+            }
+            this.primeiroDia = regras.length == 0 ? 0 : inicio;
+            this.dias = regras.length == 0 ? 0 : Math.max(0, fim - inicio + 1);
+        }
+
+        /**
+         * acumulado[i] = soma das noites primeiroDia .. primeiroDia + i - 1 (acumulado[0] = 0).
+         * Todos os quartos do mesmo tipo têm o mesmo preço base (depende só da capacidade).
+         */
+        long[] acumulado(int tipo, long base) {
+            return acumulados.computeIfAbsent(tipo, t -> {
+                long[] soma = new long[dias + 1];
+                for (int i = 0; i < dias; i++) {
+                    int dia = primeiroDia + i;
+                    long preco = base;
+                    for (Tarifa r : regras) {
+                        if (r.aplicaA(tipo, dia)) preco = r.aplicar(preco);
+                    }
+                    soma[i + 1] = soma[i] + preco;
+                }
+                return soma;
+            });
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package hotel.tarifas;
+
+import hotel.model.Quarto;
+
+/**
+ * Preço de uma estadia num quarto: as noites de dataInicio até à véspera de dataFim.
+ */
+public class Cotacao {
+
+    private final Quarto quarto;
+    private final int noites;
+    private final long totalCentimos;
+
+    public Cotacao(Quarto quarto, int noites, long totalCentimos) {
+        this.quarto = quarto;
+        this.noites = noites;
+        this.totalCentimos = totalCentimos;
+    }
+
+    public Quarto getQuarto() { return quarto; }
+    public int getNoites() { return noites; }
+    public long getTotalCentimos() { return totalCentimos; }
+    public double getTotal() { return totalCentimos / 100.0; }
+
+    public double getMediaPorNoite() {
+        return noites == 0 ? 0 : totalCentimos / 100.0 / noites;
+    }
+}
@@ -0,0 +1,9 @@
+package hotel.tarifas;
+
+/**
+ * Recebe a troca das regras do calendário de tarifas (ex: tarifas.csv lido de novo).
+ * Quem guarda valores calculados com os preços antigos (ex: receita) tem de os recalcular.
+ */
+public interface OuvinteTarifas {
+    void tarifasCarregadas(CalendarioTarifas calendario);
+}
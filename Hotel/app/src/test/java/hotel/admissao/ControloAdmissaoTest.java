@@ -0,0 +1,60 @@
+package hotel.admissao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+
+class ControloAdmissaoTest {
+
+    @Test
+    void recusaPorSaturacaoNaoGastaAFichaDoCliente() throws Exception {
+        // Uma ficha por cliente que quase não recarrega, e um só lugar no motor
+        ControloAdmissao admissao = new ControloAdmissao(0.001, 1, 1, 0);
+        CountDownLatch dentro = new CountDownLatch(1);
+        CountDownLatch sair = new CountDownLatch(1);
+        Thread ocupante = new Thread(() -> admissao.executar("outro", TipoPedido.ESCRITA, () -> {
+            dentro.countDown();
+            aguardar(sair);
+            return null;
+        }));
+        ocupante.start();
+        dentro.await();
+
+        assertEquals("motor_saturado", motivoRecusa(admissao, "cliente"));
+        sair.countDown();
+        ocupante.join();
+
+        assertEquals("ok", admissao.executar("cliente", TipoPedido.ESCRITA, () -> "ok"));
+        assertEquals("limite_cliente", motivoRecusa(admissao, "cliente"));
+    }
+
+    @Test
+    void baldesDeClientesParadosSaoDescartados() {
+        // Recarga praticamente instantânea: qualquer balde parado volta a estar cheio
+        ControloAdmissao admissao = new ControloAdmissao(1e12, 1, 64, 16);
+        for (int i = 0; i <= 10_000; i++) {
+            admissao.executar("cliente-" + i, TipoPedido.LEITURA, () -> null);
+        }
+        admissao.executar("novo", TipoPedido.LEITURA, () -> null);
+        assertTrue(admissao.getTotalClientes() < 10_000);
+    }
+
+    private static String motivoRecusa(ControloAdmissao admissao, String cliente) {
+        try {
+            admissao.executar(cliente, TipoPedido.ESCRITA, () -> null);
+            return "admitido";
+        } catch (PedidoRejeitadoException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
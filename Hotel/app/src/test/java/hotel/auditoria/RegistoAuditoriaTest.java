@@ -0,0 +1,44 @@
+package hotel.auditoria;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import hotel.metricas.Contador;
+import hotel.metricas.Metricas;
+import hotel.model.Hospede;
+
+class RegistoAuditoriaTest {
+
+    @Test
+    void eventosDepoisDeFecharSaoContadosENaoGravados() throws Exception {
+        File pasta = Files.createTempDirectory("auditoria").toFile();
+        Contador aposFecho = Metricas.contador("auditoria.aposFecho");
+        long antes = aposFecho.getValor();
+
+        RegistoAuditoria auditoria = new RegistoAuditoria(pasta, 16, 1 << 20, 1, PoliticaCheio.BLOQUEAR);
+        auditoria.hospedeAlterado(null, new Hospede(1, "Ana", "A1"));
+        auditoria.fechar();
+        auditoria.hospedeAlterado(null, new Hospede(2, "Rui", "B2"));
+
+        assertEquals(antes + 1, aposFecho.getValor());
+        assertEquals(1, LeitorAuditoria.procurar(pasta, 0, 1).size());
+        assertEquals(0, LeitorAuditoria.procurar(pasta, 0, 2).size());
+    }
+
+    @Test
+    void nomeComVirgulaFicaNaSuaColuna() throws Exception {
+        File pasta = Files.createTempDirectory("auditoria").toFile();
+        RegistoAuditoria auditoria = new RegistoAuditoria(pasta, 16, 1 << 20, 1, PoliticaCheio.BLOQUEAR);
+        auditoria.hospedeAlterado(null, new Hospede(3, "Silva, Ana", "AB\\12"));
+        auditoria.fechar();
+
+        List<String> linhas = LeitorAuditoria.procurar(pasta, 0, 3);
+        assertEquals(1, linhas.size());
+        String descricao = LeitorAuditoria.descrever(linhas.get(0));
+        assertTrue(descricao.endsWith("| Silva, Ana | AB\\12"), descricao);
+    }
+}
@@ -0,0 +1,85 @@
+package hotel.gestao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import hotel.gestao.ConsultaReservas.Ordem;
+import hotel.model.Reserva;
+
+/**
+ * Planeador da ConsultaReservas: que origem escolhe para cada combinação de filtros e que os
+ * filtros, a ordem e o limite dão o mesmo resultado qualquer que seja a origem.
+ */
+class ConsultaReservasTest {
+
+    private final GestaoReservas gestao = new GestaoReservas();
+    private final Reserva r1 = gestao.criarReserva(1, 7, 2, "2026-04-01", "2026-04-03");
+    private final Reserva r2 = gestao.criarReserva(1, 8, 1, "2026-04-05", "2026-04-07");
+    private final Reserva r3 = gestao.criarReserva(1, 9, 3, "2026-04-10", "2026-04-12");
+    private final Reserva r4 = gestao.criarReserva(1, 8, 2, "2026-04-14", "2026-04-16");
+    private final Reserva r5 = gestao.criarReserva(2, 7, 4, "2026-04-02", "2026-04-06");
+    private final Reserva r6 = gestao.criarReserva(2, 10, 1, "2026-04-08", "2026-04-09");
+    private final Reserva r7 = gestao.criarReserva(3, 11, 2, "2026-04-01", "2026-04-02");
+
+    ConsultaReservasTest() {
+        gestao.cancelarReserva(r3.getId());
+    }
+
+    @Test
+    void escolheAOrigemComMenosCandidatos() {
+        ConsultaReservas consulta = gestao.consultar();
+        assertEquals("por executar", consulta.getPlano());
+        assertEquals(7, consulta.contar());
+        assertEquals("varrimento completo (7 de 7)", consulta.getPlano());
+
+        consulta = gestao.consultar().doHospede(7);
+        assertEquals(ids(r1, r5), ids(consulta.listar()));
+        assertEquals("índice por hóspede (2 de 7)", consulta.getPlano());
+
+        consulta = gestao.consultar().doQuarto(1);
+        assertEquals(4, consulta.contar());
+        assertEquals("índice por quarto (4 de 7)", consulta.getPlano());
+
+        // Quarto e hóspede: o hóspede tem menos reservas, o quarto só confirma
+        consulta = gestao.consultar().doQuarto(1).doHospede(7);
+        assertEquals(ids(r1), ids(consulta.listar()));
+        assertEquals("índice por hóspede (2 de 7)", consulta.getPlano());
+    }
+
+    @Test
+    void ativasDoQuartoCortamPeloIntervalo() {
+        ConsultaReservas consulta = gestao.consultar().doQuarto(1).ativas();
+        assertEquals(ids(r1, r2, r4), ids(consulta.listar()));
+        assertEquals("índice de ativas do quarto (3 de 7)", consulta.getPlano());
+
+        // Extremos inclusive: r2 acaba a 04-07 e r4 começa a 04-14; r3 toca o intervalo mas está cancelada
+        consulta = gestao.consultar().doQuarto(1).ativas().entre("2026-04-07", "2026-04-14");
+        assertEquals(ids(r2, r4), ids(consulta.listar()));
+        assertEquals("índice de ativas do quarto (2 de 7)", consulta.getPlano());
+    }
+
+    @Test
+    void filtrosOrdemELimiteNoVarrimento() {
+        assertEquals(ids(r3), ids(gestao.consultar().canceladas().listar()));
+        assertEquals(ids(r1, r5, r7), ids(gestao.consultar().entre("2026-04-02", "2026-04-02").listar()));
+
+        // Empate em 04-01 (r1 e r7): com a ordem descendente o desempate pelo ID também se inverte
+        List<Reserva> lista = gestao.consultar().ativas().comHospedesEntre(2, 3)
+                .ordenarPor(Ordem.DATA_INICIO, true).limite(2).listar();
+        assertEquals(ids(r4, r7), ids(lista));
+
+        assertEquals(ids(r6, r4, r2), ids(gestao.consultar().ativas().comHospedesEntre(1, 2)
+                .entre("2026-04-04", "2026-04-30").ordenarPor(Ordem.QUARTO, true).listar()));
+    }
+
+    private static String ids(Reserva... reservas) {
+        return ids(List.of(reservas));
+    }
+
+    private static String ids(List<Reserva> reservas) {
+        StringBuilder sb = new StringBuilder();
+        for (Reserva r : reservas) sb.append('#').append(r.getId());
+        return sb.toString();
+    }
+}
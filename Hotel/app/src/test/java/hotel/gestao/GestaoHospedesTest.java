@@ -0,0 +1,62 @@
+package hotel.gestao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import hotel.model.Hospede;
+
+/**
+ * Pesquisa de hóspedes por nome (IndiceNomes): prefixos, acentos, erros de escrita e a ordem dos resultados.
+ */
+class GestaoHospedesTest {
+
+    private final GestaoHospedes gestao = new GestaoHospedes();
+
+    @Test
+    void prefixosIgnoramAcentosEMaiusculas() {
+        Hospede joao = gestao.criarHospede("João Fialho", "111");
+        Hospede joana = gestao.criarHospede("Joana Silva", "222");
+        Hospede maria = gestao.criarHospede("Maria Conceição", "333");
+
+        List<Hospede> jo = gestao.pesquisarPorNome("JO", 10);
+        assertEquals(2, jo.size());
+        assertTrue(jo.contains(joao) && jo.contains(joana));
+        assertEquals(List.of(maria), gestao.pesquisarPorNome("conceicao", 10));
+        assertEquals(List.of(joao), gestao.pesquisarPorNome("joao", 10));
+        // Todas as palavras têm de aparecer, por qualquer ordem
+        assertEquals(List.of(joao), gestao.pesquisarPorNome("fia jo", 10));
+        assertTrue(gestao.pesquisarPorNome("maria silva", 10).isEmpty());
+    }
+
+    @Test
+    void trigramasToleramUmaLetraEmFalta() {
+        Hospede joao = gestao.criarHospede("João Fialho", "111");
+        gestao.criarHospede("Joana Silva", "222");
+
+        assertEquals(List.of(joao), gestao.pesquisarPorNome("Fialo", 10));
+        assertEquals(List.of(joao), gestao.pesquisarPorNome("joao fialo", 10));
+        assertTrue(gestao.pesquisarPorNome("Xpto", 10).isEmpty());
+    }
+
+    @Test
+    void igualAntesDePrefixoAntesDeParecido() {
+        Hospede parecido = gestao.criarHospede("Anna Reis", "111");
+        Hospede prefixo = gestao.criarHospede("Anabela Costa", "222");
+        Hospede igual = gestao.criarHospede("Ana Sousa", "333");
+
+        assertEquals(List.of(igual, prefixo, parecido), gestao.pesquisarPorNome("ana", 10));
+        assertEquals(List.of(igual, prefixo), gestao.pesquisarPorNome("ana", 2));
+    }
+
+    @Test
+    void nomeEditadoDeixaDeSerEncontradoPeloAntigo() {
+        Hospede joao = gestao.criarHospede("João Fialho", "111");
+        assertTrue(gestao.editarHospede(joao.getId(), "Rui Fialho", "111"));
+
+        assertTrue(gestao.pesquisarPorNome("joao", 10).isEmpty());
+        assertEquals(1, gestao.pesquisarPorNome("rui", 10).size());
+        assertEquals("Rui Fialho", gestao.pesquisarPorNome("fialho", 10).get(0).getNome());
+    }
+}
@@ -0,0 +1,178 @@
+package hotel.gestao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import hotel.model.Quarto;
+import hotel.model.Reserva;
+
+/**
+ * Escritas e pesquisas de GestaoReservas. Inclui regressões: um quarto sem reservas ativas tem de
+ * aceitar reservas e aparecer livre no calendário, e cancelar uma reserva já cancelada não gera uma nova versão.
+ */
+class GestaoReservasTest {
+
+    @Test
+    void quartoSemReservasNaoTemSobreposicao() {
+        GestaoReservas gestao = new GestaoReservas();
+        assertFalse(gestao.existeSobreposicao(1, "2026-03-01", "2026-03-05", -1));
+    }
+
+    @Test
+    void reservarQuartoVazio() {
+        GestaoReservas gestao = new GestaoReservas();
+        assertNotNull(gestao.criarReserva(2, 1, 1, "2026-03-01", "2026-03-05"));
+
+        // O quarto 1 continua sem reservas; o 2 passa a ter conflito nas mesmas datas
+        assertFalse(gestao.existeSobreposicao(1, "2026-03-01", "2026-03-05", -1));
+        assertTrue(gestao.existeSobreposicao(2, "2026-03-05", "2026-03-08", -1));
+        assertNotNull(gestao.criarReserva(1, 2, 1, "2026-03-01", "2026-03-05"));
+    }
+
+    @Test
+    void cancelarDuasVezesSoNotificaUma() {
+        GestaoReservas gestao = new GestaoReservas();
+        int[] notificacoes = new int[1];
+        gestao.adicionarOuvinte((anterior, atual) -> notificacoes[0]++);
+        int id = gestao.criarReserva(1, 1, 1, "2026-03-01", "2026-03-05").getId();
+
+        assertTrue(gestao.cancelarReserva(id));
+        assertFalse(gestao.cancelarReserva(id));
+        assertEquals(2, notificacoes[0]); // Criação e um só cancelamento
+    }
+
+    @Test
+    void calendarioComQuartoVazio() {
+        GestaoReservas gestao = new GestaoReservas();
+        gestao.criarReserva(2, 1, 1, "2026-03-02", "2026-03-03");
+        Quarto[] quartos = { new Quarto(1, 101, 2, false), new Quarto(2, 102, 2, false) };
+
+        MatrizDisponibilidade matriz = gestao.matrizDisponibilidade(quartos, LocalDate.of(2026, 3, 1), 7);
+        for (int dia = 0; dia < 7; dia++) assertFalse(matriz.isOcupado(0, dia));
+        assertTrue(matriz.isOcupado(1, 1));
+        assertTrue(matriz.isOcupado(1, 2));
+        assertFalse(matriz.isOcupado(1, 3));
+    }
+
+    @Test
+    void pesquisaPeloIndiceEscolheOMesmoQuartoQueOVarrimento() {
+        Random aleatorio = new Random(7);
+        Quarto[] quartos = new Quarto[20];
+        for (int i = 0; i < quartos.length; i++) {
+            quartos[i] = new Quarto(i + 1, 101 + i, 1 + aleatorio.nextInt(4), false);
+        }
+        GestaoQuartos gestaoQuartos = new GestaoQuartos();
+        gestaoQuartos.carregarQuartos(quartos, quartos.length);
+        GestaoReservas gestao = new GestaoReservas();
+        LocalDate base = LocalDate.of(2026, 1, 1);
+        for (int i = 0; i < 300; i++) {
+            LocalDate inicio = base.plusDays(aleatorio.nextInt(120));
+            gestao.criarReservaSeLivre(1 + aleatorio.nextInt(quartos.length), 1, 1,
+                    inicio.toString(), inicio.plusDays(1 + aleatorio.nextInt(6)).toString());
+        }
+
+        for (int i = 0; i < 500; i++) {
+            int pessoas = 1 + aleatorio.nextInt(4);
+            LocalDate inicio = base.plusDays(aleatorio.nextInt(120));
+            String de = inicio.toString();
+            String ate = inicio.plusDays(1 + aleatorio.nextInt(6)).toString();
+            Reserva[] todas = gestao.getReservasParaSalvar();
+            assertEquals(gestaoQuartos.encontrarQuartoAdequado(pessoas, todas, todas.length, de, ate),
+                    gestao.encontrarQuartoLivre(quartos, pessoas, de, ate), pessoas + " pessoas, " + de + " a " + ate);
+        }
+    }
+
+    @Test
+    void vagasSaltamDeBuracoEmBuracoEntreAsReservas() {
+        GestaoReservas gestao = new GestaoReservas();
+        Quarto[] quartos = { new Quarto(1, 101, 2, false), new Quarto(2, 102, 4, false) };
+        gestao.criarReserva(1, 1, 2, "2026-03-01", "2026-03-05");
+        gestao.criarReserva(1, 2, 2, "2026-03-09", "2026-03-10");
+        gestao.criarReserva(2, 3, 4, "2026-03-01", "2026-03-12");
+
+        List<Vaga> vagas = gestao.procurarVagas(quartos, 2, LocalDate.of(2026, 3, 1), 2, 30, 3);
+
+        // O buraco 03-06..03-08 do quarto 1 chega para duas noites; depois, o fim de cada quarto
+        assertEquals(3, vagas.size());
+        assertEquals(LocalDate.of(2026, 3, 6), vagas.get(0).getDataInicio());
+        assertEquals(LocalDate.of(2026, 3, 8), vagas.get(0).getDataFim());
+        assertEquals(1, vagas.get(0).getQuarto().getId());
+        assertEquals(LocalDate.of(2026, 3, 11), vagas.get(1).getDataInicio());
+        assertEquals(LocalDate.of(2026, 3, 13), vagas.get(2).getDataInicio());
+        assertEquals(2, vagas.get(2).getQuarto().getId());
+
+        // Três noites já não cabem no buraco
+        assertEquals(LocalDate.of(2026, 3, 11),
+                gestao.procurarVagas(quartos, 2, LocalDate.of(2026, 3, 1), 3, 30, 1).get(0).getDataInicio());
+    }
+
+    @Test
+    void vagasRespeitamCapacidadeJanelaEMelhorEncaixe() {
+        GestaoReservas gestao = new GestaoReservas();
+        Quarto[] quartos = { new Quarto(1, 101, 2, false), new Quarto(2, 102, 4, false), new Quarto(3, 103, 3, false) };
+        gestao.criarReserva(2, 1, 4, "2026-03-01", "2026-03-12");
+        LocalDate inicio = LocalDate.of(2026, 3, 1);
+
+        // No mesmo dia ganha o quarto com menos lugares a sobrar: o de 2 lugares, não o de 3
+        List<Vaga> vagas = gestao.procurarVagas(quartos, 2, inicio, 1, 30, 5);
+        assertEquals(2, vagas.size());
+        assertEquals(1, vagas.get(0).getQuarto().getId());
+        assertEquals(inicio, vagas.get(0).getDataInicio());
+
+        assertEquals(3, gestao.procurarVagas(quartos, 3, inicio, 1, 30, 1).get(0).getQuarto().getId());
+        assertEquals(LocalDate.of(2026, 3, 13), gestao.procurarVagas(quartos, 4, inicio, 1, 30, 1).get(0).getDataInicio());
+        assertTrue(gestao.procurarVagas(quartos, 4, inicio, 1, 5, 1).isEmpty());
+        assertTrue(gestao.procurarVagas(quartos, 5, inicio, 1, 30, 1).isEmpty());
+    }
+
+    @Test
+    void ocupantesSeguemORelogio() {
+        GestaoReservas gestao = new GestaoReservas();
+        Reserva primeira = gestao.criarReserva(1, 1, 2, "2026-05-01", "2026-05-03");
+        Reserva seguinte = gestao.criarReserva(1, 2, 2, "2026-05-04", "2026-05-06");
+        Reserva outroQuarto = gestao.criarReserva(2, 3, 1, "2026-05-03", "2026-05-04");
+        Reserva cancelada = gestao.criarReserva(3, 4, 1, "2026-05-01", "2026-05-10");
+        gestao.cancelarReserva(cancelada.getId());
+
+        gestao.setRelogio(Relogio.fixo(LocalDate.of(2026, 5, 3)));
+        assertSame(primeira, gestao.getReservaAtualDoQuarto(1)); // Dia da saída ainda conta
+        assertSame(outroQuarto, gestao.getReservaAtualDoQuarto(2));
+        assertNull(gestao.getReservaAtualDoQuarto(3));
+        assertEquals(Map.of(1, primeira, 2, outroQuarto), gestao.ocupantesHoje());
+
+        gestao.setRelogio(Relogio.fixo(LocalDate.of(2026, 5, 4)));
+        assertSame(seguinte, gestao.getReservaAtualDoQuarto(1));
+        assertEquals(Map.of(1, seguinte, 2, outroQuarto), gestao.ocupantesHoje());
+
+        // Uma data qualquer não depende do relógio
+        assertEquals(Map.of(1, seguinte), gestao.ocupantesEm(LocalDate.of(2026, 5, 6)));
+        assertTrue(gestao.ocupantesEm(LocalDate.of(2026, 4, 30)).isEmpty());
+    }
+
+    @Test
+    void ocupacaoDosQuartosUsaORelogio() {
+        GestaoReservas gestao = new GestaoReservas();
+        gestao.criarReserva(1, 1, 2, "2026-05-01", "2026-05-03");
+        GestaoQuartos gestaoQuartos = new GestaoQuartos();
+        Quarto[] quartos = { new Quarto(1, 101, 2, false), new Quarto(2, 102, 2, false) };
+        gestaoQuartos.carregarQuartos(quartos, quartos.length);
+
+        gestaoQuartos.setRelogio(Relogio.fixo(LocalDate.of(2026, 5, 2)));
+        gestaoQuartos.atualizarOcupacao(gestao.getReservasParaSalvar(), gestao.getTotalReservas());
+        assertTrue(gestaoQuartos.buscarPorId(1).isOcupado());
+        assertFalse(gestaoQuartos.buscarPorId(2).isOcupado());
+
+        gestaoQuartos.setRelogio(Relogio.fixo(LocalDate.of(2026, 5, 4)));
+        gestaoQuartos.atualizarOcupacao(gestao.getReservasParaSalvar(), gestao.getTotalReservas());
+        assertFalse(gestaoQuartos.buscarPorId(1).isOcupado());
+    }
+}
@@ -0,0 +1,97 @@
+package hotel.gestao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import hotel.io.CSVReader;
+import hotel.io.CSVWriter;
+import hotel.model.Quarto;
+import hotel.model.Reserva;
+
+class ListaEsperaTest {
+
+    private final AtomicReference<LocalDate> hoje = new AtomicReference<>(LocalDate.of(2030, 1, 1));
+    private final GestaoQuartos gestaoQuartos = new GestaoQuartos();
+    private final GestaoReservas gestaoReservas = new GestaoReservas();
+    private final ListaEspera espera = new ListaEspera(gestaoQuartos);
+
+    ListaEsperaTest() {
+        gestaoQuartos.carregarQuartos(new Quarto[] { new Quarto(1, 101, 4, false) }, 1);
+        espera.setRelogio(hoje::get);
+        gestaoReservas.setListaEspera(espera);
+    }
+
+    @Test
+    void quartoLibertadoVaiParaOPedidoQueMelhorEncaixa() {
+        Reserva ocupante = gestaoReservas.criarReserva(1, 1, 4, "2030-02-01", "2030-02-05");
+        PedidoEspera curto = espera.adicionar(2, 2, "2030-02-01", "2030-02-02", 0);
+        PedidoEspera longo = espera.adicionar(3, 4, "2030-02-01", "2030-02-05", 0);
+
+        gestaoReservas.cancelarReserva(ocupante.getId());
+
+        assertNotNull(longo.getReservaPromovida());
+        assertNull(curto.getReservaPromovida());
+        assertEquals(1, espera.getTotal());
+    }
+
+    @Test
+    void pedidosExpiramQuandoOInicioPassa() {
+        espera.adicionar(2, 2, "2030-01-10", "2030-01-12", 0);
+        espera.adicionar(3, 2, "2030-03-10", "2030-03-12", 0);
+        assertNull(espera.adicionar(4, 2, "2029-12-31", "2030-01-02", 0));
+
+        hoje.set(LocalDate.of(2030, 1, 11));
+        assertEquals(1, espera.getTotal());
+        assertEquals("2030-03-10", espera.listar().get(0).getDataInicio());
+    }
+
+    @Test
+    void recuoDaPesquisaEncolheQuandoAEstadiaLongaSai() {
+        Reserva ocupante = gestaoReservas.criarReserva(1, 1, 4, "2030-03-01", "2030-03-03");
+        PedidoEspera longo = espera.adicionar(2, 2, "2030-02-01", "2030-03-02", 0);
+        PedidoEspera curto = espera.adicionar(3, 2, "2030-03-01", "2030-03-03", 0);
+        espera.adicionar(4, 2, "2030-01-05", "2030-01-08", 0);
+        assertEquals(29, espera.recuoPesquisa());
+
+        espera.cancelar(longo.getId());
+        assertEquals(3, espera.recuoPesquisa());
+        hoje.set(LocalDate.of(2030, 1, 6));
+        espera.expirar();
+        assertEquals(2, espera.recuoPesquisa());
+
+        // Com o recuo mais curto, o pedido que começa no intervalo libertado continua a ser encontrado
+        gestaoReservas.cancelarReserva(ocupante.getId());
+        assertNotNull(curto.getReservaPromovida());
+        assertEquals(0, espera.recuoPesquisa());
+    }
+
+    @Test
+    void esperaSobreviveAGravarELer() throws Exception {
+        espera.adicionar(2, 2, "2030-02-01", "2030-02-03", 0);
+        espera.adicionar(3, 1, "2030-02-01", "2030-02-03", 5);
+        File pasta = Files.createTempDirectory("espera").toFile();
+        try {
+            CSVWriter.guardarEspera(pasta.getPath(), "espera.csv", espera.getPedidosParaSalvar());
+
+            ListaEspera lida = new ListaEspera(gestaoQuartos);
+            lida.setRelogio(hoje::get);
+            lida.carregar(CSVReader.lerEspera(pasta.getPath(), "espera.csv"));
+
+            assertEquals(2, lida.getTotal());
+            PedidoEspera primeiro = lida.getPedidosParaSalvar()[0];
+            assertEquals(1, primeiro.getId());
+            assertEquals(2, primeiro.getIdHospede());
+            assertEquals(5, lida.listar().get(0).getPrioridade());
+            assertEquals(3, lida.adicionar(4, 1, "2030-02-01", "2030-02-02", 0).getId());
+        } finally {
+            new File(pasta, "espera.csv").delete();
+            pasta.delete();
+        }
+    }
+}
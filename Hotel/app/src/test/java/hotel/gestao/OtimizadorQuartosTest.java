@@ -0,0 +1,106 @@
+package hotel.gestao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import hotel.model.Quarto;
+import hotel.model.Reserva;
+
+/**
+ * Plano do OtimizadorQuartos e a sua aplicação: as estadias juntam-se sem nunca ficarem duas
+ * reservas ativas no mesmo quarto em datas sobrepostas, e um plano desatualizado não muda nada.
+ */
+class OtimizadorQuartosTest {
+
+    private static final LocalDate HOJE = LocalDate.of(2030, 1, 10);
+
+    private final Quarto[] quartos = { new Quarto(1, 101, 2, false), new Quarto(2, 102, 2, false),
+            new Quarto(3, 103, 4, false) };
+    private final GestaoReservas gestao = new GestaoReservas();
+
+    OtimizadorQuartosTest() {
+        gestao.setRelogio(Relogio.fixo(HOJE));
+    }
+
+    @Test
+    void estadiasEspalhadasJuntamSeNoMesmoQuarto() {
+        gestao.criarReserva(1, 1, 2, "2030-02-01", "2030-02-03");
+        Reserva seguinte = gestao.criarReserva(2, 2, 2, "2030-02-04", "2030-02-06");
+
+        PlanoRealocacao plano = OtimizadorQuartos.planear(quartos, gestao.getReservasParaSalvar(), HOJE);
+
+        assertEquals(1, plano.getMudancas().size());
+        MudancaQuarto m = plano.getMudancas().get(0);
+        assertEquals(seguinte.getId(), m.getIdReserva());
+        assertEquals(1, m.getIdQuartoDestino());
+        assertTrue(plano.getBlocosDepois() <= plano.getBlocosAntes());
+        assertTrue(gestao.aplicarRealocacao(plano, quartos));
+        assertEquals(1, gestao.buscarPorId(seguinte.getId()).getIdQuarto());
+    }
+
+    @Test
+    void planoAplicadoNuncaReservaDuasVezesOMesmoQuarto() {
+        gestao.criarReserva(1, 1, 2, "2030-01-08", "2030-01-12"); // Já começou: fica onde está
+        gestao.criarReserva(2, 2, 1, "2030-01-13", "2030-01-15");
+        gestao.criarReserva(3, 3, 2, "2030-01-14", "2030-01-20");
+        gestao.criarReserva(1, 4, 2, "2030-01-16", "2030-01-18");
+        gestao.criarReserva(2, 5, 2, "2030-01-19", "2030-01-22");
+        gestao.criarReserva(3, 6, 3, "2030-01-23", "2030-01-25");
+        gestao.criarReserva(1, 7, 1, "2030-01-26", "2030-01-27");
+
+        PlanoRealocacao plano = OtimizadorQuartos.planear(quartos, gestao.getReservasParaSalvar(), HOJE);
+        assertFalse(plano.isVazio());
+        assertTrue(gestao.aplicarRealocacao(plano, quartos));
+
+        Reserva[] todas = gestao.getReservasParaSalvar();
+        assertEquals(1, todas[0].getIdQuarto());
+        for (Reserva a : todas) {
+            Quarto quarto = quartos[a.getIdQuarto() - 1];
+            assertTrue(quarto.getCapacidade() >= a.getNumeroHospedes());
+            for (Reserva b : todas) {
+                if (a == b || a.getIdQuarto() != b.getIdQuarto()) continue;
+                boolean sobrepostas = a.getDataInicio().compareTo(b.getDataFim()) <= 0
+                        && b.getDataInicio().compareTo(a.getDataFim()) <= 0;
+                assertFalse(sobrepostas, "Reservas " + a.getId() + " e " + b.getId() + " no quarto " + a.getIdQuarto());
+            }
+        }
+    }
+
+    @Test
+    void destinoSemCapacidadeRecusaOPlanoInteiro() {
+        Quarto[] pequenos = { new Quarto(1, 101, 4, false), new Quarto(2, 102, 1, false), new Quarto(3, 103, 4, false) };
+        Reserva cabe = gestao.criarReserva(1, 1, 1, "2030-02-01", "2030-02-03");
+        Reserva grupo = gestao.criarReserva(3, 2, 3, "2030-02-01", "2030-02-03");
+        PlanoRealocacao plano = new PlanoRealocacao(List.of(
+                new MudancaQuarto(cabe.getId(), 1, 2, "2030-02-01", "2030-02-03"),
+                new MudancaQuarto(grupo.getId(), 3, 2, "2030-02-01", "2030-02-03")), 0, 0, 0, 0);
+
+        assertFalse(gestao.aplicarRealocacao(plano, pequenos));
+        assertEquals(1, gestao.buscarPorId(cabe.getId()).getIdQuarto());
+        assertEquals(3, gestao.buscarPorId(grupo.getId()).getIdQuarto());
+    }
+
+    @Test
+    void quartoDeOrigemLibertadoVaiParaAListaDeEspera() {
+        GestaoQuartos gestaoQuartos = new GestaoQuartos();
+        gestaoQuartos.carregarQuartos(quartos, quartos.length);
+        ListaEspera espera = new ListaEspera(gestaoQuartos);
+        espera.setRelogio(Relogio.fixo(HOJE));
+        gestao.setListaEspera(espera);
+
+        Reserva movida = gestao.criarReserva(2, 1, 2, "2030-02-01", "2030-02-03");
+        PedidoEspera pedido = espera.adicionar(2, 2, "2030-02-01", "2030-02-03", 0);
+        PlanoRealocacao plano = new PlanoRealocacao(List.of(
+                new MudancaQuarto(movida.getId(), 2, 1, "2030-02-01", "2030-02-03")), 0, 0, 0, 0);
+
+        assertTrue(gestao.aplicarRealocacao(plano, quartos));
+        assertNotNull(pedido.getReservaPromovida());
+        assertEquals(2, pedido.getReservaPromovida().getIdQuarto());
+        assertEquals(0, espera.getTotal());
+    }
+}
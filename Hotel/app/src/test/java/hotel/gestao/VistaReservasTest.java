@@ -0,0 +1,28 @@
+package hotel.gestao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import hotel.model.Quarto;
+import hotel.model.Reserva;
+
+class VistaReservasTest {
+
+    @Test
+    void acompanhaQuartosRecarregados() {
+        GestaoQuartos gestaoQuartos = new GestaoQuartos();
+        GestaoReservas gestaoReservas = new GestaoReservas();
+        VistaReservas vista = new VistaReservas(gestaoQuartos);
+        gestaoQuartos.adicionarOuvinte(vista);
+        gestaoReservas.adicionarOuvinte(vista);
+
+        gestaoQuartos.carregarQuartos(new Quarto[] { new Quarto(1, 101, 2, false) }, 1);
+        Reserva r = gestaoReservas.criarReserva(1, 1, 2, "2026-03-01", "2026-03-03");
+        assertEquals(101, vista.obter(r.getId()).getNumeroQuarto());
+
+        // O mesmo quarto volta do CSV como um objeto novo, com outro número
+        gestaoQuartos.carregarQuartos(new Quarto[] { new Quarto(1, 201, 2, false) }, 1);
+        assertEquals(201, vista.obter(r.getId()).getNumeroQuarto());
+        assertEquals(201, vista.detalhar(r).getNumeroQuarto());
+    }
+}
@@ -0,0 +1,45 @@
+package hotel.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.junit.jupiter.api.Test;
+import hotel.model.Reserva;
+import hotel.model.Tarifa;
+
+class CSVReaderTest {
+
+    @Test
+    void linhasEstragadasNaoLevamConsigoAsSeguintes() throws Exception {
+        File pasta = Files.createTempDirectory("csv").toFile();
+        Files.writeString(new File(pasta, "reservas.csv").toPath(),
+                "id,idQuarto,idHospede,numeroHospedes,dataInicio,dataFim,ativa\n"
+                        + "1,1,1,2,2026-03-01,2026-03-04,true\n"
+                        + "2,1,1,2,2026-02-30,2026-03-04,true\n"
+                        + "3,1,1,70000,2026-03-05,2026-03-06,true\n"
+                        + "4,1,x,2,2026-03-05,2026-03-06,true\n"
+                        + "5,2,1,1,2026-03-05,2026-03-06,false\n",
+                StandardCharsets.UTF_8);
+
+        Reserva[] reservas = CSVReader.lerReservas(pasta.getPath(), "reservas.csv");
+        assertEquals(2, reservas.length);
+        assertEquals(1, reservas[0].getId());
+        assertEquals(5, reservas[1].getId());
+    }
+
+    @Test
+    void tarifaEstragadaNaoAnulaAsOutras() throws Exception {
+        File pasta = Files.createTempDirectory("csv").toFile();
+        Files.writeString(new File(pasta, "tarifas.csv").toPath(),
+                "tipo,inicio,fim,preco,dias\n"
+                        + "*,2026-07-01,2026-08-31,x1.25\n"
+                        + "2,2026-08-01,2026-08-31,120.00,SEX|XYZ\n"
+                        + "*,2026-12-24,2026-12-26,150.00\n",
+                StandardCharsets.UTF_8);
+
+        Tarifa[] tarifas = CSVReader.lerTarifas(pasta.getPath(), "tarifas.csv");
+        assertEquals(2, tarifas.length);
+    }
+}
@@ -0,0 +1,29 @@
+package hotel.relatorios;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Files;
+import org.junit.jupiter.api.Test;
+import hotel.model.Quarto;
+import hotel.model.Tarifa;
+import hotel.propriedades.Propriedade;
+
+class MotorReceitaTest {
+
+    @Test
+    void receitaAcompanhaNovasTarifas() throws Exception {
+        Propriedade propriedade = new Propriedade("teste", Files.createTempDirectory("receita").toString());
+        propriedade.setReplica(true);
+        propriedade.garantirCarregada();
+        Quarto quarto = propriedade.getGestaoQuartos().listarTodos()[0];
+        propriedade.getGestaoReservas().criarReserva(quarto.getId(), 1, 1, "2031-01-01", "2031-01-03");
+        MotorReceita receita = propriedade.getMotorReceita();
+        double antes = receita.getReceitaTotal();
+
+        // As duas noites passam a custar o dobro do preço base
+        propriedade.getCalendarioTarifas().carregar(new Tarifa[] {
+                new Tarifa(Tarifa.TODOS_OS_TIPOS, "2031-01-01", "2031-01-02", 0, 2.0, 0)
+        });
+        assertEquals(antes + 2 * quarto.getPrecoDiario(), receita.getReceitaTotal(), 0.001);
+    }
+}
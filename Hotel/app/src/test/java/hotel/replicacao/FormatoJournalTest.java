@@ -0,0 +1,21 @@
+package hotel.replicacao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import hotel.model.Hospede;
+
+class FormatoJournalTest {
+
+    @Test
+    void hospedeComVirgulasEQuebrasDeLinha() {
+        Hospede original = new Hospede(7, "Silva, Ana \\ Maria", "AB,12\n34\r");
+        String linha = FormatoJournal.codificar(original);
+        assertEquals(-1, linha.indexOf('\n'));
+
+        Hospede lido = FormatoJournal.lerHospede(linha);
+        assertEquals(7, lido.getId());
+        assertEquals(original.getNome(), lido.getNome());
+        assertEquals(original.getDocumento(), lido.getDocumento());
+    }
+}
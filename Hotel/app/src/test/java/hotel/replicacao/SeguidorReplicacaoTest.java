@@ -0,0 +1,41 @@
+package hotel.replicacao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.BufferedWriter;
+import java.io.StringWriter;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import hotel.gestao.GestaoHospedes;
+import hotel.gestao.GestaoReservas;
+
+class SeguidorReplicacaoTest {
+
+    @Test
+    void atrasoVisivelAMeioDeUmLote() throws Exception {
+        Journal journal = new Journal();
+        GestaoHospedes primario = new GestaoHospedes();
+        primario.adicionarOuvinte(journal);
+        primario.criarHospede("Ana", "A1");
+        primario.criarHospede("Rui", "B2");
+        primario.criarHospede("Eva", "C3");
+
+        StringWriter texto = new StringWriter();
+        try (BufferedWriter out = new BufferedWriter(texto)) {
+            List<Journal.Entrada> entradas = journal.lerDesde(0, 500, 0);
+            assertEquals(3, ServidorReplicacao.enviarLote(out, entradas, journal.getUltimoOffset(), 0));
+        }
+        String[] linhas = texto.toString().split("\\R");
+
+        GestaoHospedes replica = new GestaoHospedes();
+        SeguidorReplicacao seguidor = new SeguidorReplicacao("localhost", 0, replica, new GestaoReservas());
+        seguidor.processar(linhas[0], null); // HB
+        seguidor.processar(linhas[1], null); // Primeira entrada
+        assertEquals(2, seguidor.getAtrasoEntradas());
+
+        seguidor.processar(linhas[2], null);
+        seguidor.processar(linhas[3], null);
+        assertEquals(0, seguidor.getAtrasoEntradas());
+        assertEquals(3, replica.getTotalHospedes());
+    }
+}